@@ -2,8 +2,10 @@ package com.codifyme;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class CodifyMeApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,61 @@
+package com.codifyme.controller;
+
+import com.codifyme.service.ai.AIRequestCoalescer;
+import com.codifyme.service.ai.AIResilienceGuard;
+import com.codifyme.service.ai.AIResponseCache;
+import com.codifyme.service.ai.RoadmapSimilarityIndex;
+import com.codifyme.service.ai.RoadmapTemplateLibrary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+// Operational metrics; admins only (users.role = ADMIN)
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@PreAuthorize("hasRole('ADMIN')")
+@RequestMapping("/api/ai/metrics")
+public class AIMetricsController {
+
+    @Autowired
+    private AIResponseCache responseCache;
+
+    @Autowired
+    private AIRequestCoalescer requestCoalescer;
+
+    @Autowired
+    private AIResilienceGuard resilienceGuard;
+
+    @Autowired
+    private RoadmapSimilarityIndex similarityIndex;
+
+    @Autowired
+    private RoadmapTemplateLibrary templateLibrary;
+
+    @GetMapping("/cache")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(responseCache.getStats());
+    }
+
+    @GetMapping("/coalescing")
+    public ResponseEntity<Map<String, Object>> getCoalescingStats() {
+        return ResponseEntity.ok(requestCoalescer.getStats());
+    }
+
+    @GetMapping("/resilience")
+    public ResponseEntity<Map<String, Object>> getResilienceStats() {
+        return ResponseEntity.ok(resilienceGuard.getStats());
+    }
+
+    @GetMapping("/similarity")
+    public ResponseEntity<Map<String, Object>> getSimilarityStats() {
+        return ResponseEntity.ok(similarityIndex.getStats());
+    }
+
+    @GetMapping("/templates")
+    public ResponseEntity<Map<String, Object>> getTemplateStats() {
+        return ResponseEntity.ok(templateLibrary.getStats());
+    }
+}
@@ -0,0 +1,43 @@
+package com.codifyme.controller;
+
+import com.codifyme.service.job.CrackScoreRecomputeJob;
+import com.codifyme.service.score.CrackScoreCache;
+import com.codifyme.service.score.CrackScoreLeaderboard;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+// Operational metrics; admins only (users.role = ADMIN)
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@PreAuthorize("hasRole('ADMIN')")
+@RequestMapping("/api/crackscore/metrics")
+public class CrackScoreMetricsController {
+
+    @Autowired
+    private CrackScoreCache scoreCache;
+
+    @Autowired
+    private CrackScoreLeaderboard leaderboard;
+
+    @Autowired
+    private CrackScoreRecomputeJob recomputeJob;
+
+    @GetMapping("/cache")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(scoreCache.getStats());
+    }
+
+    @GetMapping("/leaderboard")
+    public ResponseEntity<Map<String, Object>> getLeaderboardStats() {
+        return ResponseEntity.ok(leaderboard.getStats());
+    }
+
+    @GetMapping("/recompute")
+    public ResponseEntity<Map<String, Object>> getRecomputeStatus() {
+        return ResponseEntity.ok(recomputeJob.getStatus());
+    }
+}
@@ -1,46 +1,123 @@
 package com.codifyme.controller;
 
-import com.codifyme.model.DailyTask;
+import com.codifyme.payload.request.TaskBulkUpdateRequest;
+import com.codifyme.payload.request.TaskCreateRequest;
 import com.codifyme.payload.request.TaskUpdateRequest;
-import com.codifyme.repository.DailyTaskRepository;
+import com.codifyme.payload.response.DailyTaskResponse;
+import com.codifyme.payload.response.MessageResponse;
+import com.codifyme.security.services.UserDetailsImpl;
+import com.codifyme.service.DailyTaskService;
+import com.codifyme.service.ResourceNotFoundException;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
-@CrossOrigin(origins = "*", maxAge = 3600)
+@CrossOrigin(origins = "*", maxAge = 3600, exposedHeaders = PageCursor.HEADER)
 @RestController
 @RequestMapping("/api/tasks")
 public class DailyTaskController {
 
     @Autowired
-    private DailyTaskRepository dailyTaskRepository;
+    private DailyTaskService dailyTaskService;
 
+    // Without limit or cursor the whole list is returned as before. With them it is keyset-paginated
+    // by (dayNumber, id), and the token for the next page travels in X-Next-Cursor.
     @GetMapping("/roadmap/{roadmapId}")
-    public ResponseEntity<List<DailyTask>> getTasksByRoadmap(@PathVariable Long roadmapId) {
-        List<DailyTask> tasks = dailyTaskRepository.findByRoadmapIdOrderByDayNumberAsc(roadmapId);
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<?> getTasksByRoadmap(@PathVariable Long roadmapId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+
+        try {
+            if (limit == null && cursor == null) {
+                return ResponseEntity.ok(dailyTaskService.getTasks(userDetails.getId(), roadmapId));
+            }
+
+            Integer afterDayNumber = null;
+            Long afterId = null;
+            if (cursor != null) {
+                try {
+                    String[] keys = PageCursor.decode(cursor, 2);
+                    afterDayNumber = Integer.valueOf(keys[0]);
+                    afterId = Long.valueOf(keys[1]);
+                } catch (IllegalArgumentException e) {
+                    return ResponseEntity.badRequest().body(new MessageResponse("Invalid cursor"));
+                }
+            }
+
+            int pageSize = PageCursor.limit(limit);
+            List<DailyTaskResponse> tasks = dailyTaskService.getTasksAfter(
+                    userDetails.getId(), roadmapId, afterDayNumber, afterId, pageSize + 1);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (tasks.size() > pageSize) {
+                tasks = tasks.subList(0, pageSize);
+                DailyTaskResponse last = tasks.get(pageSize - 1);
+                int lastDay = last.getDayNumber() != null ? last.getDayNumber() : 0;
+                response.header(PageCursor.HEADER, PageCursor.encode(lastDay, last.getId()));
+            }
+            return response.body(tasks);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MessageResponse(e.getMessage()));
+        }
     }
 
     @PutMapping("/{id}/complete")
     public ResponseEntity<?> updateTaskCompletion(
             @PathVariable Long id,
             @Valid @RequestBody TaskUpdateRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
 
-        DailyTask task = dailyTaskRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Task not found"));
+        try {
+            return ResponseEntity.ok(dailyTaskService.setCompletion(userDetails.getId(), id, request.getCompleted()));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new MessageResponse("Task was changed by another request"));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MessageResponse(e.getMessage()));
+        }
+    }
 
-        task.setCompleted(request.getCompleted());
-        dailyTaskRepository.save(task);
+    // Applies many completion changes in one round trip; the response carries the new task
+    // versions and the updated progress of the affected roadmaps
+    @PatchMapping
+    public ResponseEntity<?> updateTasks(@Valid @RequestBody TaskBulkUpdateRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
 
-        return ResponseEntity.ok(task);
+        try {
+            return ResponseEntity.ok(dailyTaskService.updateCompletion(userDetails.getId(), request.getTasks()));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // Nothing was applied; the client should reload the tasks and retry
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                    "message", "Tasks were changed by another request",
+                    "taskIds", e.getIdentifier()));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MessageResponse(e.getMessage()));
+        }
     }
 
     @PostMapping
-    public ResponseEntity<DailyTask> createTask(@RequestBody DailyTask task) {
-        DailyTask savedTask = dailyTaskRepository.save(task);
-        return ResponseEntity.ok(savedTask);
+    public ResponseEntity<?> createTask(@Valid @RequestBody TaskCreateRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+
+        try {
+            return ResponseEntity.ok(dailyTaskService.addTask(userDetails.getId(), request));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new MessageResponse("Roadmap was changed by another request"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MessageResponse(e.getMessage()));
+        }
     }
 }
@@ -3,20 +3,28 @@ package com.codifyme.controller;
 import com.codifyme.model.Interview;
 import com.codifyme.payload.request.InterviewRequest;
 import com.codifyme.payload.response.InterviewResponse;
+import com.codifyme.payload.response.MessageResponse;
 import com.codifyme.repository.InterviewRepository;
 import com.codifyme.security.services.UserDetailsImpl;
 import com.codifyme.service.InterviewService;
+import com.codifyme.service.job.InterviewFeedbackNotifier;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.stream.Collectors;
 
-@CrossOrigin(origins = "*", maxAge = 3600)
+@CrossOrigin(origins = "*", maxAge = 3600, exposedHeaders = PageCursor.HEADER)
 @RestController
 @RequestMapping("/api/interviews")
 public class InterviewController {
@@ -27,44 +35,91 @@ public class InterviewController {
     @Autowired
     private InterviewRepository interviewRepository;
 
+    @Autowired
+    private InterviewFeedbackNotifier feedbackNotifier;
+
     @PostMapping("/submit")
     public ResponseEntity<InterviewResponse> submitInterview(@Valid @RequestBody InterviewRequest request) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
 
-        InterviewResponse response = interviewService.submitInterview(request, userDetails.getId());
-        return ResponseEntity.ok(response);
+        // Feedback is generated by InterviewFeedbackWorker; clients poll GET /{id} or listen on /{id}/events
+        InterviewResponse response = interviewService.enqueueInterview(request, userDetails.getId());
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/interviews/" + response.getId()))
+                .body(response);
     }
 
+    // Keyset-paginated, newest first. The body stays a plain array; the token for the next page
+    // travels in X-Next-Cursor and is absent on the last page.
     @GetMapping("/history")
-    public ResponseEntity<List<InterviewResponse>> getInterviewHistory() {
+    public ResponseEntity<?> getInterviewHistory(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
 
-        List<Interview> interviews = interviewRepository.findByUserIdOrderByCreatedAtDesc(userDetails.getId());
-        List<InterviewResponse> response = interviews.stream()
-                .map(interview -> new InterviewResponse(
-                        interview.getId(),
-                        interview.getType().name(),
-                        interview.getScore(),
-                        interview.getAiFeedbackJson(),
-                        interview.getCreatedAt()))
-                .collect(Collectors.toList());
+        int pageSize = PageCursor.limit(limit);
+        // One extra row tells whether another page follows
+        Limit fetch = Limit.of(pageSize + 1);
+        List<InterviewRepository.InterviewSummary> rows;
+        if (cursor == null) {
+            rows = interviewRepository.findHistory(userDetails.getId(), fetch);
+        } else {
+            try {
+                String[] keys = PageCursor.decode(cursor, 2);
+                rows = interviewRepository.findHistoryAfter(userDetails.getId(),
+                        LocalDateTime.parse(keys[0]), Long.valueOf(keys[1]), fetch);
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                return ResponseEntity.badRequest().body(new MessageResponse("Invalid cursor"));
+            }
+        }
 
-        return ResponseEntity.ok(response);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            InterviewRepository.InterviewSummary last = rows.get(pageSize - 1);
+            response.header(PageCursor.HEADER, PageCursor.encode(last.getCreatedAt(), last.getId()));
+        }
+        List<InterviewResponse> interviews = rows.stream()
+                .map(interviewService::toResponse)
+                .collect(Collectors.toList());
+        return response.body(interviews);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<InterviewResponse> getInterviewById(@PathVariable Long id) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+
+        Interview interview = interviewService.getInterviewById(id);
+
+        // Verify ownership
+        if (!interview.getUser().getId().equals(userDetails.getId())) {
+            return ResponseEntity.status(403).build();
+        }
+
+        return ResponseEntity.ok(interviewService.toResponse(interview));
+    }
+
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamInterviewFeedback(@PathVariable Long id) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+
         Interview interview = interviewService.getInterviewById(id);
 
-        InterviewResponse response = new InterviewResponse(
-                interview.getId(),
-                interview.getType().name(),
-                interview.getScore(),
-                interview.getAiFeedbackJson(),
-                interview.getCreatedAt());
+        // Verify ownership
+        if (!interview.getUser().getId().equals(userDetails.getId())) {
+            return ResponseEntity.status(403).build();
+        }
 
-        return ResponseEntity.ok(response);
+        // Subscribe before checking the status so a result published in between is not missed
+        SseEmitter emitter = feedbackNotifier.subscribe(id);
+        Interview current = interviewService.getInterviewById(id);
+        if (current.getFeedbackStatus() != Interview.FeedbackStatus.PENDING) {
+            feedbackNotifier.publish(interviewService.toResponse(current));
+        }
+        return ResponseEntity.ok(emitter);
     }
 }
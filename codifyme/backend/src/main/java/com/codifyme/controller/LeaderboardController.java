@@ -0,0 +1,92 @@
+package com.codifyme.controller;
+
+import com.codifyme.model.User;
+import com.codifyme.payload.response.LeaderboardEntryResponse;
+import com.codifyme.payload.response.LeaderboardStandingResponse;
+import com.codifyme.payload.response.MessageResponse;
+import com.codifyme.repository.UserRepository;
+import com.codifyme.security.services.UserDetailsImpl;
+import com.codifyme.service.score.CrackScoreLeaderboard;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Rankings by CrackScore, served from CrackScoreLeaderboard; only display names come from the
+// database, in one lookup per response.
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/leaderboard")
+public class LeaderboardController {
+
+    private static final int DEFAULT_TOP = 10;
+    private static final int MAX_TOP = 100;
+    private static final int DEFAULT_WINDOW = 5;
+    private static final int MAX_WINDOW = 25;
+
+    @Autowired
+    private CrackScoreLeaderboard leaderboard;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // Global board, or the board of users targeting the given company
+    @GetMapping("/top")
+    public ResponseEntity<List<LeaderboardEntryResponse>> getTop(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String company) {
+        int size = limit == null ? DEFAULT_TOP : Math.max(1, Math.min(limit, MAX_TOP));
+        return ResponseEntity.ok(toResponses(leaderboard.top(company, size)));
+    }
+
+    // The caller's rank, percentile and neighbours; board=company ranks them among users with
+    // the same target company
+    @GetMapping("/me")
+    public ResponseEntity<?> getMyStanding(
+            @RequestParam(required = false) Integer window,
+            @RequestParam(defaultValue = "global") String board) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+
+        if (!board.equals("global") && !board.equals("company")) {
+            return ResponseEntity.badRequest().body(new MessageResponse("board must be global or company"));
+        }
+        int size = window == null ? DEFAULT_WINDOW : Math.max(0, Math.min(window, MAX_WINDOW));
+
+        Optional<CrackScoreLeaderboard.Standing> standing =
+                leaderboard.standing(userDetails.getId(), board.equals("company"), size);
+        if (standing.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new MessageResponse(board.equals("company") ? "No target company set" : "Not ranked"));
+        }
+        CrackScoreLeaderboard.Standing value = standing.get();
+        return ResponseEntity.ok(new LeaderboardStandingResponse(
+                value.rank(),
+                value.percentile(),
+                value.score(),
+                value.totalUsers(),
+                value.company(),
+                toResponses(value.around())));
+    }
+
+    private List<LeaderboardEntryResponse> toResponses(List<CrackScoreLeaderboard.Entry> entries) {
+        Map<Long, User> users = userRepository.findAllById(entries.stream().map(CrackScoreLeaderboard.Entry::userId).toList())
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        return entries.stream()
+                .map(entry -> new LeaderboardEntryResponse(
+                        entry.rank(),
+                        entry.userId(),
+                        users.containsKey(entry.userId()) ? users.get(entry.userId()).getFullName() : null,
+                        entry.score()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,45 @@
+package com.codifyme.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.StringJoiner;
+
+// Opaque continuation token for keyset-paginated lists: the sort key of the last row sent,
+// base64url-encoded so clients pass it back as-is instead of building their own
+final class PageCursor {
+
+    static final String HEADER = "X-Next-Cursor";
+
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 100;
+
+    private PageCursor() {
+    }
+
+    static String encode(Object... keys) {
+        StringJoiner joiner = new StringJoiner("|");
+        for (Object key : keys) {
+            joiner.add(String.valueOf(key));
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joiner.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String[] decode(String cursor, int keyCount) {
+        try {
+            String[] keys = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", -1);
+            if (keys.length == keyCount) {
+                return keys;
+            }
+        } catch (IllegalArgumentException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid cursor");
+    }
+
+    static int limit(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.max(1, Math.min(requested, MAX_LIMIT));
+    }
+}
@@ -1,12 +1,29 @@
 package com.codifyme.controller;
 
-import com.codifyme.service.AIService;
+import com.codifyme.model.UserProfile;
+import com.codifyme.repository.UserProfileRepository;
+import com.codifyme.security.services.UserDetailsImpl;
+import com.codifyme.service.ResumeService;
+import com.codifyme.service.resume.ResumeStore;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
@@ -14,31 +31,88 @@ import java.util.Map;
 public class ResumeController {
 
     @Autowired
-    private AIService aiService;
+    private ResumeService resumeService;
+
+    @Autowired
+    private ResumeStore resumeStore;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    private static final long BATCH_TIMEOUT_MS = 30 * 60 * 1000L;
 
     @PostMapping("/analyze")
-    public ResponseEntity<?> analyzeResume(@RequestParam("file") MultipartFile file) {
-        try {
-            // In a real implementation, we would extract text from the PDF/DOCX file here.
-            // For now, we'll just pass a placeholder since the service simulates the
-            // analysis.
-            String resumeContent = "Simulated content for " + file.getOriginalFilename();
-
-            String analysisResult = aiService.analyzeResume(resumeContent);
-
-            // The result is already a JSON string, so we can return it directly
-            // But to be safe and return a proper JSON object, we'll wrap it or let Spring
-            // handle it if it's a Map.
-            // Since it's a String, we'll return it as a raw string with JSON content type,
-            // or parse it into a Map if we want Spring to serialize it.
-            // Let's return it as a raw string which the frontend can parse.
-
-            return ResponseEntity.ok()
-                    .header("Content-Type", "application/json")
-                    .body(analysisResult);
-
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of("message", "Error analyzing resume: " + e.getMessage()));
+    public CompletableFuture<ResponseEntity<?>> analyzeResume(@RequestParam("file") MultipartFile file) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+
+        // The result is already a JSON string, so we return it as a raw string with
+        // JSON content type which the frontend can parse.
+        return resumeService.analyzeResume(file, userDetails.getId())
+                .<ResponseEntity<?>>thenApply(analysisResult -> ResponseEntity.ok()
+                        .header("Content-Type", "application/json")
+                        .body(analysisResult))
+                .exceptionally(this::errorResponse);
+    }
+
+    // Scores many resumes against one job description. Accepts several files and/or .zip archives
+    // and streams one NDJSON line per resume as soon as it has been scored.
+    @PostMapping("/batch")
+    public ResponseEntity<?> analyzeBatch(@RequestParam("files") List<MultipartFile> files,
+            @RequestParam("jobDescription") String jobDescription) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(BATCH_TIMEOUT_MS);
+        CompletableFuture<Integer> batch = resumeService.analyzeBatch(files, jobDescription, line -> {
+            try {
+                emitter.send(line + "\n", MediaType.APPLICATION_NDJSON);
+            } catch (IOException e) {
+                // Client went away; later results are dropped the same way
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        // A batch that could not even start is reported as a plain error response
+        if (batch.isCompletedExceptionally()) {
+            return batch.<ResponseEntity<?>>handle((count, e) -> errorResponse(e)).join();
+        }
+
+        batch.whenComplete((count, error) -> {
+            if (error != null) {
+                emitter.completeWithError(error);
+            } else {
+                emitter.complete();
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(emitter);
+    }
+
+    // Downloads the current user's stored resume straight from disk with FileChannel.transferTo
+    @GetMapping("/file")
+    public ResponseEntity<StreamingResponseBody> downloadResume() throws IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+
+        String resumePath = userProfileRepository.findByUserId(userDetails.getId())
+                .map(UserProfile::getResumePath)
+                .orElse(null);
+        if (resumePath == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        StreamingResponseBody body = out -> resumeStore.transferTo(resumePath, Channels.newChannel(out));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(resumeStore.size(resumePath))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"resume\"")
+                .body(body);
+    }
+
+    private ResponseEntity<?> errorResponse(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof RejectedExecutionException) {
+            return ResponseEntity.status(503)
+                    .body(Map.of("message", "Resume analysis is busy, please retry shortly"));
         }
+        return ResponseEntity.badRequest()
+                .body(Map.of("message", "Error analyzing resume: " + cause.getMessage()));
     }
 }
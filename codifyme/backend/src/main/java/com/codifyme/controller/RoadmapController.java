@@ -1,27 +1,65 @@
 package com.codifyme.controller;
 
-import com.codifyme.model.DailyTask;
+import com.codifyme.model.CompressedTextConverter;
 import com.codifyme.model.Roadmap;
+import com.codifyme.model.TaskPlan;
 import com.codifyme.model.User;
+import com.codifyme.model.UserProfile;
+import com.codifyme.payload.ai.RoadmapDay;
+import com.codifyme.payload.ai.RoadmapPlan;
 import com.codifyme.payload.request.RoadmapGenerationRequest;
+import com.codifyme.payload.response.DailyTaskResponse;
 import com.codifyme.payload.response.RoadmapResponse;
-import com.codifyme.repository.DailyTaskRepository;
+import com.codifyme.payload.response.RoadmapSummaryResponse;
 import com.codifyme.repository.RoadmapRepository;
+import com.codifyme.repository.RoadmapRepositoryCustom;
+import com.codifyme.repository.UserProfileRepository;
 import com.codifyme.repository.UserRepository;
 import com.codifyme.security.services.UserDetailsImpl;
 import com.codifyme.service.AIService;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.codifyme.service.DailyTaskService;
+import com.codifyme.service.ai.AICompletionExecutor;
+import com.codifyme.service.ai.GeminiResponseDecoder;
+import com.codifyme.service.ai.RoadmapDayStreamParser;
+import com.codifyme.service.ai.RoadmapSimilarityIndex;
+import com.codifyme.service.ai.RoadmapTemplateLibrary;
+import com.codifyme.service.score.TaskProgressEvent;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
-
-@CrossOrigin(origins = "*", maxAge = 3600)
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+@CrossOrigin(origins = "*", maxAge = 3600,
+        exposedHeaders = { RoadmapController.TOTAL_COUNT_HEADER, RoadmapController.TOTAL_PAGES_HEADER })
 @RestController
 @RequestMapping("/api/roadmap")
 public class RoadmapController {
@@ -33,43 +71,83 @@ public class RoadmapController {
     UserRepository userRepository;
 
     @Autowired
-    DailyTaskRepository dailyTaskRepository;
+    DailyTaskService dailyTaskService;
 
     @Autowired
     AIService aiService;
 
+    @Autowired
+    RoadmapSimilarityIndex similarityIndex;
+
+    @Autowired
+    RoadmapTemplateLibrary templateLibrary;
+
+    @Autowired
+    UserProfileRepository userProfileRepository;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    AICompletionExecutor completionExecutor;
+
+    private static final Logger logger = LoggerFactory.getLogger(RoadmapController.class);
+
+    private static final long STREAM_TIMEOUT_MS = 180_000L;
+
+    private static final MediaType PLAN_CONTENT_TYPE = new MediaType("text", "plain", StandardCharsets.UTF_8);
+
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    static final String TOTAL_PAGES_HEADER = "X-Total-Pages";
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // Roadmap columns the summary query can order by
+    private static final Set<String> SUMMARY_SORT_PROPERTIES = Set.of("id", "title", "status", "targetDate", "createdAt");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Newest first unless the client asks for another order
     @GetMapping("/my-roadmaps")
-    public ResponseEntity<List<RoadmapResponse>> getUserRoadmaps() {
+    public ResponseEntity<?> getUserRoadmaps(
+            @PageableDefault(size = DEFAULT_PAGE_SIZE, sort = { "createdAt", "id" }, direction = Sort.Direction.DESC)
+            Pageable pageable) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
 
-        List<Roadmap> roadmaps = roadmapRepository.findByUserId(userDetails.getId());
-
-        // Convert to DTOs to avoid lazy loading serialization issues
-        List<RoadmapResponse> responses = roadmaps.stream()
-                .map(roadmap -> {
-                    RoadmapResponse response = new RoadmapResponse();
-                    response.setId(roadmap.getId());
-                    response.setTitle(roadmap.getTitle());
-                    response.setJobDescription(roadmap.getJobDescription());
-                    response.setTargetDate(roadmap.getTargetDate());
-                    response.setAiGeneratedPlan(roadmap.getAiGeneratedPlan());
-                    response.setStatus(roadmap.getStatus().toString());
-
-                    // Calculate completion percentage
-                    List<DailyTask> tasks = dailyTaskRepository.findByRoadmapId(roadmap.getId());
-                    if (!tasks.isEmpty()) {
-                        long completedCount = tasks.stream().filter(DailyTask::isCompleted).count();
-                        response.setCompletionPercentage((double) completedCount / tasks.size() * 100);
-                    } else {
-                        response.setCompletionPercentage(0.0);
-                    }
-
-                    return response;
-                })
-                .collect(java.util.stream.Collectors.toList());
+        for (Sort.Order order : pageable.getSort()) {
+            if (!SUMMARY_SORT_PROPERTIES.contains(order.getProperty())) {
+                return ResponseEntity.badRequest().body("Cannot sort roadmaps by " + order.getProperty());
+            }
+        }
+        if (pageable.getPageSize() > MAX_PAGE_SIZE) {
+            pageable = PageRequest.of(pageable.getPageNumber(), MAX_PAGE_SIZE, pageable.getSort());
+        }
 
-        return ResponseEntity.ok(responses);
+        // Ids, titles and task counts come back in one query; plans are left for the detail endpoint
+        Page<RoadmapRepository.RoadmapSummary> summaries =
+                roadmapRepository.findSummariesByUserId(userDetails.getId(), pageable);
+
+        List<RoadmapSummaryResponse> responses = summaries.stream()
+                .map(summary -> new RoadmapSummaryResponse(
+                        summary.getId(),
+                        summary.getTitle(),
+                        summary.getTargetDate(),
+                        summary.getStatus().toString(),
+                        summary.getCompletedTasks(),
+                        summary.getTotalTasks(),
+                        completionPercentage(summary.getCompletedTasks(), summary.getTotalTasks())))
+                .collect(Collectors.toList());
+
+        // The body stays a plain array for existing clients; paging metadata travels in headers
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(summaries.getTotalElements()))
+                .header(TOTAL_PAGES_HEADER, String.valueOf(summaries.getTotalPages()))
+                .body(responses);
     }
 
     @GetMapping("/{id}")
@@ -85,25 +163,52 @@ public class RoadmapController {
             return ResponseEntity.status(403).body("Access denied");
         }
 
+        // Completion from the plan's task count and the roadmap's own progress bitset
+        long totalTasks = taskCountOf(roadmap);
+        long completedTasks = roadmap.getTaskProgress().completedCount();
+
         // Return DTO to avoid lazy loading serialization issues
-        RoadmapResponse response = new RoadmapResponse();
-        response.setId(roadmap.getId());
-        response.setTitle(roadmap.getTitle());
-        response.setJobDescription(roadmap.getJobDescription());
-        response.setTargetDate(roadmap.getTargetDate());
-        response.setAiGeneratedPlan(roadmap.getAiGeneratedPlan());
-        response.setStatus(roadmap.getStatus().toString());
+        return ResponseEntity.ok(toRoadmapResponse(roadmap, completionPercentage(completedTasks, totalTasks)));
+    }
 
-        // Calculate completion percentage
-        List<DailyTask> tasks = dailyTaskRepository.findByRoadmapId(roadmap.getId());
-        if (!tasks.isEmpty()) {
-            long completedCount = tasks.stream().filter(DailyTask::isCompleted).count();
-            response.setCompletionPercentage((double) completedCount / tasks.size() * 100);
-        } else {
-            response.setCompletionPercentage(0.0);
+    // The plan exactly as stored: gzip bytes straight from the column with a strong ETag, so
+    // reads skip both decompression and response compression. Clients that don't accept gzip
+    // get it decompressed.
+    @GetMapping("/{id}/plan")
+    public ResponseEntity<?> getRoadmapPlan(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+
+        RoadmapRepositoryCustom.CompressedPlan plan = roadmapRepository.findCompressedPlanById(id)
+                .orElseThrow(() -> new RuntimeException("Roadmap not found"));
+
+        // Verify ownership
+        if (!plan.userId().equals(userDetails.getId())) {
+            return ResponseEntity.status(403).body("Access denied");
+        }
+        if (plan.plan() == null) {
+            return ResponseEntity.notFound().build();
         }
 
-        return ResponseEntity.ok(response);
+        String eTag = planETag(plan.plan());
+        if (matchesETag(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(PLAN_CONTENT_TYPE)
+                .eTag(eTag)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .cacheControl(CacheControl.noCache().cachePrivate());
+        if (acceptsGzip(acceptEncoding) && CompressedTextConverter.isGzip(plan.plan())) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(plan.plan());
+        }
+        return response.body(CompressedTextConverter.decompress(plan.plan()).getBytes(StandardCharsets.UTF_8));
     }
 
     @PostMapping("/create")
@@ -116,17 +221,19 @@ public class RoadmapController {
 
         Roadmap roadmap = new Roadmap();
         roadmap.setUser(user);
+        roadmap.setTitle(roadmapRequest.getJobTitle());
         roadmap.setJobTitle(roadmapRequest.getJobTitle());
         roadmap.setTargetDate(roadmapRequest.getTargetDate());
         roadmap.setStatus(Roadmap.RoadmapStatus.Active);
 
-        roadmapRepository.save(roadmap);
+        saveNewRoadmap(roadmap);
 
-        return ResponseEntity.ok(roadmap);
+        // A new roadmap starts at 0%
+        return ResponseEntity.ok(toRoadmapResponse(roadmap, 0.0));
     }
 
     @PostMapping("/generate")
-    public ResponseEntity<?> generateRoadmap(@RequestBody RoadmapGenerationRequest request) {
+    public CompletableFuture<ResponseEntity<?>> generateRoadmap(@RequestBody RoadmapGenerationRequest request) {
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
             UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
@@ -134,58 +241,261 @@ public class RoadmapController {
             User user = userRepository.findById(userDetails.getId())
                     .orElseThrow(() -> new RuntimeException("Error: User not found."));
 
-            // Generate AI plan
-            String planJson = aiService.generateRoadmapPlan(request);
+            // Reuse the plan of a near-identical earlier request before paying for a Gemini call
+            Optional<String> reusedPlan = similarityIndex.findReusablePlan(request);
+            if (reusedPlan.isPresent()) {
+                return CompletableFuture.completedFuture(
+                        ResponseEntity.ok(saveGeneratedRoadmap(user, request, reusedPlan.get(), false)));
+            }
 
-            // Create roadmap
-            Roadmap roadmap = new Roadmap();
-            roadmap.setUser(user);
-            roadmap.setTitle(request.getTitle());
-            roadmap.setJobTitle(request.getTitle());
-            roadmap.setJobDescription(request.getJobDescription());
-            roadmap.setTargetDate(request.getTargetDate());
-            roadmap.setAiGeneratedPlan(planJson);
-            roadmap.setStatus(Roadmap.RoadmapStatus.Active);
+            // Common roles are served from the precomputed template library
+            Optional<String> templatePlan = findTemplatePlan(user, request);
+            if (templatePlan.isPresent()) {
+                RoadmapResponse response = saveGeneratedRoadmap(user, request, templatePlan.get(), false);
+                if (templateLibrary.isPersonalizeEnabled()) {
+                    personalizeInBackground(response.getId(), request);
+                }
+                return CompletableFuture.completedFuture(ResponseEntity.ok(response));
+            }
 
-            roadmapRepository.save(roadmap);
+            // Generate AI plan without holding the request thread
+            return aiService.generateRoadmapPlanAsync(request)
+                    .<ResponseEntity<?>>thenApplyAsync(planJson -> ResponseEntity.ok(saveGeneratedRoadmap(user, request, planJson, true)),
+                            completionExecutor)
+                    .exceptionally(e -> ResponseEntity.status(500).body("Error generating roadmap: " + e.getMessage()));
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.status(500).body("Error generating roadmap: " + e.getMessage()));
+        }
+    }
 
-            // Parse AI plan and create daily tasks
+    // Streams each day to the client as a "task" event the moment Gemini finishes generating it,
+    // followed by a single "complete" event carrying the saved roadmap. Task events are previews
+    // without ids: tasks only exist once the plan is stored, so clients load them by roadmap id
+    // after "complete".
+    @PostMapping(value = "/generate/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter generateRoadmapStream(@RequestBody RoadmapGenerationRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+
+        User user = userRepository.findById(userDetails.getId())
+                .orElseThrow(() -> new RuntimeException("Error: User not found."));
+
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        int[] nextDay = { 1 };
+        AtomicBoolean disconnected = new AtomicBoolean();
+
+        // Tasks are only sent here; the roadmap and its plan are stored once generation completes,
+        // so a failed generation leaves nothing behind
+        RoadmapDayStreamParser parser = new RoadmapDayStreamParser(dayJson -> {
+            if (disconnected.get()) {
+                return;
+            }
             try {
-                ObjectMapper mapper = new ObjectMapper();
-                JsonNode root = mapper.readTree(planJson);
-
-                if (root.has("dailyPlan") && root.get("dailyPlan").isArray()) {
-                    int dayNumber = 1;
-                    for (JsonNode taskNode : root.get("dailyPlan")) {
-                        DailyTask task = new DailyTask();
-                        task.setRoadmap(roadmap);
-                        task.setDayNumber(dayNumber++);
-                        task.setTitle(taskNode.has("title") ? taskNode.get("title").asText() : "Day " + dayNumber);
-                        task.setDescription(taskNode.has("description") ? taskNode.get("description").asText() : "");
-                        task.setResources(taskNode.has("resources") ? taskNode.get("resources").asText() : "");
-                        task.setCompleted(false);
-
-                        dailyTaskRepository.save(task);
+                TaskPlan.Task task = toPlanTask(objectMapper.readValue(dayJson, RoadmapDay.class), nextDay[0]++);
+                emitter.send(SseEmitter.event().name("task").data(new DailyTaskResponse(
+                        null, task.dayNumber(), task.title(), task.description(), task.resources(), false, 0)));
+            } catch (IOException | IllegalStateException e) {
+                // The client is gone; generation carries on and the roadmap is still saved
+                logger.warn("Error streaming roadmap day for user {}: {}", user.getId(), e.getMessage());
+                disconnected.set(true);
+                emitter.completeWithError(e);
+            }
+        });
+
+        // A reused or template plan is replayed through the same parser, so the client sees the same events
+        Optional<String> reusedPlan = similarityIndex.findReusablePlan(request);
+        Optional<String> templatePlan = reusedPlan.isPresent() ? Optional.empty() : findTemplatePlan(user, request);
+        Optional<String> precomputedPlan = reusedPlan.or(() -> templatePlan);
+        CompletableFuture<String> planFuture;
+        if (precomputedPlan.isPresent()) {
+            parser.feed(precomputedPlan.get());
+            planFuture = CompletableFuture.completedFuture(precomputedPlan.get());
+        } else {
+            planFuture = aiService.streamRoadmapPlan(request, parser::feed);
+        }
+
+        planFuture
+                .whenCompleteAsync((planJson, error) -> {
+                    if (error != null) {
+                        logger.warn("Error generating streamed roadmap for user {}: {}", user.getId(), error.getMessage());
+                        emitter.completeWithError(error);
+                        return;
                     }
-                }
-            } catch (Exception e) {
-                System.err.println("Error parsing AI plan: " + e.getMessage());
-                // Continue even if parsing fails - at least we have the roadmap
+                    try {
+                        Roadmap roadmap = newRoadmap(user, request);
+                        roadmap.setAiGeneratedPlan(planJson);
+                        roadmap.setTaskPlan(dailyTaskService.findOrCreatePlan(toPlanTasks(parsePlanDays(planJson))));
+                        saveNewRoadmap(roadmap);
+                        if (precomputedPlan.isEmpty() && !aiService.isFallbackResponse(planJson)) {
+                            similarityIndex.add(roadmap);
+                        }
+                        if (templatePlan.isPresent() && templateLibrary.isPersonalizeEnabled()) {
+                            personalizeInBackground(roadmap.getId(), request);
+                        }
+                        if (!disconnected.get()) {
+                            emitter.send(SseEmitter.event().name("complete").data(toRoadmapResponse(roadmap, 0.0)));
+                            emitter.complete();
+                        }
+                    } catch (Exception e) {
+                        logger.warn("Error completing streamed roadmap for user {}: {}", user.getId(), e.getMessage());
+                        emitter.completeWithError(e);
+                    }
+                }, completionExecutor);
+
+        return emitter;
+    }
+
+    private TaskPlan.Task toPlanTask(RoadmapDay day, int defaultDayNumber) {
+        int dayNumber = day.day() != null ? day.day() : defaultDayNumber;
+        return new TaskPlan.Task(
+                dayNumber,
+                day.topic() != null ? day.topic() : "Day " + dayNumber,
+                day.tasks() != null ? String.join("\n", day.tasks()) : "",
+                "");
+    }
+
+    private List<TaskPlan.Task> toPlanTasks(List<RoadmapDay> days) {
+        List<TaskPlan.Task> tasks = new ArrayList<>(days.size());
+        int dayNumber = 1;
+        for (RoadmapDay day : days) {
+            tasks.add(toPlanTask(day, dayNumber++));
+        }
+        return tasks;
+    }
+
+    // Hash of the stored bytes: identical plans always compress to identical bytes, and any
+    // change to the plan (personalization) changes the tag
+    private static String planETag(byte[] storedPlan) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(storedPlan);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static boolean matchesETag(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            // Weak comparison is what If-None-Match calls for
+            if (tag.equals("*") || tag.equals(eTag) || tag.equals("W/" + eTag)) {
+                return true;
             }
+        }
+        return false;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static int taskCountOf(Roadmap roadmap) {
+        return roadmap.getTaskPlan() != null ? roadmap.getTaskPlan().getTaskCount() : 0;
+    }
+
+    private static double completionPercentage(long completedTasks, long totalTasks) {
+        return totalTasks > 0 ? (double) completedTasks / totalTasks * 100 : 0.0;
+    }
 
-            // Return roadmap response
-            RoadmapResponse response = new RoadmapResponse();
-            response.setId(roadmap.getId());
-            response.setTitle(roadmap.getTitle());
-            response.setJobDescription(roadmap.getJobDescription());
-            response.setTargetDate(roadmap.getTargetDate());
-            response.setAiGeneratedPlan(roadmap.getAiGeneratedPlan());
-            response.setStatus(roadmap.getStatus().toString());
-            response.setCompletionPercentage(0.0); // New roadmap starts at 0%
-
-            return ResponseEntity.ok(response);
+    private RoadmapResponse toRoadmapResponse(Roadmap roadmap, double completionPercentage) {
+        RoadmapResponse response = new RoadmapResponse();
+        response.setId(roadmap.getId());
+        response.setTitle(roadmap.getTitle());
+        response.setJobDescription(roadmap.getJobDescription());
+        response.setTargetDate(roadmap.getTargetDate());
+        response.setAiGeneratedPlan(roadmap.getAiGeneratedPlan());
+        response.setStatus(roadmap.getStatus().toString());
+        response.setCompletionPercentage(completionPercentage);
+        return response;
+    }
+
+    private Optional<String> findTemplatePlan(User user, RoadmapGenerationRequest request) {
+        UserProfile.ExperienceLevel profileLevel = userProfileRepository.findByUserId(user.getId())
+                .map(UserProfile::getExperienceLevel)
+                .orElse(null);
+        return templateLibrary.findTemplate(request, profileLevel);
+    }
+
+    // Replaces a template plan with one generated for this exact request, as long as the
+    // user has not started working through the template's tasks yet
+    private void personalizeInBackground(Long roadmapId, RoadmapGenerationRequest request) {
+        aiService.generateRoadmapPlanAsync(request)
+                .thenAcceptAsync(planJson -> {
+                    List<RoadmapDay> days = parsePlanDays(planJson);
+                    if (aiService.isFallbackResponse(planJson) || days.isEmpty()) {
+                        return;
+                    }
+                    if (!dailyTaskService.replaceUnstartedTasks(roadmapId, toPlanTasks(days), planJson)) {
+                        return;
+                    }
+                    roadmapRepository.findById(roadmapId).ifPresent(similarityIndex::add);
+                }, completionExecutor)
+                .exceptionally(e -> {
+                    logger.error("Error personalizing roadmap {}: {}", roadmapId, e.getMessage());
+                    return null;
+                });
+    }
+
+    private List<RoadmapDay> parsePlanDays(String planJson) {
+        try {
+            RoadmapPlan plan = objectMapper.readValue(GeminiResponseDecoder.stripToJsonObject(planJson), RoadmapPlan.class);
+            return plan.days() != null ? plan.days() : List.of();
         } catch (Exception e) {
-            return ResponseEntity.status(500).body("Error generating roadmap: " + e.getMessage());
+            logger.warn("Error parsing AI plan: {}", e.getMessage());
+            return List.of();
         }
     }
+
+    // The event updates the CrackScore aggregate in the same transaction as the insert
+    private void saveNewRoadmap(Roadmap roadmap) {
+        transactionTemplate.executeWithoutResult(status -> {
+            roadmapRepository.save(roadmap);
+            eventPublisher.publishEvent(TaskProgressEvent.roadmapCreated(roadmap.getUser().getId(), taskCountOf(roadmap)));
+        });
+    }
+
+    private Roadmap newRoadmap(User user, RoadmapGenerationRequest request) {
+        Roadmap roadmap = new Roadmap();
+        roadmap.setUser(user);
+        roadmap.setTitle(request.getTitle());
+        roadmap.setJobTitle(request.getTitle());
+        roadmap.setJobDescription(request.getJobDescription());
+        roadmap.setTargetDate(request.getTargetDate());
+        roadmap.setTargetDays(request.getTargetDays());
+        roadmap.setSkills(RoadmapSimilarityIndex.skillsKey(request.getSkills()));
+        roadmap.setStatus(Roadmap.RoadmapStatus.Active);
+        return roadmap;
+    }
+
+    private RoadmapResponse saveGeneratedRoadmap(User user, RoadmapGenerationRequest request, String planJson,
+            boolean indexPlan) {
+        // Create roadmap; its tasks come from the shared plan with the same content, if there is one.
+        // If parsing fails we still have the roadmap.
+        Roadmap roadmap = newRoadmap(user, request);
+        roadmap.setAiGeneratedPlan(planJson);
+        roadmap.setTaskPlan(dailyTaskService.findOrCreatePlan(toPlanTasks(parsePlanDays(planJson))));
+
+        saveNewRoadmap(roadmap);
+
+        // Fallback plans are generic and must never be served in place of a real one
+        if (indexPlan && !aiService.isFallbackResponse(planJson)) {
+            similarityIndex.add(roadmap);
+        }
+
+        // Return roadmap response; a new roadmap starts at 0%
+        return toRoadmapResponse(roadmap, 0.0);
+    }
 }
@@ -1,17 +1,28 @@
 package com.codifyme.controller;
 
+import com.codifyme.model.CrackScoreHistoryPoint;
 import com.codifyme.model.User;
+import com.codifyme.payload.response.CrackScoreHistoryPointResponse;
 import com.codifyme.payload.response.CrackScoreResponse;
+import com.codifyme.payload.response.MessageResponse;
 import com.codifyme.payload.response.UserResponse;
 import com.codifyme.repository.UserRepository;
 import com.codifyme.security.services.UserDetailsImpl;
 import com.codifyme.service.CrackScoreService;
+import com.codifyme.service.score.CrackScoreHistory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
 @RequestMapping("/api/user")
@@ -23,6 +34,9 @@ public class UserController {
     @Autowired
     private CrackScoreService crackScoreService;
 
+    @Autowired
+    private CrackScoreHistory crackScoreHistory;
+
     @GetMapping("/profile")
     public ResponseEntity<UserResponse> getUserProfile() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -63,7 +77,47 @@ public class UserController {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
 
-        CrackScoreResponse response = crackScoreService.calculateCrackScore(userDetails.getId());
+        CrackScoreResponse response = crackScoreService.getCrackScore(userDetails.getId());
         return ResponseEntity.ok(response);
     }
+
+    // from/to take an ISO date or date-time and default to the last 90 days. Without resolution,
+    // each period comes back as stored (raw for the last 30 days, then daily, then weekly).
+    @GetMapping("/crackscore/history")
+    public ResponseEntity<?> getCrackScoreHistory(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String resolution) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+
+        LocalDateTime end;
+        LocalDateTime start;
+        CrackScoreHistoryPoint.Resolution bucket;
+        try {
+            end = to == null ? LocalDateTime.now() : parseTime(to);
+            start = from == null ? end.minusDays(90) : parseTime(from);
+            bucket = resolution == null ? null
+                    : CrackScoreHistoryPoint.Resolution.valueOf(resolution.toUpperCase(Locale.ROOT));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Invalid from, to or resolution"));
+        }
+
+        List<CrackScoreHistoryPointResponse> points = crackScoreHistory.range(userDetails.getId(), start, end, bucket)
+                .stream()
+                .map(point -> new CrackScoreHistoryPointResponse(
+                        point.time(),
+                        point.resolution().name(),
+                        point.score(),
+                        point.minScore(),
+                        point.maxScore(),
+                        point.averageScore(),
+                        point.samples()))
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(points);
+    }
+
+    private static LocalDateTime parseTime(String value) {
+        return value.contains("T") ? LocalDateTime.parse(value) : LocalDate.parse(value).atStartOfDay();
+    }
 }
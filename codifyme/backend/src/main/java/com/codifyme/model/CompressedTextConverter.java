@@ -0,0 +1,55 @@
+package com.codifyme.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Stores large generated text as gzip in a BLOB column. Gzip rather than raw deflate so the
+// stored bytes can be sent as-is to clients that accept Content-Encoding: gzip.
+// Values that are not gzip are read as plain UTF-8, which keeps uncompressed bytes readable.
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(String text) {
+        return text != null ? compress(text) : null;
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] data) {
+        return data != null ? decompress(data) : null;
+    }
+
+    public static byte[] compress(String text) {
+        byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(raw);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public static String decompress(byte[] data) {
+        if (!isGzip(data)) {
+            return new String(data, StandardCharsets.UTF_8);
+        }
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt compressed text column", e);
+        }
+    }
+
+    public static boolean isGzip(byte[] data) {
+        return data.length >= 2 && (data[0] & 0xff) == 0x1f && (data[1] & 0xff) == 0x8b;
+    }
+}
@@ -0,0 +1,39 @@
+package com.codifyme.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Running totals behind a user's CrackScore, kept up to date by CrackScoreAggregator so the
+// score is computed from one row instead of scanning roadmaps and interviews
+@Entity
+@Table(name = "crack_score_aggregates")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CrackScoreAggregate {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "roadmap_count", nullable = false)
+    private long roadmapCount;
+
+    @Column(name = "total_tasks", nullable = false)
+    private long totalTasks;
+
+    @Column(name = "completed_tasks", nullable = false)
+    private long completedTasks;
+
+    @Column(name = "interview_count", nullable = false)
+    private long interviewCount;
+
+    // Interviews with a score; pending and failed feedback have none
+    @Column(name = "scored_interview_count", nullable = false)
+    private long scoredInterviewCount;
+
+    @Column(name = "interview_score_sum", nullable = false)
+    private long interviewScoreSum;
+}
@@ -0,0 +1,55 @@
+package com.codifyme.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One point of a user's CrackScore history. RAW points are single score changes; DAILY and
+// WEEKLY points summarize the changes in their bucket, with score as the last value. Raw points
+// are rolled up into daily ones, and daily into weekly ones, as they age (see CrackScoreHistory),
+// so the resolutions cover disjoint time ranges and a range read is one scan of the unique key.
+@Entity
+@Table(name = "crack_score_history", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_score_history_point", columnNames = { "user_id", "bucket_start", "resolution" })
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CrackScoreHistoryPoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Resolution resolution;
+
+    @Column(nullable = false)
+    private int score;
+
+    @Column(name = "min_score", nullable = false)
+    private int minScore;
+
+    @Column(name = "max_score", nullable = false)
+    private int maxScore;
+
+    @Column(name = "score_sum", nullable = false)
+    private long scoreSum;
+
+    @Column(nullable = false)
+    private int samples;
+
+    public enum Resolution {
+        RAW, DAILY, WEEKLY
+    }
+}
@@ -0,0 +1,64 @@
+package com.codifyme.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Checkpoint of a CrackScoreRecomputeJob run. Every user with an id up to checkpointUserId has
+// been recomputed; a run that is still RUNNING or FAILED when the job starts again resumes
+// after it instead of starting over. A RUNNING run is leased to the instance in owner, which
+// renews lockedAt with every checkpoint; other instances only take it over once that lapses.
+@Entity
+@Table(name = "crack_score_recompute_runs", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_crack_score_recompute_runs_unfinished", columnNames = "unfinished")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CrackScoreRecomputeRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private RunStatus status = RunStatus.RUNNING;
+
+    @Column(nullable = false)
+    private long checkpointUserId = 0;
+
+    @Column(nullable = false)
+    private long usersProcessed = 0;
+
+    @Column(nullable = false)
+    private long usersChanged = 0;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    // Set on every resume; startedAt keeps the original start
+    private LocalDateTime resumedAt;
+
+    private LocalDateTime finishedAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    // Instance holding the lease while RUNNING
+    @Column(length = 100)
+    private String owner;
+
+    private LocalDateTime lockedAt;
+
+    // True until the run completes, null afterwards; unique, so instances starting a run at the
+    // same time cannot both insert one
+    private Boolean unfinished = true;
+
+    public enum RunStatus {
+        RUNNING, COMPLETED, FAILED
+    }
+}
@@ -1,41 +0,0 @@
-package com.codifyme.model;
-
-import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-import org.hibernate.annotations.CreationTimestamp;
-
-import java.time.LocalDateTime;
-
-@Entity
-@Table(name = "daily_tasks")
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-public class DailyTask {
-
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "roadmap_id", nullable = false)
-    private Roadmap roadmap;
-
-    private Integer dayNumber;
-
-    @Column(nullable = false)
-    private String title;
-
-    @Column(columnDefinition = "TEXT")
-    private String description;
-
-    @Column(columnDefinition = "TEXT")
-    private String resources;
-
-    private boolean completed = false;
-
-    @CreationTimestamp
-    private LocalDateTime createdAt;
-}
@@ -6,7 +6,10 @@ import java.time.LocalDateTime;
 
 @Data
 @Entity
-@Table(name = "interviews")
+@Table(name = "interviews", indexes = {
+        // Keyset pagination of a user's history
+        @Index(name = "idx_interviews_user_created", columnList = "user_id, created_at, id")
+})
 public class Interview {
 
     @Id
@@ -21,14 +24,22 @@ public class Interview {
     @Column(nullable = false)
     private InterviewType type;
 
-    @Column(columnDefinition = "TEXT")
+    // Gzip-compressed; see CompressedTextConverter and CompressedColumnMigration
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "transcript_gz", columnDefinition = "MEDIUMBLOB")
     private String transcript;
 
-    @Column(name = "ai_feedback_json", columnDefinition = "JSON")
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "ai_feedback_gz", columnDefinition = "MEDIUMBLOB")
     private String aiFeedbackJson;
 
     private Integer score;
 
+    // Feedback is generated in the background; see InterviewFeedbackJob
+    @Enumerated(EnumType.STRING)
+    @Column(name = "feedback_status", length = 20)
+    private FeedbackStatus feedbackStatus = FeedbackStatus.PENDING;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -37,7 +48,16 @@ public class Interview {
         createdAt = LocalDateTime.now();
     }
 
+    // Rows created before background feedback existed have no status but always had feedback
+    public FeedbackStatus getFeedbackStatus() {
+        return feedbackStatus != null ? feedbackStatus : FeedbackStatus.COMPLETED;
+    }
+
     public enum InterviewType {
         Chat, Video
     }
+
+    public enum FeedbackStatus {
+        PENDING, COMPLETED, FAILED
+    }
 }
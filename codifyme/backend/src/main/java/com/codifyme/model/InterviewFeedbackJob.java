@@ -0,0 +1,52 @@
+package com.codifyme.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// Durable work item for generating interview feedback outside the HTTP request.
+// Rows survive restarts; RUNNING rows whose lease expired are picked up again.
+@Entity
+@Table(name = "interview_feedback_jobs", indexes = {
+        @Index(name = "idx_feedback_jobs_due", columnList = "status, nextAttemptAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InterviewFeedbackJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private Long interviewId;
+
+    @Column(nullable = false)
+    private String jobRole;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private JobStatus status = JobStatus.PENDING;
+
+    private int attempts = 0;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    private LocalDateTime lockedAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    public enum JobStatus {
+        PENDING, RUNNING, DONE, FAILED
+    }
+}
@@ -0,0 +1,27 @@
+package com.codifyme.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Id a task had as a daily_tasks row, mapped to where the task lives now (its index in the
+// roadmap's plan). Written by DailyTaskMigration so ids clients already hold keep working.
+@Entity
+@Table(name = "legacy_task_ids", indexes = {
+        @Index(name = "idx_legacy_task_ids_roadmap", columnList = "roadmap_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LegacyTaskId {
+
+    @Id
+    private Long id;
+
+    @Column(name = "roadmap_id", nullable = false)
+    private Long roadmapId;
+
+    @Column(name = "task_index", nullable = false)
+    private Integer taskIndex;
+}
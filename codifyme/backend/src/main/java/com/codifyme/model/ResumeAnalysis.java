@@ -0,0 +1,37 @@
+package com.codifyme.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// Cached analysis JSON for one resume content hash scored against one job description hash;
+// the jd hash also covers the scorer and dictionary versions, so stale results are never read
+@Data
+@Entity
+@Table(name = "resume_analyses", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "content_hash", "jd_hash" })
+})
+public class ResumeAnalysis {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Column(name = "jd_hash", nullable = false, length = 64)
+    private String jdHash;
+
+    @Column(name = "result_json", columnDefinition = "TEXT", nullable = false)
+    private String resultJson;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,48 @@
+package com.codifyme.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// A stored resume file, identified by the SHA-256 of its bytes. refCount is the number of
+// profiles whose resumePath points at it; unreferenced blobs are swept after a grace period.
+@Data
+@Entity
+@Table(name = "resume_blobs")
+public class ResumeBlob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "content_hash", nullable = false, unique = true, length = 64)
+    private String contentHash;
+
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Column(name = "original_filename")
+    private String originalFilename;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount = 0;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Bumped on every upload of the same bytes so a blob is never swept right after an upload
+    @Column(name = "last_uploaded_at", nullable = false)
+    private LocalDateTime lastUploadedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (lastUploadedAt == null) {
+            lastUploadedAt = createdAt;
+        }
+    }
+}
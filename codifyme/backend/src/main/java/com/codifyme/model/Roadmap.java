@@ -1,5 +1,6 @@
 package com.codifyme.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -29,20 +30,60 @@ public class Roadmap {
     @Column(nullable = false)
     private String jobTitle;
 
-    @Column(columnDefinition = "TEXT")
+    // Gzip-compressed; see CompressedTextConverter and CompressedColumnMigration
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "job_description_gz", columnDefinition = "MEDIUMBLOB")
     private String jobDescription;
 
-    @Column(columnDefinition = "TEXT")
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "ai_generated_plan_gz", columnDefinition = "MEDIUMBLOB")
     private String aiGeneratedPlan;
 
     private LocalDate targetDate;
 
+    // Generation inputs, kept so similar requests can reuse this plan
+    private Integer targetDays;
+
+    @Column(length = 1000)
+    private String skills;
+
+    // Shared, immutable task content; null until the plan has been parsed into tasks
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "task_plan_id")
+    private TaskPlan taskPlan;
+
+    // Bit i set when task i of taskPlan is completed
+    @JsonIgnore
+    @Convert(converter = TaskProgressConverter.class)
+    @Column(name = "task_progress", columnDefinition = "VARBINARY(512)")
+    private TaskProgress taskProgress = TaskProgress.empty();
+
+    // Version at which each task last changed; the per-task optimistic lock clients send back
+    @JsonIgnore
+    @Convert(converter = TaskVersionsConverter.class)
+    @Column(name = "task_versions", columnDefinition = "BLOB")
+    private TaskVersions taskVersions = TaskVersions.empty();
+
+    // Optimistic lock over taskPlan, taskProgress and taskVersions
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private long version;
+
     @Enumerated(EnumType.STRING)
     private RoadmapStatus status = RoadmapStatus.Active;
 
     @CreationTimestamp
     private LocalDateTime createdAt;
 
+    // Rows created before task progress existed have no bitset yet
+    public TaskProgress getTaskProgress() {
+        return taskProgress != null ? taskProgress : TaskProgress.empty();
+    }
+
+    public TaskVersions getTaskVersions() {
+        return taskVersions != null ? taskVersions : TaskVersions.empty();
+    }
+
     public enum RoadmapStatus {
         Active, Completed, Abandoned
     }
@@ -0,0 +1,41 @@
+package com.codifyme.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// Canonical plan for a common role, generated once and served to every matching request
+@Entity
+@Table(name = "roadmap_templates", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "role_key", "duration_days", "experience_level" })
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoadmapTemplate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "role_key", nullable = false, length = 100)
+    private String roleKey;
+
+    @Column(name = "duration_days", nullable = false)
+    private Integer durationDays;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "experience_level", nullable = false, length = 50)
+    private UserProfile.ExperienceLevel experienceLevel;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String plan;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,67 @@
+package com.codifyme.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+// Task content of a roadmap, stored once and shared by every roadmap with identical tasks
+// (reused and template plans in particular). Rows are content-addressed and never updated:
+// a roadmap whose tasks change is pointed at another plan instead, so sharing is copy-on-write.
+// Each roadmap keeps its own progress against the plan as a TaskProgress bitset.
+@Entity
+@Immutable
+@Table(name = "task_plans")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskPlan {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // SHA-256 of tasksJson
+    @Column(name = "content_hash", nullable = false, unique = true, length = 64)
+    private String contentHash;
+
+    @Column(name = "task_count", nullable = false)
+    private Integer taskCount;
+
+    // JSON array of Task
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "tasks_gz", columnDefinition = "MEDIUMBLOB", nullable = false)
+    private String tasksJson;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public record Task(Integer dayNumber, String title, String description, String resources) {
+    }
+
+    // Task ids seen by clients encode the roadmap and the task's index in its plan, so a task
+    // needs no row of its own. They start at ID_BASE, above any id a daily_tasks row ever had,
+    // so ids of migrated tasks (see LegacyTaskId) can never be mistaken for one of these.
+    public static final long ID_BASE = 1L << 40;
+
+    public static long taskId(long roadmapId, int index) {
+        return ID_BASE + roadmapId * TaskProgress.MAX_TASKS + index;
+    }
+
+    public static boolean isTaskId(long id) {
+        return id >= ID_BASE;
+    }
+
+    public static long roadmapIdOf(long taskId) {
+        return (taskId - ID_BASE) / TaskProgress.MAX_TASKS;
+    }
+
+    public static int indexOf(long taskId) {
+        return (int) ((taskId - ID_BASE) % TaskProgress.MAX_TASKS);
+    }
+}
@@ -0,0 +1,114 @@
+package com.codifyme.model;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+// Completion state of a roadmap's tasks as a bitset: bit i is task i of the roadmap's plan.
+// Immutable; changes return a new instance. The completed count is kept alongside the words,
+// so progress is read in O(1) and only recomputed with Long.bitCount when bits change.
+public final class TaskProgress {
+
+    // Upper bound on tasks per plan; also the stride of task ids (see TaskPlan.taskId)
+    public static final int MAX_TASKS = 4096;
+
+    private static final TaskProgress EMPTY = new TaskProgress(new long[0]);
+
+    private final long[] words;
+    private final int completedCount;
+
+    private TaskProgress(long[] words) {
+        this.words = words;
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        this.completedCount = count;
+    }
+
+    public static TaskProgress empty() {
+        return EMPTY;
+    }
+
+    public boolean isCompleted(int index) {
+        int word = index >>> 6;
+        return word < words.length && (words[word] & (1L << index)) != 0;
+    }
+
+    public TaskProgress withCompleted(int index, boolean completed) {
+        if (index < 0 || index >= MAX_TASKS) {
+            throw new IndexOutOfBoundsException("Task index " + index);
+        }
+        if (isCompleted(index) == completed) {
+            return this;
+        }
+        int word = index >>> 6;
+        long[] copy = Arrays.copyOf(words, Math.max(words.length, word + 1));
+        copy[word] ^= 1L << index;
+        return new TaskProgress(trim(copy));
+    }
+
+    public int completedCount() {
+        return completedCount;
+    }
+
+    public boolean isEmpty() {
+        return completedCount == 0;
+    }
+
+    public double completionPercentage(int taskCount) {
+        return taskCount > 0 ? (double) completedCount / taskCount * 100 : 0.0;
+    }
+
+    // Little-endian words with trailing zero words dropped; a fresh roadmap stores zero bytes
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(words.length * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (long word : words) {
+            buffer.putLong(word);
+        }
+        return buffer.array();
+    }
+
+    public static TaskProgress fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return EMPTY;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        long[] words = new long[(bytes.length + Long.BYTES - 1) / Long.BYTES];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = buffer.remaining() >= Long.BYTES ? buffer.getLong() : partialWord(buffer);
+        }
+        return new TaskProgress(trim(words));
+    }
+
+    private static long partialWord(ByteBuffer buffer) {
+        long word = 0;
+        for (int shift = 0; buffer.hasRemaining(); shift += 8) {
+            word |= (buffer.get() & 0xffL) << shift;
+        }
+        return word;
+    }
+
+    private static long[] trim(long[] words) {
+        int length = words.length;
+        while (length > 0 && words[length - 1] == 0) {
+            length--;
+        }
+        return length == words.length ? words : Arrays.copyOf(words, length);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof TaskProgress progress && Arrays.equals(words, progress.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+
+    @Override
+    public String toString() {
+        return "TaskProgress[" + completedCount + " completed]";
+    }
+}
@@ -0,0 +1,18 @@
+package com.codifyme.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter
+public class TaskProgressConverter implements AttributeConverter<TaskProgress, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(TaskProgress progress) {
+        return (progress != null ? progress : TaskProgress.empty()).toBytes();
+    }
+
+    @Override
+    public TaskProgress convertToEntityAttribute(byte[] bytes) {
+        return TaskProgress.fromBytes(bytes);
+    }
+}
@@ -0,0 +1,107 @@
+package com.codifyme.model;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+// Per-task optimistic lock versions of a roadmap: the roadmap version at which each task last
+// changed. Tasks that never changed since the roadmap got its plan report the base version, so
+// only touched tasks are stored. Immutable; changes return a new instance.
+public final class TaskVersions {
+
+    private static final TaskVersions EMPTY = new TaskVersions(0, new int[0], new long[0]);
+
+    private static final int ENTRY_BYTES = Short.BYTES + Long.BYTES;
+
+    private final long base;
+    private final int[] indexes;
+    private final long[] versions;
+
+    private TaskVersions(long base, int[] indexes, long[] versions) {
+        this.base = base;
+        this.indexes = indexes;
+        this.versions = versions;
+    }
+
+    public static TaskVersions empty() {
+        return EMPTY;
+    }
+
+    // Every task at the given version, e.g. for a roadmap that just got a new plan
+    public static TaskVersions of(long base) {
+        return base == 0 ? EMPTY : new TaskVersions(base, new int[0], new long[0]);
+    }
+
+    public long versionOf(int index) {
+        int position = Arrays.binarySearch(indexes, index);
+        return position >= 0 ? versions[position] : base;
+    }
+
+    public TaskVersions with(int index, long version) {
+        if (index < 0 || index >= TaskProgress.MAX_TASKS) {
+            throw new IndexOutOfBoundsException("Task index " + index);
+        }
+        int position = Arrays.binarySearch(indexes, index);
+        if (position >= 0) {
+            if (versions[position] == version) {
+                return this;
+            }
+            long[] newVersions = versions.clone();
+            newVersions[position] = version;
+            return new TaskVersions(base, indexes, newVersions);
+        }
+        int insertAt = -position - 1;
+        int[] newIndexes = new int[indexes.length + 1];
+        long[] newVersions = new long[versions.length + 1];
+        System.arraycopy(indexes, 0, newIndexes, 0, insertAt);
+        System.arraycopy(versions, 0, newVersions, 0, insertAt);
+        newIndexes[insertAt] = index;
+        newVersions[insertAt] = version;
+        System.arraycopy(indexes, insertAt, newIndexes, insertAt + 1, indexes.length - insertAt);
+        System.arraycopy(versions, insertAt, newVersions, insertAt + 1, versions.length - insertAt);
+        return new TaskVersions(base, newIndexes, newVersions);
+    }
+
+    // Little-endian base version, then (unsigned short index, long version) per stored task
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES + indexes.length * ENTRY_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putLong(base);
+        for (int i = 0; i < indexes.length; i++) {
+            buffer.putShort((short) indexes[i]);
+            buffer.putLong(versions[i]);
+        }
+        return buffer.array();
+    }
+
+    public static TaskVersions fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length < Long.BYTES) {
+            return EMPTY;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        long base = buffer.getLong();
+        int count = buffer.remaining() / ENTRY_BYTES;
+        int[] indexes = new int[count];
+        long[] versions = new long[count];
+        for (int i = 0; i < count; i++) {
+            indexes[i] = Short.toUnsignedInt(buffer.getShort());
+            versions[i] = buffer.getLong();
+        }
+        return new TaskVersions(base, indexes, versions);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof TaskVersions taskVersions && base == taskVersions.base
+                && Arrays.equals(indexes, taskVersions.indexes) && Arrays.equals(versions, taskVersions.versions);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Long.hashCode(base) + Arrays.hashCode(indexes)) + Arrays.hashCode(versions);
+    }
+
+    @Override
+    public String toString() {
+        return "TaskVersions[base " + base + ", " + indexes.length + " changed]";
+    }
+}
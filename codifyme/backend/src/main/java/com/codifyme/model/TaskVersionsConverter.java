@@ -0,0 +1,18 @@
+package com.codifyme.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter
+public class TaskVersionsConverter implements AttributeConverter<TaskVersions, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(TaskVersions versions) {
+        return (versions != null ? versions : TaskVersions.empty()).toBytes();
+    }
+
+    @Override
+    public TaskVersions convertToEntityAttribute(byte[] bytes) {
+        return TaskVersions.fromBytes(bytes);
+    }
+}
@@ -36,9 +36,18 @@ public class User {
 
     private Integer interviewsCompleted = 0;
 
+    // Null for rows created before roles existed, which are regular users; admins are granted in SQL
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private Role role = Role.USER;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
     @UpdateTimestamp
     private LocalDateTime updatedAt;
+
+    public enum Role {
+        USER, ADMIN
+    }
 }
@@ -0,0 +1,15 @@
+package com.codifyme.payload.ai;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+// Shape of the interview feedback JSON the model is prompted to return
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record InterviewFeedback(
+        Integer score,
+        List<String> strengths,
+        List<String> weaknesses,
+        List<String> recommendations,
+        String overallFeedback) {
+}
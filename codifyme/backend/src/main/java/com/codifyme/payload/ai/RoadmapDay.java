@@ -0,0 +1,9 @@
+package com.codifyme.payload.ai;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record RoadmapDay(Integer day, String topic, List<String> tasks) {
+}
@@ -0,0 +1,10 @@
+package com.codifyme.payload.ai;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+// Shape of the roadmap JSON the model is prompted to return
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record RoadmapPlan(String title, List<RoadmapDay> days) {
+}
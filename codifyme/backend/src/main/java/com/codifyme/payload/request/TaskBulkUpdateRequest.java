@@ -0,0 +1,30 @@
+package com.codifyme.payload.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TaskBulkUpdateRequest {
+
+    @NotEmpty(message = "At least one task change is required")
+    @Size(max = 500, message = "At most 500 tasks can be updated at once")
+    private List<@Valid @NotNull TaskChange> tasks;
+
+    @Data
+    public static class TaskChange {
+
+        @NotNull(message = "Task id is required")
+        private Long id;
+
+        @NotNull(message = "Completion status is required")
+        private Boolean completed;
+
+        // Version the client last saw; when given, the change is rejected if the task changed since
+        private Long version;
+    }
+}
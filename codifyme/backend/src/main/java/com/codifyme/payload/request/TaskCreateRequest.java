@@ -0,0 +1,22 @@
+package com.codifyme.payload.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class TaskCreateRequest {
+
+    @NotNull(message = "Roadmap id is required")
+    private Long roadmapId;
+
+    // Defaults to the day after the roadmap's last task
+    private Integer dayNumber;
+
+    @NotBlank(message = "Title is required")
+    private String title;
+
+    private String description;
+
+    private String resources;
+}
@@ -0,0 +1,22 @@
+package com.codifyme.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CrackScoreHistoryPointResponse {
+    // Start of the bucket, or the time of the change for RAW points
+    private LocalDateTime time;
+    private String resolution;
+    // Score at the end of the bucket
+    private Integer score;
+    private Integer minScore;
+    private Integer maxScore;
+    private Double averageScore;
+    private Integer samples;
+}
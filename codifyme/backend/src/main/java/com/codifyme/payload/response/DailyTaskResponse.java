@@ -0,0 +1,19 @@
+package com.codifyme.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DailyTaskResponse {
+    private Long id;
+    private Integer dayNumber;
+    private String title;
+    private String description;
+    private String resources;
+    private boolean completed;
+    // Version at which the task last changed, for optimistic bulk updates
+    private long version;
+}
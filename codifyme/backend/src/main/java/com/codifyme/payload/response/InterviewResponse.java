@@ -16,4 +16,5 @@ public class InterviewResponse {
     private Integer score;
     private String feedback;
     private LocalDateTime createdAt;
+    private String status; // PENDING, COMPLETED or FAILED
 }
@@ -0,0 +1,15 @@
+package com.codifyme.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LeaderboardEntryResponse {
+    private Integer rank;
+    private Long userId;
+    private String fullName;
+    private Integer crackScore;
+}
@@ -0,0 +1,21 @@
+package com.codifyme.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LeaderboardStandingResponse {
+    private Integer rank;
+    // Share of the board with the same or a lower CrackScore
+    private Double percentile;
+    private Integer crackScore;
+    private Integer totalUsers;
+    // Null for the global board
+    private String company;
+    private List<LeaderboardEntryResponse> around;
+}
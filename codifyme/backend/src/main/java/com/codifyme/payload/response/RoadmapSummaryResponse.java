@@ -0,0 +1,21 @@
+package com.codifyme.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// Roadmap list entry; the plan itself is only returned by the detail endpoint
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoadmapSummaryResponse {
+    private Long id;
+    private String title;
+    private LocalDate targetDate;
+    private String status;
+    private long completedTasks;
+    private long totalTasks;
+    private double completionPercentage;
+}
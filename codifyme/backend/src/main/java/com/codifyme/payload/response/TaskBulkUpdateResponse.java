@@ -0,0 +1,37 @@
+package com.codifyme.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskBulkUpdateResponse {
+
+    private int updated;
+    private List<TaskState> tasks;
+    private List<RoadmapProgress> roadmaps;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class TaskState {
+        private Long id;
+        private boolean completed;
+        private long version;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RoadmapProgress {
+        private Long roadmapId;
+        private long completedTasks;
+        private long totalTasks;
+        private double completionPercentage;
+        private long version;
+    }
+}
@@ -0,0 +1,27 @@
+package com.codifyme.repository;
+
+import com.codifyme.model.CrackScoreAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface CrackScoreAggregateRepository extends JpaRepository<CrackScoreAggregate, Long> {
+
+    // Applied in place, so concurrent events for one user never lose an update
+    @Modifying
+    @Transactional
+    @Query("UPDATE CrackScoreAggregate a SET a.roadmapCount = a.roadmapCount + :roadmaps, " +
+            "a.totalTasks = a.totalTasks + :totalTasks, a.completedTasks = a.completedTasks + :completedTasks, " +
+            "a.interviewCount = a.interviewCount + :interviews, " +
+            "a.scoredInterviewCount = a.scoredInterviewCount + :scoredInterviews, " +
+            "a.interviewScoreSum = a.interviewScoreSum + :scoreSum " +
+            "WHERE a.userId = :userId")
+    int applyDelta(@Param("userId") Long userId, @Param("roadmaps") long roadmaps,
+            @Param("totalTasks") long totalTasks, @Param("completedTasks") long completedTasks,
+            @Param("interviews") long interviews, @Param("scoredInterviews") long scoredInterviews,
+            @Param("scoreSum") long scoreSum);
+}
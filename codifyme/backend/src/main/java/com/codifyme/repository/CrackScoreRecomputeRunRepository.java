@@ -0,0 +1,49 @@
+package com.codifyme.repository;
+
+import com.codifyme.model.CrackScoreRecomputeRun;
+import com.codifyme.model.CrackScoreRecomputeRun.RunStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface CrackScoreRecomputeRunRepository extends JpaRepository<CrackScoreRecomputeRun, Long> {
+
+    Optional<CrackScoreRecomputeRun> findFirstByStatusInOrderByIdDesc(Collection<RunStatus> statuses);
+
+    // Takes over a run that failed, or whose owner stopped renewing its lease; 0 if another instance holds it
+    @Modifying
+    @Transactional
+    @Query("UPDATE CrackScoreRecomputeRun r SET r.status = :running, r.owner = :owner, r.lockedAt = :now, " +
+            "r.resumedAt = :now, r.lastError = NULL " +
+            "WHERE r.id = :id AND (r.status = :failed OR (r.status = :running AND (r.lockedAt IS NULL OR r.lockedAt < :leaseCutoff)))")
+    int claim(@Param("id") Long id, @Param("owner") String owner, @Param("now") LocalDateTime now,
+            @Param("leaseCutoff") LocalDateTime leaseCutoff, @Param("running") RunStatus running,
+            @Param("failed") RunStatus failed);
+
+    // Saves progress and renews the lease; 0 once another instance has taken the run over
+    @Modifying
+    @Transactional
+    @Query("UPDATE CrackScoreRecomputeRun r SET r.checkpointUserId = :checkpointUserId, " +
+            "r.usersProcessed = :usersProcessed, r.usersChanged = :usersChanged, r.lockedAt = :now " +
+            "WHERE r.id = :id AND r.owner = :owner AND r.status = :running")
+    int checkpoint(@Param("id") Long id, @Param("owner") String owner, @Param("checkpointUserId") long checkpointUserId,
+            @Param("usersProcessed") long usersProcessed, @Param("usersChanged") long usersChanged,
+            @Param("now") LocalDateTime now, @Param("running") RunStatus running);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE CrackScoreRecomputeRun r SET r.status = :status, r.finishedAt = :finishedAt, " +
+            "r.unfinished = :unfinished, r.lastError = :lastError " +
+            "WHERE r.id = :id AND r.owner = :owner AND r.status = :running")
+    int finish(@Param("id") Long id, @Param("owner") String owner, @Param("status") RunStatus status,
+            @Param("finishedAt") LocalDateTime finishedAt, @Param("unfinished") Boolean unfinished,
+            @Param("lastError") String lastError, @Param("running") RunStatus running);
+}
@@ -0,0 +1,37 @@
+package com.codifyme.repository;
+
+import com.codifyme.model.InterviewFeedbackJob;
+import com.codifyme.model.InterviewFeedbackJob.JobStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface InterviewFeedbackJobRepository extends JpaRepository<InterviewFeedbackJob, Long> {
+
+    List<InterviewFeedbackJob> findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(
+            JobStatus status, LocalDateTime now, Pageable pageable);
+
+    // Conditional update so only one worker (or instance) can take a given job
+    @Modifying
+    @Transactional
+    @Query("UPDATE InterviewFeedbackJob j SET j.status = :running, j.lockedAt = :now, j.attempts = j.attempts + 1 " +
+            "WHERE j.id = :id AND j.status = :pending")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now,
+            @Param("pending") JobStatus pending, @Param("running") JobStatus running);
+
+    // Jobs left RUNNING by a crashed worker go back to the queue once their lease expires
+    @Modifying
+    @Transactional
+    @Query("UPDATE InterviewFeedbackJob j SET j.status = :pending, j.nextAttemptAt = :now " +
+            "WHERE j.status = :running AND j.lockedAt < :leaseCutoff")
+    int releaseExpiredLeases(@Param("leaseCutoff") LocalDateTime leaseCutoff, @Param("now") LocalDateTime now,
+            @Param("pending") JobStatus pending, @Param("running") JobStatus running);
+}
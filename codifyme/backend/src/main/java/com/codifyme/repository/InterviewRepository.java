@@ -1,9 +1,14 @@
 package com.codifyme.repository;
 
 import com.codifyme.model.Interview;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -11,7 +16,35 @@ public interface InterviewRepository extends JpaRepository<Interview, Long> {
 
     List<Interview> findByUserId(Long userId);
 
-    List<Interview> findByUserIdOrderByCreatedAtDesc(Long userId);
+    // History pages, newest first: the first page, then seeks past the last (createdAt, id) sent.
+    // Only the list columns are read, never the transcript or feedback.
+    @Query("SELECT i.id AS id, i.type AS type, i.score AS score, i.feedbackStatus AS feedbackStatus, " +
+            "i.createdAt AS createdAt FROM Interview i WHERE i.user.id = :userId " +
+            "ORDER BY i.createdAt DESC, i.id DESC")
+    List<InterviewSummary> findHistory(@Param("userId") Long userId, Limit limit);
+
+    @Query("SELECT i.id AS id, i.type AS type, i.score AS score, i.feedbackStatus AS feedbackStatus, " +
+            "i.createdAt AS createdAt FROM Interview i WHERE i.user.id = :userId " +
+            "AND (i.createdAt < :createdAt OR (i.createdAt = :createdAt AND i.id < :id)) " +
+            "ORDER BY i.createdAt DESC, i.id DESC")
+    List<InterviewSummary> findHistoryAfter(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id, Limit limit);
 
     Long countByUserId(Long userId);
+
+    // Which of the given interviews are done waiting for feedback; rows without a status predate the queue
+    @Query("SELECT i.id FROM Interview i WHERE i.id IN :ids AND (i.feedbackStatus IS NULL OR i.feedbackStatus <> :pending)")
+    List<Long> findFinishedIds(@Param("ids") Collection<Long> ids, @Param("pending") Interview.FeedbackStatus pending);
+
+    interface InterviewSummary {
+        Long getId();
+
+        Interview.InterviewType getType();
+
+        Integer getScore();
+
+        Interview.FeedbackStatus getFeedbackStatus();
+
+        LocalDateTime getCreatedAt();
+    }
 }
@@ -0,0 +1,23 @@
+package com.codifyme.repository;
+
+import com.codifyme.model.LegacyTaskId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface LegacyTaskIdRepository extends JpaRepository<LegacyTaskId, Long> {
+
+    List<LegacyTaskId> findByRoadmapId(Long roadmapId);
+
+    // Once a roadmap's tasks are replaced the old ids name tasks that no longer exist
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM LegacyTaskId l WHERE l.roadmapId = :roadmapId")
+    int deleteByRoadmapId(@Param("roadmapId") Long roadmapId);
+}
@@ -0,0 +1,16 @@
+package com.codifyme.repository;
+
+import com.codifyme.model.ResumeAnalysis;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ResumeAnalysisRepository extends JpaRepository<ResumeAnalysis, Long> {
+
+    @Query("SELECT a.resultJson FROM ResumeAnalysis a WHERE a.contentHash = :contentHash AND a.jdHash = :jdHash")
+    Optional<String> findResult(@Param("contentHash") String contentHash, @Param("jdHash") String jdHash);
+}
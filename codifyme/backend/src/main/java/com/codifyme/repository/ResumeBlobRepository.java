@@ -0,0 +1,38 @@
+package com.codifyme.repository;
+
+import com.codifyme.model.ResumeBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ResumeBlobRepository extends JpaRepository<ResumeBlob, Long> {
+
+    Optional<ResumeBlob> findByContentHash(String contentHash);
+
+    // Counts are adjusted in SQL so concurrent attaches never lose an update
+    @Modifying
+    @Transactional
+    @Query("UPDATE ResumeBlob b SET b.refCount = b.refCount + :delta WHERE b.contentHash = :hash")
+    int adjustRefCount(@Param("hash") String contentHash, @Param("delta") int delta);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ResumeBlob b SET b.lastUploadedAt = :now WHERE b.contentHash = :hash")
+    int touch(@Param("hash") String contentHash, @Param("now") LocalDateTime now);
+
+    List<ResumeBlob> findByRefCountLessThanEqualAndLastUploadedAtBefore(int refCount, LocalDateTime cutoff);
+
+    // Guarded delete: a blob re-attached or re-uploaded since it was selected for sweeping is kept
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ResumeBlob b WHERE b.id = :id AND b.refCount <= 0 AND b.lastUploadedAt < :cutoff")
+    int deleteIfUnreferenced(@Param("id") Long id, @Param("cutoff") LocalDateTime cutoff);
+}
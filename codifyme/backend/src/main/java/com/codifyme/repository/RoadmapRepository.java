@@ -1,15 +1,128 @@
 package com.codifyme.repository;
 
 import com.codifyme.model.Roadmap;
+import com.codifyme.model.TaskPlan;
+import com.codifyme.model.TaskProgress;
+import com.codifyme.model.TaskVersions;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface RoadmapRepository extends JpaRepository<Roadmap, Long> {
+public interface RoadmapRepository extends JpaRepository<Roadmap, Long>, RoadmapRepositoryCustom {
 
     List<Roadmap> findByUserId(Long userId);
 
     Long countByUserId(Long userId);
+
+    // List view: the roadmap's own columns plus its plan's task count and progress bitset,
+    // never touching the plan or job description columns
+    @Query(value = "SELECT r.id AS id, r.title AS title, r.status AS status, r.targetDate AS targetDate, " +
+            "COALESCE(p.taskCount, 0) AS totalTasks, r.taskProgress AS taskProgress " +
+            "FROM Roadmap r LEFT JOIN r.taskPlan p " +
+            "WHERE r.user.id = :userId",
+            countQuery = "SELECT COUNT(r) FROM Roadmap r WHERE r.user.id = :userId")
+    Page<RoadmapSummary> findSummariesByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // Only the columns the similarity index needs, newest first; the plan itself is fetched on a hit
+    @Query("SELECT r.id AS id, r.jobDescription AS jobDescription, r.targetDays AS targetDays, r.skills AS skills " +
+            "FROM Roadmap r WHERE r.aiGeneratedPlan IS NOT NULL AND r.targetDays IS NOT NULL ORDER BY r.id DESC")
+    List<SimilaritySource> findSimilaritySources(Pageable pageable);
+
+    @Query("SELECT r.aiGeneratedPlan FROM Roadmap r WHERE r.id = :id")
+    String findPlanById(@Param("id") Long id);
+
+    @Query("SELECT r.id AS roadmapId, r.user.id AS userId, r.taskPlan.id AS taskPlanId, " +
+            "COALESCE(p.taskCount, 0) AS taskCount, r.taskProgress AS taskProgress, " +
+            "r.taskVersions AS taskVersions, r.version AS version " +
+            "FROM Roadmap r LEFT JOIN r.taskPlan p WHERE r.id IN :ids")
+    List<ProgressState> findProgressStates(@Param("ids") Collection<Long> ids);
+
+    // Same as findProgressStates but locks the roadmap rows, in id order, until the transaction
+    // ends. Writers of progress read through this, so a toggle waits for a concurrent one on the
+    // same roadmap instead of failing, and only a stale per-task version is a conflict.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r.id AS roadmapId, r.user.id AS userId, r.taskPlan.id AS taskPlanId, " +
+            "COALESCE(p.taskCount, 0) AS taskCount, r.taskProgress AS taskProgress, " +
+            "r.taskVersions AS taskVersions, r.version AS version " +
+            "FROM Roadmap r LEFT JOIN r.taskPlan p WHERE r.id IN :ids ORDER BY r.id")
+    List<ProgressState> findProgressStatesForUpdate(@Param("ids") Collection<Long> ids);
+
+    // Compare-and-set on the roadmap version, so concurrent toggles never overwrite each other's bits
+    @Modifying
+    @Transactional
+    @Query("UPDATE Roadmap r SET r.taskProgress = :progress, r.taskVersions = :versions, r.version = r.version + 1 " +
+            "WHERE r.id = :id AND r.version = :version")
+    int updateProgress(@Param("id") Long id, @Param("progress") TaskProgress progress,
+            @Param("versions") TaskVersions versions, @Param("version") long version);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Roadmap r SET r.taskPlan = :plan, r.taskVersions = :versions, r.version = r.version + 1 " +
+            "WHERE r.id = :id AND r.version = :version")
+    int updateTaskPlan(@Param("id") Long id, @Param("plan") TaskPlan plan, @Param("versions") TaskVersions versions,
+            @Param("version") long version);
+
+    interface SimilaritySource {
+        Long getId();
+
+        String getJobDescription();
+
+        Integer getTargetDays();
+
+        String getSkills();
+    }
+
+    interface RoadmapSummary {
+        Long getId();
+
+        String getTitle();
+
+        Roadmap.RoadmapStatus getStatus();
+
+        LocalDate getTargetDate();
+
+        Integer getTotalTasks();
+
+        TaskProgress getTaskProgress();
+
+        default long getCompletedTasks() {
+            return getTaskProgress() != null ? getTaskProgress().completedCount() : 0;
+        }
+    }
+
+    interface ProgressState {
+        Long getRoadmapId();
+
+        Long getUserId();
+
+        Long getTaskPlanId();
+
+        Integer getTaskCount();
+
+        TaskProgress getTaskProgress();
+
+        TaskVersions getTaskVersions();
+
+        Long getVersion();
+
+        default TaskProgress progress() {
+            return getTaskProgress() != null ? getTaskProgress() : TaskProgress.empty();
+        }
+
+        default TaskVersions versions() {
+            return getTaskVersions() != null ? getTaskVersions() : TaskVersions.empty();
+        }
+    }
 }
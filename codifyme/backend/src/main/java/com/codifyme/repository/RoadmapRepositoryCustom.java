@@ -0,0 +1,12 @@
+package com.codifyme.repository;
+
+import java.util.Optional;
+
+public interface RoadmapRepositoryCustom {
+
+    // The stored gzip bytes of the plan, bypassing the converter so they can be sent as-is
+    Optional<CompressedPlan> findCompressedPlanById(Long id);
+
+    record CompressedPlan(Long userId, byte[] plan) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.codifyme.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.util.List;
+import java.util.Optional;
+
+public class RoadmapRepositoryImpl implements RoadmapRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<CompressedPlan> findCompressedPlanById(Long id) {
+        // Scalar types are fixed so the BLOB always comes back as byte[], whatever the driver reports
+        List<Object[]> rows = entityManager
+                .createNativeQuery("SELECT user_id, ai_generated_plan_gz FROM roadmaps WHERE id = :id")
+                .unwrap(NativeQuery.class)
+                .addScalar("user_id", StandardBasicTypes.LONG)
+                .addScalar("ai_generated_plan_gz", StandardBasicTypes.BINARY)
+                .setParameter("id", id)
+                .getResultList();
+        return rows.stream()
+                .findFirst()
+                .map(row -> new CompressedPlan((Long) row[0], (byte[]) row[1]));
+    }
+}
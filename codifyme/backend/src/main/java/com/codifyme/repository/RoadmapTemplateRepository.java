@@ -0,0 +1,9 @@
+package com.codifyme.repository;
+
+import com.codifyme.model.RoadmapTemplate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RoadmapTemplateRepository extends JpaRepository<RoadmapTemplate, Long> {
+}
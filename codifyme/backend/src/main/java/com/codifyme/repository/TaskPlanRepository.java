@@ -0,0 +1,13 @@
+package com.codifyme.repository;
+
+import com.codifyme.model.TaskPlan;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface TaskPlanRepository extends JpaRepository<TaskPlan, Long> {
+
+    Optional<TaskPlan> findByContentHash(String contentHash);
+}
@@ -3,9 +3,11 @@ package com.codifyme.security.services;
 import com.codifyme.model.User;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 
 public class UserDetailsImpl implements UserDetails {
@@ -32,11 +34,15 @@ public class UserDetailsImpl implements UserDetails {
   }
 
   public static UserDetailsImpl build(User user) {
+    // Regular users carry no authorities; admins get ROLE_ADMIN for the metrics endpoints
+    List<GrantedAuthority> authorities = user.getRole() == User.Role.ADMIN
+        ? List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))
+        : List.of();
     return new UserDetailsImpl(
         user.getId(),
         user.getEmail(),
         user.getPasswordHash(),
-        new java.util.ArrayList<>()); // Empty authorities list
+        authorities);
   }
 
   @Override
@@ -3,10 +3,27 @@ package com.codifyme.service;
 import com.codifyme.model.Roadmap;
 import com.codifyme.payload.request.RoadmapGenerationRequest;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
 public interface AIService {
     String generateRoadmapPlan(RoadmapGenerationRequest request);
 
-    String generateInterviewFeedback(String transcript, String jobRole);
-
     String analyzeResume(String resumeContent);
+
+    // Non-blocking variants: the HTTP call runs on OkHttp's dispatcher, not the caller's thread
+    CompletableFuture<String> generateRoadmapPlanAsync(RoadmapGenerationRequest request);
+
+    CompletableFuture<String> generateInterviewFeedbackAsync(String transcript, String jobRole);
+
+    // Like generateInterviewFeedbackAsync but fails instead of substituting the fallback feedback
+    CompletableFuture<String> tryGenerateInterviewFeedbackAsync(String transcript, String jobRole);
+
+    CompletableFuture<String> analyzeResumeAsync(String resumeContent);
+
+    // Streams the roadmap JSON to onTextChunk as Gemini generates it; completes with the full text
+    CompletableFuture<String> streamRoadmapPlan(RoadmapGenerationRequest request, Consumer<String> onTextChunk);
+
+    // True when the response is the canned fallback rather than real model output
+    boolean isFallbackResponse(String response);
 }
@@ -6,5 +6,8 @@ public interface CrackScoreService {
 
     CrackScoreResponse calculateCrackScore(Long userId);
 
+    // Cached read for the dashboard; calculateCrackScore always recomputes
+    CrackScoreResponse getCrackScore(Long userId);
+
     void updateCrackScore(Long userId);
 }
@@ -0,0 +1,32 @@
+package com.codifyme.service;
+
+import com.codifyme.model.TaskPlan;
+import com.codifyme.payload.request.TaskBulkUpdateRequest;
+import com.codifyme.payload.request.TaskCreateRequest;
+import com.codifyme.payload.response.DailyTaskResponse;
+import com.codifyme.payload.response.TaskBulkUpdateResponse;
+
+import java.util.List;
+
+public interface DailyTaskService {
+    // Shared plan holding exactly these tasks, created on first use; null for no tasks
+    TaskPlan findOrCreatePlan(List<TaskPlan.Task> tasks);
+
+    // Points a roadmap at new tasks and plan text unless the user has already completed any task
+    boolean replaceUnstartedTasks(Long roadmapId, List<TaskPlan.Task> tasks, String planJson);
+
+    // Tasks of one of the user's roadmaps ordered by (dayNumber, id), with their completion state
+    List<DailyTaskResponse> getTasks(Long userId, Long roadmapId);
+
+    // Up to limit tasks after the given (dayNumber, id) key; a null key starts from the first task
+    List<DailyTaskResponse> getTasksAfter(Long userId, Long roadmapId, Integer afterDayNumber, Long afterId, int limit);
+
+    DailyTaskResponse setCompletion(Long userId, Long taskId, boolean completed);
+
+    // Applies many completion changes in one transaction, all or nothing, and returns the
+    // new versions with the progress of every roadmap touched
+    TaskBulkUpdateResponse updateCompletion(Long userId, List<TaskBulkUpdateRequest.TaskChange> changes);
+
+    // Appends a task to one of the user's roadmaps; the roadmap moves to a copy of its plan
+    DailyTaskResponse addTask(Long userId, TaskCreateRequest request);
+}
@@ -3,10 +3,21 @@ package com.codifyme.service;
 import com.codifyme.model.Interview;
 import com.codifyme.payload.request.InterviewRequest;
 import com.codifyme.payload.response.InterviewResponse;
+import com.codifyme.repository.InterviewRepository;
 
 public interface InterviewService {
 
-    InterviewResponse submitInterview(InterviewRequest request, Long userId);
+    // Persists the transcript and queues feedback generation; returns immediately with a PENDING interview
+    InterviewResponse enqueueInterview(InterviewRequest request, Long userId);
+
+    InterviewResponse completeFeedback(Long interviewId, String feedbackJson);
+
+    InterviewResponse failFeedback(Long interviewId);
+
+    InterviewResponse toResponse(Interview interview);
+
+    // History rows carry no feedback; clients fetch GET /{id} for it
+    InterviewResponse toResponse(InterviewRepository.InterviewSummary summary);
 
     Interview getInterviewById(Long id);
 }
@@ -0,0 +1,10 @@
+package com.codifyme.service;
+
+// Thrown when the requested resource does not exist or belongs to another user; controllers
+// map it to 404. Other failures propagate and surface as 500.
+public class ResourceNotFoundException extends RuntimeException {
+
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,22 @@
+package com.codifyme.service;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+public interface ResumeService {
+    // Spools the upload to disk, extracts its text off the request thread and returns the
+    // analysis JSON (atsScore, status, feedback, summary) scored against the user's target job
+    CompletableFuture<String> analyzeResume(MultipartFile file, Long userId);
+
+    // Scores resume text that is already in memory; jobDescription may be null
+    String analyzeText(String resumeContent, String jobDescription);
+
+    // Scores every uploaded resume (or every resume inside uploaded .zip files) against one job
+    // description. Each result is handed to onResult as a JSON line as soon as it is ready;
+    // completes with the number of resumes processed
+    CompletableFuture<Integer> analyzeBatch(List<MultipartFile> files, String jobDescription,
+            Consumer<String> onResult);
+}
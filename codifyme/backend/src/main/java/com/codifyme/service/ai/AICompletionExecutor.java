@@ -0,0 +1,47 @@
+package com.codifyme.service.ai;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs the database work that follows an AI call (saving a generated roadmap and its tasks).
+// Gemini futures complete on OkHttp dispatcher threads or the shared CompletableFuture delayer
+// when a timeout fires; blocking those on JDBC would stall every other call and timeout, so
+// continuations hop here. Sized to the connection pool, since more threads would only queue
+// for a connection; the queue is bounded in practice by the AI bulkheads.
+@Component
+public class AICompletionExecutor implements Executor {
+
+    @Value("${ai.completion.threads:${spring.datasource.hikari.maximum-pool-size:10}}")
+    private int threads;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "ai-completion-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        executor.execute(command);
+    }
+}
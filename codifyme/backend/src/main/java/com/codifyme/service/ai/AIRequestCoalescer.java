@@ -0,0 +1,92 @@
+package com.codifyme.service.ai;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Single-flight layer: concurrent callers with the same prompt fingerprint share one
+// in-flight Gemini request instead of each firing their own.
+@Component
+public class AIRequestCoalescer {
+
+    // How long a caller waits on a shared request before detaching from it
+    @Value("${ai.coalesce.wait-timeout-seconds:90}")
+    private long waitTimeoutSeconds;
+
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong leaders = new AtomicLong();
+    private final AtomicLong followers = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicInteger maxWaiters = new AtomicInteger();
+
+    public CompletableFuture<String> execute(String key, Supplier<CompletableFuture<String>> call) {
+        InFlight created = new InFlight();
+        InFlight existing = inFlight.putIfAbsent(key, created);
+        InFlight flight = existing != null ? existing : created;
+
+        int waiters = flight.waiters.incrementAndGet();
+        maxWaiters.accumulateAndGet(waiters, Math::max);
+
+        if (existing == null) {
+            leaders.incrementAndGet();
+            CompletableFuture<String> source;
+            try {
+                source = call.get();
+            } catch (RuntimeException e) {
+                source = CompletableFuture.failedFuture(e);
+            }
+            source.whenComplete((text, error) -> {
+                inFlight.remove(key, created);
+                if (error != null) {
+                    created.result.completeExceptionally(error);
+                } else {
+                    created.result.complete(text);
+                }
+            });
+        } else {
+            followers.incrementAndGet();
+        }
+
+        // Each waiter gets its own copy so a timeout detaches only that waiter,
+        // while the shared request keeps running for everyone else
+        return flight.result.copy()
+                .orTimeout(waitTimeoutSeconds, TimeUnit.SECONDS)
+                .whenComplete((text, error) -> {
+                    flight.waiters.decrementAndGet();
+                    if (error instanceof TimeoutException) {
+                        timeouts.incrementAndGet();
+                    }
+                });
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Integer> waitersByKey = new HashMap<>();
+        // Abbreviated fingerprints are enough to tell hot prompts apart
+        inFlight.forEach((key, flight) -> waitersByKey.put(key.substring(0, Math.min(12, key.length())),
+                flight.waiters.get()));
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("inFlight", inFlight.size());
+        stats.put("waitersByKey", waitersByKey);
+        stats.put("leaders", leaders.get());
+        stats.put("coalesced", followers.get());
+        stats.put("timeouts", timeouts.get());
+        stats.put("maxWaitersObserved", maxWaiters.get());
+        return stats;
+    }
+
+    private static class InFlight {
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+        private final AtomicInteger waiters = new AtomicInteger();
+    }
+}
@@ -0,0 +1,255 @@
+package com.codifyme.service.ai;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Isolation layer around calls to the AI provider:
+// - a bulkhead per operation so one slow feature cannot take every thread,
+// - a circuit breaker that fails fast while the provider is unhealthy,
+// - an AIMD concurrency limit that shrinks when latency climbs above its baseline.
+// Rejected calls fail immediately so callers can serve their fallback response.
+@Component
+public class AIResilienceGuard {
+
+    public enum Operation {
+        ROADMAP, INTERVIEW
+    }
+
+    public enum CircuitState {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    @Value("${ai.resilience.bulkhead.roadmap:32}")
+    private int roadmapBulkhead;
+
+    @Value("${ai.resilience.bulkhead.interview:32}")
+    private int interviewBulkhead;
+
+    @Value("${ai.resilience.breaker.window-size:20}")
+    private int windowSize;
+
+    @Value("${ai.resilience.breaker.minimum-calls:10}")
+    private int minimumCalls;
+
+    @Value("${ai.resilience.breaker.failure-rate-threshold:50}")
+    private int failureRateThreshold;
+
+    @Value("${ai.resilience.breaker.open-duration-seconds:30}")
+    private long openDurationSeconds;
+
+    @Value("${ai.resilience.limiter.initial-limit:20}")
+    private int initialLimit;
+
+    @Value("${ai.resilience.limiter.min-limit:2}")
+    private int minLimit;
+
+    @Value("${ai.resilience.limiter.max-limit:128}")
+    private int maxLimit;
+
+    // A sample slower than baseline * tolerance counts as congestion
+    @Value("${ai.resilience.limiter.latency-tolerance:2.0}")
+    private double latencyTolerance;
+
+    private final Map<Operation, Semaphore> bulkheads = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> bulkheadRejections = new EnumMap<>(Operation.class);
+
+    // Circuit breaker state, guarded by "this"
+    private boolean[] outcomes;
+    private int outcomeIndex = 0;
+    private int recordedCalls = 0;
+    private int failedCalls = 0;
+    private CircuitState state = CircuitState.CLOSED;
+    private long openedAt = 0;
+    private boolean probeInFlight = false;
+
+    // Concurrency limiter state, guarded by "this"
+    private double limit;
+    private int inFlight = 0;
+    private double baselineLatencyMs = 0;
+
+    private final AtomicLong shortCircuited = new AtomicLong();
+    private final AtomicLong limiterRejections = new AtomicLong();
+    private final AtomicLong successes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        bulkheads.put(Operation.ROADMAP, new Semaphore(roadmapBulkhead));
+        bulkheads.put(Operation.INTERVIEW, new Semaphore(interviewBulkhead));
+        for (Operation operation : Operation.values()) {
+            bulkheadRejections.put(operation, new AtomicLong());
+        }
+        outcomes = new boolean[windowSize];
+        limit = initialLimit;
+    }
+
+    public <T> CompletableFuture<T> execute(Operation operation, Supplier<CompletableFuture<T>> call) {
+        if (!acquirePermission()) {
+            shortCircuited.incrementAndGet();
+            return CompletableFuture.failedFuture(new RejectedExecutionException("AI circuit breaker is open"));
+        }
+
+        Semaphore bulkhead = bulkheads.get(operation);
+        if (!bulkhead.tryAcquire()) {
+            bulkheadRejections.get(operation).incrementAndGet();
+            releaseProbe();
+            return CompletableFuture.failedFuture(
+                    new RejectedExecutionException("AI bulkhead full for " + operation));
+        }
+
+        if (!tryAcquireLimit()) {
+            limiterRejections.incrementAndGet();
+            bulkhead.release();
+            releaseProbe();
+            return CompletableFuture.failedFuture(new RejectedExecutionException("AI concurrency limit reached"));
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<T> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+
+        return result.whenComplete((value, error) -> {
+            bulkhead.release();
+            long latencyMs = (System.nanoTime() - start) / 1_000_000;
+            onComplete(error == null, latencyMs);
+        });
+    }
+
+    public synchronized CircuitState getState() {
+        return state;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> bulkheadStats = new HashMap<>();
+        for (Operation operation : Operation.values()) {
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("available", bulkheads.get(operation).availablePermits());
+            entry.put("rejected", bulkheadRejections.get(operation).get());
+            bulkheadStats.put(operation.name().toLowerCase(), entry);
+        }
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("bulkheads", bulkheadStats);
+        stats.put("successes", successes.get());
+        stats.put("failures", failures.get());
+        synchronized (this) {
+            Map<String, Object> breaker = new HashMap<>();
+            breaker.put("state", state.name());
+            breaker.put("failureRate", recordedCalls == 0 ? 0.0 : 100.0 * failedCalls / recordedCalls);
+            breaker.put("shortCircuited", shortCircuited.get());
+            stats.put("circuitBreaker", breaker);
+
+            Map<String, Object> limiter = new HashMap<>();
+            limiter.put("limit", (int) limit);
+            limiter.put("inFlight", inFlight);
+            limiter.put("baselineLatencyMs", Math.round(baselineLatencyMs));
+            limiter.put("rejected", limiterRejections.get());
+            stats.put("concurrencyLimit", limiter);
+        }
+        return stats;
+    }
+
+    private synchronized boolean acquirePermission() {
+        if (state == CircuitState.OPEN) {
+            if (System.currentTimeMillis() - openedAt < openDurationSeconds * 1000) {
+                return false;
+            }
+            state = CircuitState.HALF_OPEN;
+        }
+        if (state == CircuitState.HALF_OPEN) {
+            // Only a single probe call is let through to test the provider
+            if (probeInFlight) {
+                return false;
+            }
+            probeInFlight = true;
+        }
+        return true;
+    }
+
+    private synchronized void releaseProbe() {
+        probeInFlight = false;
+    }
+
+    private synchronized boolean tryAcquireLimit() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    private synchronized void onComplete(boolean success, long latencyMs) {
+        inFlight--;
+        (success ? successes : failures).incrementAndGet();
+
+        // AIMD: grow by roughly one slot per full window of healthy calls, back off by 20%
+        // on failures or when latency drifts well above the observed baseline
+        boolean congested = !success
+                || (baselineLatencyMs > 0 && latencyMs > baselineLatencyMs * latencyTolerance);
+        if (congested) {
+            limit = Math.max(minLimit, limit * 0.8);
+        } else {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+        if (success) {
+            baselineLatencyMs = baselineLatencyMs == 0 ? latencyMs : baselineLatencyMs * 0.95 + latencyMs * 0.05;
+        }
+
+        recordOutcome(success);
+    }
+
+    private void recordOutcome(boolean success) {
+        if (state == CircuitState.HALF_OPEN) {
+            probeInFlight = false;
+            if (success) {
+                resetWindow();
+                state = CircuitState.CLOSED;
+            } else {
+                open();
+            }
+            return;
+        }
+
+        if (recordedCalls == windowSize && outcomes[outcomeIndex]) {
+            failedCalls--;
+        }
+        outcomes[outcomeIndex] = !success;
+        outcomeIndex = (outcomeIndex + 1) % windowSize;
+        recordedCalls = Math.min(windowSize, recordedCalls + 1);
+        if (!success) {
+            failedCalls++;
+        }
+
+        if (state == CircuitState.CLOSED && recordedCalls >= minimumCalls
+                && failedCalls * 100 >= failureRateThreshold * recordedCalls) {
+            open();
+        }
+    }
+
+    private void open() {
+        state = CircuitState.OPEN;
+        openedAt = System.currentTimeMillis();
+        resetWindow();
+    }
+
+    private void resetWindow() {
+        outcomes = new boolean[windowSize];
+        outcomeIndex = 0;
+        recordedCalls = 0;
+        failedCalls = 0;
+    }
+}
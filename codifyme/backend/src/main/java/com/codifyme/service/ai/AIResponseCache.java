@@ -0,0 +1,294 @@
+package com.codifyme.service.ai;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// Content-addressed cache for Gemini responses.
+// Entries are keyed by SHA-256 of (model, normalized prompt) and live in a bounded
+// in-heap LRU map, optionally backed by a directory on disk so they survive restarts.
+// A periodic sweep deletes expired disk entries and trims the directory to disk-max-bytes,
+// oldest written first, so keys that are never asked for again do not pile up.
+@Component
+public class AIResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AIResponseCache.class);
+
+    @Value("${ai.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ai.cache.max-entries:500}")
+    private int maxEntries;
+
+    @Value("${ai.cache.ttl-minutes:1440}")
+    private long ttlMinutes;
+
+    // Leave empty to keep the cache in memory only
+    @Value("${ai.cache.disk-dir:}")
+    private String diskDir;
+
+    // Upper bound on the disk tier; 0 leaves it bounded only by the TTL
+    @Value("${ai.cache.disk-max-bytes:104857600}")
+    private long diskMaxBytes;
+
+    private Path diskPath;
+    private Map<String, CacheEntry> memory;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong diskErrors = new AtomicLong();
+    private final AtomicLong diskExpirations = new AtomicLong();
+    private final AtomicLong diskEvictions = new AtomicLong();
+    private volatile long diskEntries;
+    private volatile long diskBytes;
+
+    @PostConstruct
+    void init() {
+        memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                if (size() > maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        if (diskDir != null && !diskDir.isBlank()) {
+            try {
+                diskPath = Files.createDirectories(Paths.get(diskDir));
+            } catch (IOException e) {
+                logger.error("Disabling disk tier of AI response cache, cannot use {}: {}", diskDir, e.getMessage());
+                diskPath = null;
+            }
+        }
+    }
+
+    public String key(String model, String prompt) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(model.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(normalize(prompt).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public Optional<String> get(String key) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            CacheEntry entry = memory.get(key);
+            if (entry != null) {
+                if (entry.expiresAt > now) {
+                    memoryHits.incrementAndGet();
+                    return Optional.of(entry.value);
+                }
+                memory.remove(key);
+                expirations.incrementAndGet();
+            }
+        }
+
+        String fromDisk = readFromDisk(key, now);
+        if (fromDisk != null) {
+            diskHits.incrementAndGet();
+            synchronized (this) {
+                memory.put(key, new CacheEntry(fromDisk, now + ttlMillis()));
+            }
+            return Optional.of(fromDisk);
+        }
+
+        misses.incrementAndGet();
+        return Optional.empty();
+    }
+
+    public void put(String key, String value) {
+        if (!enabled || value == null) {
+            return;
+        }
+
+        synchronized (this) {
+            memory.put(key, new CacheEntry(value, System.currentTimeMillis() + ttlMillis()));
+        }
+        writeToDisk(key, value);
+    }
+
+    public synchronized void clear() {
+        memory.clear();
+    }
+
+    public Map<String, Object> getStats() {
+        long hits = memoryHits.get() + diskHits.get();
+        long lookups = hits + misses.get();
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("size", size());
+        stats.put("maxEntries", maxEntries);
+        stats.put("diskTier", diskPath != null);
+        stats.put("memoryHits", memoryHits.get());
+        stats.put("diskHits", diskHits.get());
+        stats.put("misses", misses.get());
+        stats.put("hitRatio", lookups == 0 ? 0.0 : (double) hits / lookups);
+        stats.put("evictions", evictions.get());
+        stats.put("expirations", expirations.get());
+        stats.put("diskErrors", diskErrors.get());
+        stats.put("diskEntries", diskEntries);
+        stats.put("diskBytes", diskBytes);
+        stats.put("diskMaxBytes", diskMaxBytes);
+        stats.put("diskExpirations", diskExpirations.get());
+        stats.put("diskEvictions", diskEvictions.get());
+        return stats;
+    }
+
+    @Scheduled(fixedDelayString = "${ai.cache.disk-sweep-interval-ms:600000}")
+    public void sweepDisk() {
+        if (diskPath == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        List<DiskFile> live = new ArrayList<>();
+        try (Stream<Path> files = Files.list(diskPath)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                boolean entry = name.endsWith(".json");
+                if (!entry && !name.endsWith(".tmp")) {
+                    continue;
+                }
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                    long modified = attributes.lastModifiedTime().toMillis();
+                    // Temp files this old were left behind by a write that never finished
+                    if (modified + ttlMillis() <= now) {
+                        if (Files.deleteIfExists(file) && entry) {
+                            diskExpirations.incrementAndGet();
+                        }
+                    } else if (entry) {
+                        live.add(new DiskFile(file, modified, attributes.size()));
+                    }
+                } catch (NoSuchFileException e) {
+                    // Removed by a concurrent read of an expired entry
+                }
+            }
+        } catch (IOException e) {
+            diskErrors.incrementAndGet();
+            logger.warn("Failed to sweep AI response cache directory {}: {}", diskPath, e.getMessage());
+            return;
+        }
+
+        long bytes = live.stream().mapToLong(DiskFile::size).sum();
+        int kept = live.size();
+        if (diskMaxBytes > 0 && bytes > diskMaxBytes) {
+            live.sort(Comparator.comparingLong(DiskFile::modified));
+            for (DiskFile file : live) {
+                if (bytes <= diskMaxBytes) {
+                    break;
+                }
+                try {
+                    Files.deleteIfExists(file.path());
+                    diskEvictions.incrementAndGet();
+                    bytes -= file.size();
+                    kept--;
+                } catch (IOException e) {
+                    diskErrors.incrementAndGet();
+                    logger.warn("Failed to evict cached AI response {}: {}", file.path(), e.getMessage());
+                }
+            }
+        }
+        diskEntries = kept;
+        diskBytes = bytes;
+    }
+
+    private synchronized int size() {
+        return memory.size();
+    }
+
+    // Collapse whitespace so prompts that only differ in spacing or line endings share an entry
+    private String normalize(String prompt) {
+        return prompt == null ? "" : prompt.strip().replaceAll("\\s+", " ");
+    }
+
+    private long ttlMillis() {
+        return ttlMinutes * 60_000L;
+    }
+
+    private String readFromDisk(String key, long now) {
+        if (diskPath == null) {
+            return null;
+        }
+
+        Path file = diskPath.resolve(key + ".json");
+        try {
+            if (!Files.exists(file)) {
+                return null;
+            }
+            if (Files.getLastModifiedTime(file).toMillis() + ttlMillis() <= now) {
+                Files.deleteIfExists(file);
+                expirations.incrementAndGet();
+                return null;
+            }
+            return Files.readString(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            diskErrors.incrementAndGet();
+            logger.warn("Failed to read cached AI response {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, String value) {
+        if (diskPath == null) {
+            return;
+        }
+
+        try {
+            // Write to a temp file first so readers never see a partially written entry
+            Path tmp = Files.createTempFile(diskPath, key, ".tmp");
+            Files.writeString(tmp, value, StandardCharsets.UTF_8);
+            Files.move(tmp, diskPath.resolve(key + ".json"), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            diskErrors.incrementAndGet();
+            logger.warn("Failed to persist AI response {}: {}", key, e.getMessage());
+        }
+    }
+
+    private record CacheEntry(String value, long expiresAt) {
+    }
+
+    private record DiskFile(Path path, long modified, long size) {
+    }
+}
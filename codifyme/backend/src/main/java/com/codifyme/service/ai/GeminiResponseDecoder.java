@@ -0,0 +1,97 @@
+package com.codifyme.service.ai;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+// Streaming codec for the Gemini REST envelope. Only candidates[0].content.parts[0].text is
+// materialized; everything else is skipped token by token without building maps or
+// buffering the body into a String first.
+public final class GeminiResponseDecoder {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private GeminiResponseDecoder() {
+    }
+
+    public static String readCandidateText(InputStream body) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            return readCandidateText(parser);
+        }
+    }
+
+    public static String readCandidateText(String body) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            return readCandidateText(parser);
+        }
+    }
+
+    // {"contents":[{"parts":[{"text":prompt}]}]}
+    public static byte[] writeRequest(String prompt) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(prompt.length() + 64);
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("contents");
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("parts");
+            generator.writeStartObject();
+            generator.writeStringField("text", prompt);
+            generator.writeEndObject();
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+        return out.toByteArray();
+    }
+
+    // Model output is frequently wrapped in a ```json fence; keep only the outermost object
+    public static String stripToJsonObject(String text) {
+        if (text == null) {
+            return null;
+        }
+        int start = text.indexOf('{');
+        int end = text.lastIndexOf('}');
+        return start >= 0 && end > start ? text.substring(start, end + 1) : text;
+    }
+
+    private static String readCandidateText(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return null;
+        }
+        if (!seekField(parser, "candidates") || !enterFirstObject(parser)) {
+            return null;
+        }
+        if (!seekField(parser, "content") || parser.nextToken() != JsonToken.START_OBJECT) {
+            return null;
+        }
+        if (!seekField(parser, "parts") || !enterFirstObject(parser)) {
+            return null;
+        }
+        if (!seekField(parser, "text")) {
+            return null;
+        }
+        return parser.nextToken() == JsonToken.VALUE_STRING ? parser.getText() : null;
+    }
+
+    // Advances within the current object until the named field; its value is the next token
+    private static boolean seekField(JsonParser parser, String name) throws IOException {
+        for (JsonToken token = parser.nextToken(); token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            if (name.equals(parser.currentName())) {
+                return true;
+            }
+            parser.nextToken();
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    private static boolean enterFirstObject(JsonParser parser) throws IOException {
+        return parser.nextToken() == JsonToken.START_ARRAY && parser.nextToken() == JsonToken.START_OBJECT;
+    }
+}
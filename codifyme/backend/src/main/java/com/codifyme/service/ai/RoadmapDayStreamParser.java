@@ -0,0 +1,77 @@
+package com.codifyme.service.ai;
+
+import java.util.function.Consumer;
+
+// Incremental scanner over a roadmap JSON document that arrives in arbitrary text chunks.
+// Every object sitting directly inside an array of the root object (i.e. each entry of
+// "days") is handed to the consumer as soon as its closing brace is seen.
+public class RoadmapDayStreamParser {
+
+    private final Consumer<String> onDay;
+
+    private char[] containers = new char[16];
+    private int depth = 0;
+    private boolean inString = false;
+    private boolean escaped = false;
+    private boolean finished = false;
+    private StringBuilder currentDay;
+
+    public RoadmapDayStreamParser(Consumer<String> onDay) {
+        this.onDay = onDay;
+    }
+
+    public void feed(CharSequence chunk) {
+        for (int i = 0; i < chunk.length() && !finished; i++) {
+            char c = chunk.charAt(i);
+
+            if (currentDay != null) {
+                currentDay.append(c);
+            }
+
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+
+            // Skip anything before the root object, e.g. a ```json fence
+            if (depth == 0 && c != '{') {
+                continue;
+            }
+
+            switch (c) {
+                case '"' -> inString = true;
+                case '{', '[' -> {
+                    if (c == '{' && depth == 2 && containers[1] == '[') {
+                        currentDay = new StringBuilder().append(c);
+                    }
+                    push(c);
+                }
+                case '}', ']' -> {
+                    depth--;
+                    if (c == '}' && depth == 2 && currentDay != null) {
+                        onDay.accept(currentDay.toString());
+                        currentDay = null;
+                    }
+                    finished = depth == 0;
+                }
+                default -> {
+                }
+            }
+        }
+    }
+
+    private void push(char c) {
+        if (depth == containers.length) {
+            char[] grown = new char[containers.length * 2];
+            System.arraycopy(containers, 0, grown, 0, depth);
+            containers = grown;
+        }
+        containers[depth++] = c;
+    }
+}
@@ -0,0 +1,332 @@
+package com.codifyme.service.ai;
+
+import com.codifyme.model.Company;
+import com.codifyme.model.Roadmap;
+import com.codifyme.payload.request.RoadmapGenerationRequest;
+import com.codifyme.repository.CompanyRepository;
+import com.codifyme.repository.RoadmapRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+// Near-duplicate matching of job descriptions so a previously generated plan can be reused
+// when a new request only differs by whitespace, company name or boilerplate.
+//
+// Descriptions are reduced to word 3-gram shingles and summarized by a MinHash signature
+// (long[]). Signatures are split into bands for LSH bucketing; bucket collisions are then
+// verified against the similarity threshold, the requested day count and the skill set.
+// Only the most recent max-entries roadmaps are indexed; the oldest entry is evicted when a
+// new one would exceed that, and startup loads just the most recent ones.
+@Component
+public class RoadmapSimilarityIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoadmapSimilarityIndex.class);
+
+    private static final int NUM_HASHES = 128;
+    private static final int BANDS = 16;
+    private static final int ROWS_PER_BAND = NUM_HASHES / BANDS;
+    private static final int SHINGLE_SIZE = 3;
+
+    @Value("${ai.similarity.enabled:true}")
+    private boolean enabled;
+
+    // Minimum estimated Jaccard similarity between shingle sets for a plan to be reused
+    @Value("${ai.similarity.threshold:0.85}")
+    private double threshold;
+
+    @Value("${ai.similarity.max-entries:10000}")
+    private int maxEntries;
+
+    @Autowired
+    private RoadmapRepository roadmapRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    private final long[] seeds = new long[NUM_HASHES];
+
+    // Oldest first, so eviction takes from the head
+    private final Deque<Entry> entries = new ArrayDeque<>();
+    @SuppressWarnings("unchecked")
+    private final Map<Long, List<Entry>>[] buckets = new Map[BANDS];
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Company names are stripped so "SDE at Google" matches "SDE at Amazon"
+    private volatile Set<String> companyTokens = Set.of();
+
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong candidatesChecked = new AtomicLong();
+    private final AtomicLong totalLookupNanos = new AtomicLong();
+    private final AtomicLong maxLookupNanos = new AtomicLong();
+
+    public RoadmapSimilarityIndex() {
+        // Fixed seed so signatures are stable across restarts
+        SplittableRandom random = new SplittableRandom(0x5EEDL);
+        for (int i = 0; i < NUM_HASHES; i++) {
+            seeds[i] = random.nextLong();
+        }
+        for (int band = 0; band < BANDS; band++) {
+            buckets[band] = new HashMap<>();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        companyTokens = companyRepository.findAll().stream()
+                .map(Company::getName)
+                .flatMap(name -> tokenize(name).stream())
+                .collect(Collectors.toUnmodifiableSet());
+
+        long start = System.nanoTime();
+        // Newest first from the database, inserted oldest first so eviction order matches
+        List<RoadmapRepository.SimilaritySource> sources = roadmapRepository.findSimilaritySources(
+                PageRequest.of(0, Math.max(1, maxEntries)));
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            for (Map<Long, List<Entry>> bucket : buckets) {
+                bucket.clear();
+            }
+            for (int i = sources.size() - 1; i >= 0; i--) {
+                RoadmapRepository.SimilaritySource source = sources.get(i);
+                insert(source.getId(), source.getJobDescription(), source.getTargetDays(), source.getSkills());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Indexed {} roadmaps for plan reuse in {} ms", sources.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public Optional<String> findReusablePlan(RoadmapGenerationRequest request) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        long start = System.nanoTime();
+        lookups.incrementAndGet();
+        try {
+            long[] signature = signature(request.getJobDescription());
+            if (signature == null) {
+                return Optional.empty();
+            }
+            String skillsKey = skillsKey(request.getSkills());
+
+            Entry best = null;
+            double bestSimilarity = threshold;
+            lock.readLock().lock();
+            try {
+                Set<Entry> seen = new HashSet<>();
+                for (int band = 0; band < BANDS; band++) {
+                    List<Entry> bucket = buckets[band].get(bandKey(signature, band));
+                    if (bucket == null) {
+                        continue;
+                    }
+                    for (Entry entry : bucket) {
+                        if (!seen.add(entry) || entry.targetDays != request.getTargetDays()
+                                || !entry.skillsKey.equals(skillsKey)) {
+                            continue;
+                        }
+                        candidatesChecked.incrementAndGet();
+                        double similarity = estimateSimilarity(signature, entry.signature);
+                        if (similarity >= bestSimilarity) {
+                            best = entry;
+                            bestSimilarity = similarity;
+                        }
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            if (best == null) {
+                return Optional.empty();
+            }
+            String plan = roadmapRepository.findPlanById(best.roadmapId);
+            if (plan != null) {
+                hits.incrementAndGet();
+            }
+            return Optional.ofNullable(plan);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            totalLookupNanos.addAndGet(elapsed);
+            maxLookupNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    // Call after a freshly generated (non-fallback) plan has been saved
+    public void add(Roadmap roadmap) {
+        if (!enabled || roadmap.getTargetDays() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            insert(roadmap.getId(), roadmap.getJobDescription(), roadmap.getTargetDays(), roadmap.getSkills());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public static String skillsKey(List<String> skills) {
+        if (skills == null) {
+            return "";
+        }
+        return skills.stream()
+                .map(skill -> skill.trim().toLowerCase(Locale.ROOT))
+                .filter(skill -> !skill.isEmpty())
+                .distinct()
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+
+    public Map<String, Object> getStats() {
+        long lookupCount = lookups.get();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        lock.readLock().lock();
+        try {
+            stats.put("indexedRoadmaps", entries.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+        stats.put("lookups", lookupCount);
+        stats.put("hits", hits.get());
+        stats.put("hitRatio", lookupCount == 0 ? 0.0 : (double) hits.get() / lookupCount);
+        stats.put("candidatesChecked", candidatesChecked.get());
+        stats.put("avgLookupMicros", lookupCount == 0 ? 0.0 : totalLookupNanos.get() / 1_000.0 / lookupCount);
+        stats.put("maxLookupMicros", maxLookupNanos.get() / 1_000.0);
+        return stats;
+    }
+
+    private void insert(Long roadmapId, String jobDescription, Integer targetDays, String skillsKey) {
+        long[] signature = signature(jobDescription);
+        if (signature == null || targetDays == null) {
+            return;
+        }
+        Entry entry = new Entry(roadmapId, signature, targetDays, skillsKey != null ? skillsKey : "");
+        while (entries.size() >= Math.max(1, maxEntries)) {
+            evict(entries.removeFirst());
+        }
+        entries.addLast(entry);
+        for (int band = 0; band < BANDS; band++) {
+            buckets[band].computeIfAbsent(bandKey(signature, band), key -> new ArrayList<>(1)).add(entry);
+        }
+    }
+
+    private void evict(Entry entry) {
+        for (int band = 0; band < BANDS; band++) {
+            long key = bandKey(entry.signature, band);
+            List<Entry> bucket = buckets[band].get(key);
+            if (bucket != null) {
+                bucket.removeIf(candidate -> candidate == entry);
+                if (bucket.isEmpty()) {
+                    buckets[band].remove(key);
+                }
+            }
+        }
+    }
+
+    private long[] signature(String text) {
+        List<String> tokens = tokenize(text);
+        tokens.removeIf(companyTokens::contains);
+        if (tokens.isEmpty()) {
+            return null;
+        }
+
+        long[] signature = new long[NUM_HASHES];
+        Arrays.fill(signature, Long.MAX_VALUE);
+
+        int shingles = Math.max(1, tokens.size() - SHINGLE_SIZE + 1);
+        for (int start = 0; start < shingles; start++) {
+            long shingleHash = 0xcbf29ce484222325L;
+            for (int i = start; i < Math.min(tokens.size(), start + SHINGLE_SIZE); i++) {
+                shingleHash = fnv1a(shingleHash, tokens.get(i));
+            }
+            for (int i = 0; i < NUM_HASHES; i++) {
+                long hash = mix(shingleHash ^ seeds[i]);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    private List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^a-z0-9+#]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static long bandKey(long[] signature, int band) {
+        long key = band;
+        for (int i = band * ROWS_PER_BAND; i < (band + 1) * ROWS_PER_BAND; i++) {
+            key = mix(key * 31 + signature[i]);
+        }
+        return key;
+    }
+
+    private static double estimateSimilarity(long[] a, long[] b) {
+        int equal = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / NUM_HASHES;
+    }
+
+    private static long fnv1a(long hash, String token) {
+        for (int i = 0; i < token.length(); i++) {
+            hash ^= token.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        // Separator so ("ab", "c") and ("a", "bc") hash differently
+        hash ^= ' ';
+        return hash * 0x100000001b3L;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private record Entry(Long roadmapId, long[] signature, int targetDays, String skillsKey) {
+    }
+}
@@ -0,0 +1,307 @@
+package com.codifyme.service.ai;
+
+import com.codifyme.model.Company;
+import com.codifyme.model.RoadmapTemplate;
+import com.codifyme.model.UserProfile.ExperienceLevel;
+import com.codifyme.payload.request.RoadmapGenerationRequest;
+import com.codifyme.repository.CompanyRepository;
+import com.codifyme.repository.RoadmapTemplateRepository;
+import com.codifyme.service.AIService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+// In-memory library of canonical roadmaps for the most requested roles, keyed by
+// role x duration x experience level. Templates are stored in roadmap_templates and loaded at
+// startup. A missing template is generated in the background the first time it is asked for,
+// so only combinations users actually request cost a Gemini call; generating every missing
+// combination at startup is opt-in.
+@Component
+public class RoadmapTemplateLibrary {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoadmapTemplateLibrary.class);
+
+    // Canonical role -> phrases that identify it in a roadmap title
+    private static final Map<String, List<String>> ROLE_ALIASES = new LinkedHashMap<>();
+
+    static {
+        ROLE_ALIASES.put("Software Engineer", List.of("software engineer", "software developer", "sde", "swe",
+                "sde 1", "sde 2", "sde i", "sde ii", "software development engineer"));
+        ROLE_ALIASES.put("Backend Developer", List.of("backend developer", "backend engineer", "back end developer",
+                "java developer", "server side developer"));
+        ROLE_ALIASES.put("Frontend Developer", List.of("frontend developer", "frontend engineer", "front end developer",
+                "react developer", "ui developer", "web developer"));
+        ROLE_ALIASES.put("Full Stack Developer", List.of("full stack developer", "fullstack developer",
+                "full stack engineer", "fullstack engineer", "mern developer"));
+        ROLE_ALIASES.put("Data Analyst", List.of("data analyst", "business analyst", "bi analyst"));
+        ROLE_ALIASES.put("Data Scientist", List.of("data scientist", "data science"));
+        ROLE_ALIASES.put("Data Engineer", List.of("data engineer", "big data engineer", "etl developer"));
+        ROLE_ALIASES.put("Machine Learning Engineer", List.of("machine learning engineer", "ml engineer",
+                "ai engineer", "deep learning engineer"));
+        ROLE_ALIASES.put("DevOps Engineer", List.of("devops engineer", "site reliability engineer", "sre",
+                "cloud engineer", "platform engineer"));
+        ROLE_ALIASES.put("Android Developer", List.of("android developer", "android engineer", "mobile developer"));
+        ROLE_ALIASES.put("iOS Developer", List.of("ios developer", "ios engineer", "swift developer"));
+        ROLE_ALIASES.put("QA Engineer", List.of("qa engineer", "test engineer", "sdet", "automation engineer"));
+        ROLE_ALIASES.put("Security Engineer", List.of("security engineer", "cybersecurity analyst",
+                "security analyst"));
+        ROLE_ALIASES.put("Product Manager", List.of("product manager", "associate product manager", "apm"));
+    }
+
+    @Value("${roadmap.templates.enabled:true}")
+    private boolean enabled;
+
+    // Only these day counts have templates; other durations always go to Gemini
+    @Value("${roadmap.templates.durations:30,60,90}")
+    private List<Integer> durations;
+
+    // Regenerate a plan for the exact request after serving the template
+    @Value("${roadmap.templates.personalize:false}")
+    private boolean personalize;
+
+    // Generate every missing combination at startup
+    @Value("${roadmap.templates.generate-missing:false}")
+    private boolean generateMissing;
+
+    @Value("${roadmap.templates.generate-on-demand:true}")
+    private boolean generateOnDemand;
+
+    // Stop warming after this many fallback responses in a row (e.g. no API key configured)
+    @Value("${roadmap.templates.max-consecutive-failures:3}")
+    private int maxConsecutiveFailures;
+
+    @Autowired
+    private RoadmapTemplateRepository templateRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private AIService aiService;
+
+    private final Map<TemplateKey, String> templates = new ConcurrentHashMap<>();
+
+    // Keys handed to the warmer since startup, so each missing template is generated at most once
+    private final Set<TemplateKey> requested = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService warmer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "roadmap-template-warmer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Set<String> companyNames = Set.of();
+
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong generated = new AtomicLong();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+
+        companyNames = companyRepository.findAll().stream()
+                .map(Company::getName)
+                .map(name -> normalize(name).trim())
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+
+        for (RoadmapTemplate template : templateRepository.findAll()) {
+            templates.put(new TemplateKey(template.getRoleKey(), template.getDurationDays(),
+                    template.getExperienceLevel()), template.getPlan());
+        }
+        logger.info("Loaded {} roadmap templates", templates.size());
+
+        if (generateMissing) {
+            warmer.submit(this::generateMissingTemplates);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        warmer.shutdownNow();
+    }
+
+    // profileLevel is used when the request does not state a skill level itself; may be null
+    public Optional<String> findTemplate(RoadmapGenerationRequest request, ExperienceLevel profileLevel) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        lookups.incrementAndGet();
+
+        String role = resolveRole(request.getTitle());
+        if (role == null) {
+            return Optional.empty();
+        }
+        ExperienceLevel level = resolveLevel(request.getCurrentSkillLevel(), profileLevel);
+        TemplateKey key = new TemplateKey(role, request.getTargetDays(), level);
+        String plan = templates.get(key);
+        if (plan != null) {
+            hits.incrementAndGet();
+        } else if (generateOnDemand && durations.contains(key.days()) && requested.add(key)) {
+            // This request goes to Gemini as usual; later ones for the same key get the template
+            warmer.submit(() -> generateTemplate(key));
+        }
+        return Optional.ofNullable(plan);
+    }
+
+    public boolean isPersonalizeEnabled() {
+        return personalize;
+    }
+
+    public Map<String, Object> getStats() {
+        long lookupCount = lookups.get();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("templates", templates.size());
+        stats.put("expectedTemplates", ROLE_ALIASES.size() * durations.size() * ExperienceLevel.values().length);
+        stats.put("generated", generated.get());
+        stats.put("lookups", lookupCount);
+        stats.put("hits", hits.get());
+        stats.put("hitRatio", lookupCount == 0 ? 0.0 : (double) hits.get() / lookupCount);
+        return stats;
+    }
+
+    private void generateMissingTemplates() {
+        List<TemplateKey> missing = new ArrayList<>();
+        for (String role : ROLE_ALIASES.keySet()) {
+            for (Integer days : durations) {
+                for (ExperienceLevel level : ExperienceLevel.values()) {
+                    TemplateKey key = new TemplateKey(role, days, level);
+                    if (!templates.containsKey(key)) {
+                        missing.add(key);
+                    }
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        logger.info("Generating {} missing roadmap templates", missing.size());
+
+        int consecutiveFailures = 0;
+        for (TemplateKey key : missing) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            if (!requested.add(key)) {
+                continue;
+            }
+            if (generateTemplate(key)) {
+                consecutiveFailures = 0;
+            } else if (++consecutiveFailures >= maxConsecutiveFailures) {
+                logger.warn("Stopping roadmap template generation after {} failed attempts", consecutiveFailures);
+                return;
+            }
+        }
+    }
+
+    // Runs on the warmer thread, one template at a time, so warming never competes with user
+    // traffic for Gemini capacity. False if Gemini gave no usable plan.
+    private boolean generateTemplate(TemplateKey key) {
+        if (templates.containsKey(key)) {
+            return true;
+        }
+        try {
+            String plan = aiService.generateRoadmapPlanAsync(templateRequest(key)).join();
+            if (aiService.isFallbackResponse(plan)) {
+                return false;
+            }
+
+            RoadmapTemplate template = new RoadmapTemplate();
+            template.setRoleKey(key.role());
+            template.setDurationDays(key.days());
+            template.setExperienceLevel(key.level());
+            template.setPlan(plan);
+            templateRepository.save(template);
+            templates.put(key, plan);
+            generated.incrementAndGet();
+            return true;
+        } catch (Exception e) {
+            logger.error("Error generating roadmap template {}: {}", key, e.getMessage());
+            return false;
+        }
+    }
+
+    private RoadmapGenerationRequest templateRequest(TemplateKey key) {
+        String level = key.level().name().toLowerCase(Locale.ROOT);
+        RoadmapGenerationRequest request = new RoadmapGenerationRequest();
+        request.setTitle(key.role());
+        request.setJobDescription("General interview preparation for a " + level + " " + key.role()
+                + " position at a leading technology company. Cover the core technical skills, "
+                + "problem solving, system design appropriate to the level, and interview practice.");
+        request.setCurrentSkillLevel(level);
+        request.setTargetDays(key.days());
+        request.setSkills(List.of());
+        return request;
+    }
+
+    private String resolveRole(String title) {
+        String normalized = normalize(title);
+        for (String company : companyNames) {
+            normalized = normalized.replace(" " + company + " ", " ");
+        }
+
+        // Longest matching alias wins, so "full stack developer" beats "developer"-style overlaps
+        String bestRole = null;
+        int bestLength = 0;
+        for (Map.Entry<String, List<String>> role : ROLE_ALIASES.entrySet()) {
+            for (String alias : role.getValue()) {
+                if (alias.length() > bestLength && normalized.contains(" " + alias + " ")) {
+                    bestRole = role.getKey();
+                    bestLength = alias.length();
+                }
+            }
+        }
+        return bestRole;
+    }
+
+    private static ExperienceLevel resolveLevel(String skillLevel, ExperienceLevel profileLevel) {
+        if (skillLevel != null) {
+            String level = skillLevel.trim().toLowerCase(Locale.ROOT);
+            if (level.startsWith("beginner") || level.startsWith("junior") || level.startsWith("fresher")) {
+                return ExperienceLevel.BEGINNER;
+            }
+            if (level.startsWith("intermediate") || level.startsWith("mid")) {
+                return ExperienceLevel.INTERMEDIATE;
+            }
+            if (level.startsWith("advanced") || level.startsWith("pro") || level.startsWith("senior")) {
+                return ExperienceLevel.PRO;
+            }
+        }
+        return profileLevel != null ? profileLevel : ExperienceLevel.INTERMEDIATE;
+    }
+
+    // Lowercase, punctuation to spaces, padded so aliases can be matched on word boundaries
+    private static String normalize(String text) {
+        if (text == null) {
+            return " ";
+        }
+        String words = text.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", " ").trim();
+        return " " + words + " ";
+    }
+
+    private record TemplateKey(String role, int days, ExperienceLevel level) {
+    }
+}
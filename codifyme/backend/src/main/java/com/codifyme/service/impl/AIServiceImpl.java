@@ -2,29 +2,184 @@ package com.codifyme.service.impl;
 
 import com.codifyme.payload.request.RoadmapGenerationRequest;
 import com.codifyme.service.AIService;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.codifyme.service.ResumeService;
+import com.codifyme.service.ai.AIRequestCoalescer;
+import com.codifyme.service.ai.AIResilienceGuard;
+import com.codifyme.service.ai.AIResilienceGuard.Operation;
+import com.codifyme.service.ai.GeminiResponseDecoder;
+import com.codifyme.service.ai.AIResponseCache;
 import okhttp3.*;
+import okio.BufferedSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 
 @Service
 public class AIServiceImpl implements AIService {
 
+    private static final Logger logger = LoggerFactory.getLogger(AIServiceImpl.class);
+
+    private static final String FALLBACK_ROADMAP = """
+            {
+                "title": "Generated Learning Roadmap",
+                "days": [
+                    {
+                        "day": 1,
+                        "topic": "Introduction & Fundamentals",
+                        "tasks": ["Review job requirements", "Setup development environment", "Study core concepts"]
+                    },
+                    {
+                        "day": 2,
+                        "topic": "Core Technologies",
+                        "tasks": ["Practice coding problems", "Build sample project", "Review documentation"]
+                    },
+                    {
+                        "day": 3,
+                        "topic": "Advanced Topics",
+                        "tasks": ["System design practice", "Mock interviews", "Portfolio preparation"]
+                    }
+                ]
+            }
+            """;
+
+    private static final String FALLBACK_INTERVIEW_FEEDBACK = """
+            {
+                "score": 70,
+                "strengths": ["Good communication", "Technical knowledge"],
+                "weaknesses": ["Need more practice with system design", "Could improve problem-solving speed"],
+                "recommendations": ["Practice more coding problems", "Study system design patterns", "Work on communication clarity"],
+                "overallFeedback": "Good performance overall. Continue practicing and refining your technical skills."
+            }
+            """;
+
     @Value("${gemini.api.key}")
     private String geminiApiKey;
 
-    private static final String GEMINI_API_URL = "https://generativelanguage.googleapis.com/v1beta/models/gemini-1.5-flash:generateContent";
-    private final OkHttpClient httpClient = new OkHttpClient();
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    // Overridable so tests and load runs can target a local stand-in server
+    @Value("${gemini.api.base-url:https://generativelanguage.googleapis.com/v1beta}")
+    private String geminiBaseUrl;
+
+    @Value("${gemini.model:gemini-1.5-flash}")
+    private String geminiModel;
+
+    // OkHttp's default dispatcher only allows 5 concurrent calls per host
+    @Value("${ai.http.max-requests:256}")
+    private int maxRequests;
+
+    @Value("${ai.http.max-requests-per-host:256}")
+    private int maxRequestsPerHost;
+
+    @Value("${ai.http.connect-timeout-seconds:5}")
+    private long connectTimeoutSeconds;
+
+    @Value("${ai.http.read-timeout-seconds:60}")
+    private long readTimeoutSeconds;
+
+    // Upper bound for a whole call, including reading a streamed body
+    @Value("${ai.http.call-timeout-seconds:90}")
+    private long callTimeoutSeconds;
+
+    @Autowired
+    private AIResponseCache responseCache;
+
+    @Autowired
+    private AIRequestCoalescer requestCoalescer;
+
+    @Autowired
+    private AIResilienceGuard resilienceGuard;
+
+    @Autowired
+    private ResumeService resumeService;
+
+    private HttpUrl generateContentUrl;
+    private HttpUrl streamGenerateContentUrl;
+    private OkHttpClient httpClient;
+
+    @PostConstruct
+    void init() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(maxRequests);
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+
+        httpClient = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectTimeout(Duration.ofSeconds(connectTimeoutSeconds))
+                .readTimeout(Duration.ofSeconds(readTimeoutSeconds))
+                .callTimeout(Duration.ofSeconds(callTimeoutSeconds))
+                .build();
+
+        String modelUrl = geminiBaseUrl.replaceAll("/+$", "") + "/models/" + geminiModel;
+        generateContentUrl = HttpUrl.get(modelUrl + ":generateContent");
+        streamGenerateContentUrl = HttpUrl.get(modelUrl + ":streamGenerateContent");
+    }
 
     @Override
     public String generateRoadmapPlan(RoadmapGenerationRequest request) {
-        String prompt = String.format(
+        return callGeminiAPI(Operation.ROADMAP, buildRoadmapPrompt(request));
+    }
+
+    @Override
+    public CompletableFuture<String> generateRoadmapPlanAsync(RoadmapGenerationRequest request) {
+        return callGeminiAPIAsync(Operation.ROADMAP, buildRoadmapPrompt(request));
+    }
+
+    @Override
+    public CompletableFuture<String> streamRoadmapPlan(RoadmapGenerationRequest request, Consumer<String> onTextChunk) {
+        String prompt = buildRoadmapPrompt(request);
+        String cacheKey = responseCache.key(geminiModel, prompt);
+        Optional<String> cached = responseCache.get(cacheKey);
+        if (cached.isPresent()) {
+            onTextChunk.accept(cached.get());
+            return CompletableFuture.completedFuture(cached.get());
+        }
+
+        StringBuilder fullText = new StringBuilder();
+        CompletableFuture<String> result = resilienceGuard.execute(Operation.ROADMAP,
+                () -> fetchStreamFromGemini(prompt, cacheKey, fullText, onTextChunk));
+
+        return result.handle((text, error) -> {
+            if (error == null) {
+                return text;
+            }
+            // Fallback can only be substituted if the caller has not seen partial output yet
+            if (fullText.isEmpty()) {
+                logger.error("Gemini stream failed, using fallback response: {}", error.getMessage());
+                String fallback = getFallbackResponse(prompt);
+                onTextChunk.accept(fallback);
+                return fallback;
+            }
+            throw new CompletionException(error);
+        });
+    }
+
+    @Override
+    public CompletableFuture<String> generateInterviewFeedbackAsync(String transcript, String jobRole) {
+        return callGeminiAPIAsync(Operation.INTERVIEW, buildInterviewPrompt(transcript, jobRole));
+    }
+
+    @Override
+    public CompletableFuture<String> tryGenerateInterviewFeedbackAsync(String transcript, String jobRole) {
+        return callGeminiAPIStrict(Operation.INTERVIEW, buildInterviewPrompt(transcript, jobRole));
+    }
+
+    @Override
+    public CompletableFuture<String> analyzeResumeAsync(String resumeContent) {
+        // Resume scoring is computed locally, so there is nothing to wait on
+        return CompletableFuture.completedFuture(analyzeResume(resumeContent));
+    }
+
+    private String buildRoadmapPrompt(RoadmapGenerationRequest request) {
+        return String.format(
                 "Create a detailed %d-day learning roadmap for the following job description:\n\n%s\n\n" +
                         "Target Date: %s\n" +
                         "Skills to Focus: %s\n\n" +
@@ -43,13 +198,10 @@ public class AIServiceImpl implements AIService {
                 request.getJobDescription(),
                 request.getTargetDate() != null ? request.getTargetDate().toString() : "Not specified",
                 request.getSkills() != null ? String.join(", ", request.getSkills()) : "General skills");
-
-        return callGeminiAPI(prompt);
     }
 
-    @Override
-    public String generateInterviewFeedback(String transcript, String jobRole) {
-        String prompt = String.format(
+    private String buildInterviewPrompt(String transcript, String jobRole) {
+        return String.format(
                 "You are an expert technical interviewer. Analyze the following interview transcript for a %s position:\n\n"
                         +
                         "Transcript:\n%s\n\n" +
@@ -63,145 +215,157 @@ public class AIServiceImpl implements AIService {
                         "}",
                 jobRole,
                 transcript);
-
-        return callGeminiAPI(prompt);
     }
 
     @Override
     public String analyzeResume(String resumeContent) {
-        // Simulate AI analysis with dynamic scoring for the "magic" effect
-        int score = 45 + (int) (Math.random() * 45); // Random score between 45 and 90
-        String status = score >= 75 ? "SHORTLISTED" : "REJECTED";
-
-        // Randomize feedback slightly
-        String[] possibleFeedback = {
-                "Missing key technical keywords like 'Microservices' and 'Docker'",
-                "Action verbs are weak. Use 'Architected' instead of 'Worked on'",
-                "Formatting is inconsistent. Fix indentation in Experience section",
-                "Quantify your achievements. Add numbers to your impact.",
-                "Summary section is too generic. Tailor it to the job role.",
-                "Remove the 'References' section to save space."
-        };
-
-        String f1 = possibleFeedback[(int) (Math.random() * possibleFeedback.length)];
-        String f2 = possibleFeedback[(int) (Math.random() * possibleFeedback.length)];
-        while (f1.equals(f2)) {
-            f2 = possibleFeedback[(int) (Math.random() * possibleFeedback.length)];
-        }
-        String f3 = possibleFeedback[(int) (Math.random() * possibleFeedback.length)];
-        while (f3.equals(f1) || f3.equals(f2)) {
-            f3 = possibleFeedback[(int) (Math.random() * possibleFeedback.length)];
+        // Scored locally by the ATS keyword engine; no Gemini call involved
+        return resumeService.analyzeText(resumeContent, null);
+    }
+
+    private String callGeminiAPI(Operation operation, String prompt) {
+        return callGeminiAPIAsync(operation, prompt).join();
+    }
+
+    // Never completes exceptionally: failures resolve to the fallback response
+    private CompletableFuture<String> callGeminiAPIAsync(Operation operation, String prompt) {
+        return callGeminiAPIStrict(operation, prompt)
+                .exceptionally(error -> {
+                    logger.error("Gemini call failed, using fallback response: {}", error.getMessage());
+                    return getFallbackResponse(prompt);
+                });
+    }
+
+    // Completes exceptionally when the provider fails, for callers that retry on their own
+    private CompletableFuture<String> callGeminiAPIStrict(Operation operation, String prompt) {
+        String cacheKey = responseCache.key(geminiModel, prompt);
+        Optional<String> cached = responseCache.get(cacheKey);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached.get());
         }
 
-        return String.format(
-                """
-                        {
-                            "atsScore": %d,
-                            "status": "%s",
-                            "feedback": [
-                                "%s",
-                                "%s",
-                                "%s"
-                            ],
-                            "summary": "Your resume has potential but needs optimization to pass modern ATS scanners. Focus on quantifying impact and using stronger action verbs."
-                        }
-                        """,
-                score, status, f1, f2, f3);
+        // Identical prompts already in flight share that request instead of starting another;
+        // the resilience guard fails fast when the provider is saturated or unhealthy
+        return requestCoalescer.execute(cacheKey, () -> resilienceGuard.execute(operation, () -> fetchFromGemini(prompt))
+                .thenApply(text -> {
+                    // Only real model output is cached, never the fallback
+                    responseCache.put(cacheKey, text);
+                    return text;
+                }));
     }
 
-    private String callGeminiAPI(String prompt) {
+    private CompletableFuture<String> fetchFromGemini(String prompt) {
+        CompletableFuture<String> result = new CompletableFuture<>();
         try {
-            // Prepare request body
-            Map<String, Object> requestBody = new HashMap<>();
-            Map<String, Object> content = new HashMap<>();
-            Map<String, String> part = new HashMap<>();
-            part.put("text", prompt);
-            content.put("parts", List.of(part));
-            requestBody.put("contents", List.of(content));
-
-            String jsonBody = objectMapper.writeValueAsString(requestBody);
-
-            // Build HTTP request
-            Request request = new Request.Builder()
-                    .url(GEMINI_API_URL + "?key=" + geminiApiKey)
-                    .post(RequestBody.create(jsonBody, MediaType.parse("application/json")))
-                    .addHeader("Content-Type", "application/json")
-                    .build();
-
-            // Execute request
-            try (Response response = httpClient.newCall(request).execute()) {
-                if (!response.isSuccessful()) {
-                    throw new IOException("Unexpected response code: " + response);
+            httpClient.newCall(buildGeminiRequest(generateContentUrl.newBuilder()
+                    .addQueryParameter("key", geminiApiKey)
+                    .build(), prompt)).enqueue(new Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    result.completeExceptionally(e);
                 }
 
-                String responseBody = response.body().string();
-                return extractTextFromGeminiResponse(responseBody);
-            }
-
+                @Override
+                public void onResponse(Call call, Response response) {
+                    try (response) {
+                        if (!response.isSuccessful()) {
+                            throw new IOException("Unexpected response code: " + response);
+                        }
+                        // Decode straight off the byte stream instead of buffering the body
+                        result.complete(requireText(GeminiResponseDecoder.readCandidateText(response.body().byteStream())));
+                    } catch (Exception e) {
+                        result.completeExceptionally(e);
+                    }
+                }
+            });
         } catch (Exception e) {
-            e.printStackTrace();
-            // Return fallback response
-            return getFallbackResponse(prompt);
+            result.completeExceptionally(e);
         }
+        return result;
     }
 
-    @SuppressWarnings("unchecked")
-    private String extractTextFromGeminiResponse(String responseBody) {
+    private CompletableFuture<String> fetchStreamFromGemini(String prompt, String cacheKey, StringBuilder fullText,
+            Consumer<String> onTextChunk) {
+        CompletableFuture<String> result = new CompletableFuture<>();
         try {
-            Map<String, Object> response = objectMapper.readValue(responseBody, Map.class);
-            List<Map<String, Object>> candidates = (List<Map<String, Object>>) response.get("candidates");
-
-            if (candidates != null && !candidates.isEmpty()) {
-                Map<String, Object> content = (Map<String, Object>) candidates.get(0).get("content");
-                List<Map<String, Object>> parts = (List<Map<String, Object>>) content.get("parts");
+            Request httpRequest = buildGeminiRequest(streamGenerateContentUrl.newBuilder()
+                    .addQueryParameter("alt", "sse")
+                    .addQueryParameter("key", geminiApiKey)
+                    .build(), prompt);
 
-                if (parts != null && !parts.isEmpty()) {
-                    return (String) parts.get(0).get("text");
+            httpClient.newCall(httpRequest).enqueue(new Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    result.completeExceptionally(e);
                 }
-            }
 
-            return getFallbackResponse("");
+                @Override
+                public void onResponse(Call call, Response response) {
+                    try (response) {
+                        if (!response.isSuccessful()) {
+                            throw new IOException("Unexpected response code: " + response);
+                        }
+
+                        // Server-sent events: one "data: {...}" line per generated fragment
+                        BufferedSource source = response.body().source();
+                        for (String line; (line = source.readUtf8Line()) != null;) {
+                            if (!line.startsWith("data:")) {
+                                continue;
+                            }
+                            String text = GeminiResponseDecoder.readCandidateText(line.substring(5));
+                            if (text != null) {
+                                fullText.append(text);
+                                onTextChunk.accept(text);
+                            }
+                        }
+
+                        if (fullText.isEmpty()) {
+                            throw new IOException("Gemini stream contained no candidate text");
+                        }
+                        responseCache.put(cacheKey, fullText.toString());
+                        result.complete(fullText.toString());
+                    } catch (Exception e) {
+                        result.completeExceptionally(e);
+                    }
+                }
+            });
         } catch (Exception e) {
-            e.printStackTrace();
-            return getFallbackResponse("");
+            result.completeExceptionally(e);
+        }
+
+        return result;
+    }
+
+    private Request buildGeminiRequest(HttpUrl url, String prompt) throws IOException {
+        // Prepare request body
+        byte[] jsonBody = GeminiResponseDecoder.writeRequest(prompt);
+
+        // Build HTTP request
+        return new Request.Builder()
+                .url(url)
+                .post(RequestBody.create(jsonBody, MediaType.parse("application/json")))
+                .addHeader("Content-Type", "application/json")
+                .build();
+    }
+
+    private String requireText(String text) throws IOException {
+        if (text == null) {
+            throw new IOException("Gemini response contained no candidate text");
         }
+        return text;
+    }
+
+    @Override
+    public boolean isFallbackResponse(String response) {
+        return FALLBACK_ROADMAP.equals(response) || FALLBACK_INTERVIEW_FEEDBACK.equals(response);
     }
 
     private String getFallbackResponse(String prompt) {
         // Determine if this is for roadmap or interview based on prompt content
         if (prompt.contains("roadmap") || prompt.contains("learning")) {
-            return """
-                    {
-                        "title": "Generated Learning Roadmap",
-                        "days": [
-                            {
-                                "day": 1,
-                                "topic": "Introduction & Fundamentals",
-                                "tasks": ["Review job requirements", "Setup development environment", "Study core concepts"]
-                            },
-                            {
-                                "day": 2,
-                                "topic": "Core Technologies",
-                                "tasks": ["Practice coding problems", "Build sample project", "Review documentation"]
-                            },
-                            {
-                                "day": 3,
-                                "topic": "Advanced Topics",
-                                "tasks": ["System design practice", "Mock interviews", "Portfolio preparation"]
-                            }
-                        ]
-                    }
-                    """;
+            return FALLBACK_ROADMAP;
         } else {
-            return """
-                    {
-                        "score": 70,
-                        "strengths": ["Good communication", "Technical knowledge"],
-                        "weaknesses": ["Need more practice with system design", "Could improve problem-solving speed"],
-                        "recommendations": ["Practice more coding problems", "Study system design patterns", "Work on communication clarity"],
-                        "overallFeedback": "Good performance overall. Continue practicing and refining your technical skills."
-                    }
-                    """;
+            return FALLBACK_INTERVIEW_FEEDBACK;
         }
     }
 }
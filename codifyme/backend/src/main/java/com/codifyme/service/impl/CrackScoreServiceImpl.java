@@ -1,17 +1,21 @@
 package com.codifyme.service.impl;
 
+import com.codifyme.model.CrackScoreAggregate;
 import com.codifyme.model.User;
 import com.codifyme.payload.response.CrackScoreResponse;
-import com.codifyme.repository.DailyTaskRepository;
-import com.codifyme.repository.InterviewRepository;
-import com.codifyme.repository.RoadmapRepository;
 import com.codifyme.repository.UserRepository;
 import com.codifyme.service.CrackScoreService;
+import com.codifyme.service.score.CrackScoreAggregator;
+import com.codifyme.service.score.CrackScoreCache;
+import com.codifyme.service.score.CrackScoreChangedEvent;
+import com.codifyme.service.score.CrackScoreFormula;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 @Service
 public class CrackScoreServiceImpl implements CrackScoreService {
@@ -20,41 +24,42 @@ public class CrackScoreServiceImpl implements CrackScoreService {
     private UserRepository userRepository;
 
     @Autowired
-    private RoadmapRepository roadmapRepository;
+    private CrackScoreAggregator aggregator;
 
     @Autowired
-    private DailyTaskRepository dailyTaskRepository;
+    private CrackScoreCache cache;
 
     @Autowired
-    private InterviewRepository interviewRepository;
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public CrackScoreResponse getCrackScore(Long userId) {
+        return cache.get(userId, this::calculateCrackScore);
+    }
 
     @Override
     public CrackScoreResponse calculateCrackScore(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found");
+        }
 
-        // Get user statistics
-        Long totalRoadmaps = roadmapRepository.countByUserId(userId);
-        Long totalInterviews = interviewRepository.countByUserId(userId);
+        // Everything comes from the user's running aggregates; see CrackScoreAggregator
+        CrackScoreAggregate aggregate = aggregator.get(userId);
 
         // Calculate component scores
-        int roadmapScore = calculateRoadmapScore(userId);
-        int interviewScore = calculateInterviewScore(userId);
-        int consistencyScore = calculateConsistencyScore(userId);
+        int roadmapScore = CrackScoreFormula.roadmapScore(aggregate);
+        int interviewScore = CrackScoreFormula.interviewScore(aggregate);
+        int consistencyScore = CrackScoreFormula.consistencyScore(aggregate);
 
-        // Weighted average: 40% roadmap, 40% interview, 20% consistency
-        int totalScore = (int) Math.round(
-                roadmapScore * 0.4 +
-                        interviewScore * 0.4 +
-                        consistencyScore * 0.2);
+        int totalScore = CrackScoreFormula.totalScore(roadmapScore, interviewScore, consistencyScore);
 
         // Create breakdown
         Map<String, Object> breakdown = new HashMap<>();
         breakdown.put("roadmapScore", roadmapScore);
         breakdown.put("interviewScore", interviewScore);
         breakdown.put("consistencyScore", consistencyScore);
-        breakdown.put("totalRoadmaps", totalRoadmaps);
-        breakdown.put("totalInterviews", totalInterviews);
+        breakdown.put("totalRoadmaps", aggregate.getRoadmapCount());
+        breakdown.put("totalInterviews", aggregate.getInterviewCount());
 
         // Generate recommendations
         String[] recommendations = generateRecommendations(roadmapScore, interviewScore, consistencyScore);
@@ -68,56 +73,12 @@ public class CrackScoreServiceImpl implements CrackScoreService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+        Integer previousScore = user.getCrackScore();
         user.setCrackScore(scoreResponse.getScore());
         userRepository.save(user);
-    }
-
-    private int calculateRoadmapScore(Long userId) {
-        Long totalRoadmaps = roadmapRepository.countByUserId(userId);
-        if (totalRoadmaps == 0)
-            return 0;
-
-        // Calculate completion rate across all roadmaps
-        var roadmaps = roadmapRepository.findByUserId(userId);
-        int totalTasks = 0;
-        int completedTasks = 0;
-
-        for (var roadmap : roadmaps) {
-            var tasks = dailyTaskRepository.findByRoadmapId(roadmap.getId());
-            totalTasks += tasks.size();
-            completedTasks += (int) tasks.stream().filter(t -> t.isCompleted()).count();
+        if (!Objects.equals(previousScore, user.getCrackScore())) {
+            eventPublisher.publishEvent(CrackScoreChangedEvent.scoreChanged(userId, user.getCrackScore()));
         }
-
-        if (totalTasks == 0)
-            return 30; // Base score for creating roadmap
-
-        double completionRate = (double) completedTasks / totalTasks;
-        return (int) Math.round(30 + (completionRate * 70)); // 30-100 range
-    }
-
-    private int calculateInterviewScore(Long userId) {
-        var interviews = interviewRepository.findByUserId(userId);
-        if (interviews.isEmpty())
-            return 0;
-
-        // Average of all interview scores
-        double avgScore = interviews.stream()
-                .filter(i -> i.getScore() != null)
-                .mapToInt(i -> i.getScore())
-                .average()
-                .orElse(0.0);
-
-        return (int) Math.round(avgScore);
-    }
-
-    private int calculateConsistencyScore(Long userId) {
-        Long totalInterviews = interviewRepository.countByUserId(userId);
-        Long totalRoadmaps = roadmapRepository.countByUserId(userId);
-
-        // Reward consistent activity
-        int activityScore = Math.min(100, (int) ((totalInterviews + totalRoadmaps) * 10));
-
-        return activityScore;
     }
 
     private String[] generateRecommendations(int roadmapScore, int interviewScore, int consistencyScore) {
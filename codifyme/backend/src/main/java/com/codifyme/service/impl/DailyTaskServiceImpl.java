@@ -0,0 +1,430 @@
+package com.codifyme.service.impl;
+
+import com.codifyme.model.LegacyTaskId;
+import com.codifyme.model.Roadmap;
+import com.codifyme.model.TaskPlan;
+import com.codifyme.model.TaskProgress;
+import com.codifyme.model.TaskVersions;
+import com.codifyme.payload.request.TaskBulkUpdateRequest;
+import com.codifyme.payload.request.TaskCreateRequest;
+import com.codifyme.payload.response.DailyTaskResponse;
+import com.codifyme.payload.response.TaskBulkUpdateResponse;
+import com.codifyme.repository.LegacyTaskIdRepository;
+import com.codifyme.repository.RoadmapRepository;
+import com.codifyme.repository.TaskPlanRepository;
+import com.codifyme.service.DailyTaskService;
+import com.codifyme.service.ResourceNotFoundException;
+import com.codifyme.service.score.TaskProgressEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Task content lives in shared, immutable TaskPlan rows and each roadmap only stores a bitset
+// of completed task indexes, so toggling a task rewrites a few bytes on the roadmap row and
+// identical plans are stored once. Parsed plans are cached; they never change once written.
+// Each task carries its own version (see TaskVersions), and writers lock the roadmap row, so
+// concurrent changes to different tasks of one roadmap never conflict with each other.
+@Service
+@RequiredArgsConstructor
+public class DailyTaskServiceImpl implements DailyTaskService {
+
+    private static final TypeReference<List<TaskPlan.Task>> TASK_LIST = new TypeReference<>() {
+    };
+
+    private final TaskPlanRepository taskPlanRepository;
+
+    private final RoadmapRepository roadmapRepository;
+
+    private final LegacyTaskIdRepository legacyTaskIdRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${roadmap.task-plans.cache-size:1000}")
+    private int cacheSize;
+
+    private final Map<Long, List<TaskPlan.Task>> planCache = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Runs outside any transaction so a concurrent insert of the same plan can be re-read
+    @Override
+    public TaskPlan findOrCreatePlan(List<TaskPlan.Task> tasks) {
+        if (tasks.isEmpty()) {
+            return null;
+        }
+        if (tasks.size() > TaskProgress.MAX_TASKS) {
+            throw new IllegalArgumentException("A roadmap can have at most " + TaskProgress.MAX_TASKS + " tasks");
+        }
+
+        String tasksJson = toJson(tasks);
+        String hash = sha256(tasksJson);
+        TaskPlan existing = taskPlanRepository.findByContentHash(hash).orElse(null);
+        if (existing != null) {
+            return existing;
+        }
+
+        TaskPlan plan = new TaskPlan();
+        plan.setContentHash(hash);
+        plan.setTaskCount(tasks.size());
+        plan.setTasksJson(tasksJson);
+        try {
+            plan = taskPlanRepository.save(plan);
+        } catch (DataIntegrityViolationException e) {
+            // Inserted concurrently by an identical plan
+            plan = taskPlanRepository.findByContentHash(hash).orElseThrow(() -> e);
+        }
+        cache(plan.getId(), List.copyOf(tasks));
+        return plan;
+    }
+
+    @Override
+    public boolean replaceUnstartedTasks(Long roadmapId, List<TaskPlan.Task> tasks, String planJson) {
+        TaskPlan plan = findOrCreatePlan(tasks);
+
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                List<RoadmapRepository.ProgressState> states = roadmapRepository.findProgressStatesForUpdate(List.of(roadmapId));
+                if (states.isEmpty() || !states.get(0).progress().isEmpty()) {
+                    // The user has started; keep what they are working on
+                    return false;
+                }
+                RoadmapRepository.ProgressState state = states.get(0);
+                Roadmap roadmap = roadmapRepository.findById(roadmapId).orElseThrow();
+                roadmap.setTaskPlan(plan);
+                roadmap.setTaskProgress(TaskProgress.empty());
+                // Every task is new, at the version this save gives the roadmap
+                roadmap.setTaskVersions(TaskVersions.of(roadmap.getVersion() + 1));
+                roadmap.setAiGeneratedPlan(planJson);
+                roadmapRepository.save(roadmap);
+                legacyTaskIdRepository.deleteByRoadmapId(roadmapId);
+                eventPublisher.publishEvent(TaskProgressEvent.tasksChanged(
+                        state.getUserId(), tasks.size() - state.getTaskCount(), 0));
+                return true;
+            }));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // Changed through a path that does not take the row lock
+            return false;
+        }
+    }
+
+    @Override
+    public List<DailyTaskResponse> getTasks(Long userId, Long roadmapId) {
+        return getTasksAfter(userId, roadmapId, null, null, TaskProgress.MAX_TASKS);
+    }
+
+    @Override
+    public List<DailyTaskResponse> getTasksAfter(Long userId, Long roadmapId, Integer afterDayNumber, Long afterId,
+            int limit) {
+        RoadmapRepository.ProgressState state = findOwnedState(userId, roadmapId);
+        List<TaskPlan.Task> tasks = tasksOf(state.getTaskPlanId());
+        Map<Integer, Long> legacyIds = legacyIdsOf(state.getRoadmapId());
+
+        // The plan is already in memory, so the seek is a scan over its (dayNumber, id) keys
+        List<DailyTaskResponse> responses = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            long id = legacyIds.getOrDefault(i, TaskPlan.taskId(state.getRoadmapId(), i));
+            if (afterId == null || compareKeys(dayNumberOf(tasks.get(i)), id, afterDayNumber, afterId) > 0) {
+                responses.add(toResponse(id, tasks.get(i), state.progress().isCompleted(i), state.versions().versionOf(i)));
+            }
+        }
+        responses.sort(Comparator.comparing((DailyTaskResponse task) -> dayNumberOf(task.getDayNumber()))
+                .thenComparing(DailyTaskResponse::getId));
+        return responses.size() > limit ? new ArrayList<>(responses.subList(0, limit)) : responses;
+    }
+
+    @Override
+    @Transactional
+    public DailyTaskResponse setCompletion(Long userId, Long taskId, boolean completed) {
+        TaskBulkUpdateRequest.TaskChange change = new TaskBulkUpdateRequest.TaskChange();
+        change.setId(taskId);
+        change.setCompleted(completed);
+        TaskBulkUpdateResponse result = updateCompletion(userId, List.of(change));
+
+        TaskRef ref = resolve(List.of(taskId)).get(taskId);
+        RoadmapRepository.ProgressState state = findOwnedState(userId, ref.roadmapId());
+        return toResponse(taskId, tasksOf(state.getTaskPlanId()).get(ref.index()),
+                completed, result.getTasks().get(0).getVersion());
+    }
+
+    @Override
+    @Transactional
+    public TaskBulkUpdateResponse updateCompletion(Long userId, List<TaskBulkUpdateRequest.TaskChange> changes) {
+        // Last change wins when a task is listed twice
+        Map<Long, TaskBulkUpdateRequest.TaskChange> byId = new LinkedHashMap<>();
+        for (TaskBulkUpdateRequest.TaskChange change : changes) {
+            byId.put(change.getId(), change);
+        }
+
+        Map<Long, TaskRef> refs = resolve(byId.keySet());
+        Set<Long> roadmapIds = refs.values().stream()
+                .map(TaskRef::roadmapId)
+                .collect(Collectors.toCollection(TreeSet::new));
+        Map<Long, RoadmapRepository.ProgressState> states = roadmapIds.isEmpty() ? Map.of()
+                : roadmapRepository.findProgressStatesForUpdate(roadmapIds).stream()
+                        .filter(state -> state.getUserId().equals(userId))
+                        .collect(Collectors.toMap(RoadmapRepository.ProgressState::getRoadmapId, Function.identity()));
+
+        Set<Long> missing = new TreeSet<>();
+        for (Long taskId : byId.keySet()) {
+            TaskRef ref = refs.get(taskId);
+            RoadmapRepository.ProgressState state = ref == null ? null : states.get(ref.roadmapId());
+            if (state == null || ref.index() >= state.getTaskCount()) {
+                missing.add(taskId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Tasks not found: " + missing);
+        }
+
+        // Only a change made against an older version of the same task is a conflict
+        List<Long> stale = byId.values().stream()
+                .filter(change -> {
+                    TaskRef ref = refs.get(change.getId());
+                    return change.getVersion() != null
+                            && change.getVersion() != states.get(ref.roadmapId()).versions().versionOf(ref.index());
+                })
+                .map(TaskBulkUpdateRequest.TaskChange::getId)
+                .toList();
+        if (!stale.isEmpty()) {
+            throw new ObjectOptimisticLockingFailureException(Roadmap.class, stale);
+        }
+
+        // Flip the bits per roadmap and write each changed bitset with one compare-and-set UPDATE;
+        // the rows are locked, so the compare only guards against writers that skip the lock
+        Map<Long, TaskProgress> progress = new LinkedHashMap<>();
+        Map<Long, TaskVersions> taskVersions = new LinkedHashMap<>();
+        Map<Long, Long> versions = new LinkedHashMap<>();
+        int updated = 0;
+        long completedDelta = 0;
+        for (Long roadmapId : roadmapIds) {
+            RoadmapRepository.ProgressState state = states.get(roadmapId);
+            long version = state.getVersion();
+            TaskProgress before = state.progress();
+            TaskProgress after = before;
+            TaskVersions afterVersions = state.versions();
+            List<Long> taskIds = new ArrayList<>();
+            for (TaskBulkUpdateRequest.TaskChange change : byId.values()) {
+                TaskRef ref = refs.get(change.getId());
+                if (ref.roadmapId() == roadmapId) {
+                    if (after.isCompleted(ref.index()) != change.getCompleted()) {
+                        updated++;
+                        afterVersions = afterVersions.with(ref.index(), version + 1);
+                    }
+                    after = after.withCompleted(ref.index(), change.getCompleted());
+                    taskIds.add(change.getId());
+                }
+            }
+
+            if (!after.equals(before)) {
+                if (roadmapRepository.updateProgress(roadmapId, after, afterVersions, version) == 0) {
+                    // Another request changed this roadmap after it was read; roll everything back
+                    throw new ObjectOptimisticLockingFailureException(Roadmap.class, taskIds);
+                }
+                version++;
+                completedDelta += after.completedCount() - before.completedCount();
+            } else {
+                afterVersions = state.versions();
+            }
+            progress.put(roadmapId, after);
+            taskVersions.put(roadmapId, afterVersions);
+            versions.put(roadmapId, version);
+        }
+
+        List<TaskBulkUpdateResponse.TaskState> tasks = byId.values().stream()
+                .map(change -> {
+                    TaskRef ref = refs.get(change.getId());
+                    return new TaskBulkUpdateResponse.TaskState(change.getId(), change.getCompleted(),
+                            taskVersions.get(ref.roadmapId()).versionOf(ref.index()));
+                })
+                .toList();
+
+        List<TaskBulkUpdateResponse.RoadmapProgress> roadmaps = roadmapIds.stream()
+                .map(roadmapId -> {
+                    int total = states.get(roadmapId).getTaskCount();
+                    int completed = progress.get(roadmapId).completedCount();
+                    return new TaskBulkUpdateResponse.RoadmapProgress(
+                            roadmapId, completed, total, progress.get(roadmapId).completionPercentage(total),
+                            versions.get(roadmapId));
+                })
+                .toList();
+
+        eventPublisher.publishEvent(TaskProgressEvent.tasksChanged(userId, 0, completedDelta));
+        return new TaskBulkUpdateResponse(updated, tasks, roadmaps);
+    }
+
+    @Override
+    public DailyTaskResponse addTask(Long userId, TaskCreateRequest request) {
+        RoadmapRepository.ProgressState state = findOwnedState(userId, request.getRoadmapId());
+
+        // Copy-on-write: the roadmap moves to a plan with the extra task, any other roadmap
+        // sharing the current plan keeps it. The new task's bit is unset, so progress carries over.
+        List<TaskPlan.Task> tasks = new ArrayList<>(tasksOf(state.getTaskPlanId()));
+        Integer dayNumber = request.getDayNumber();
+        if (dayNumber == null) {
+            dayNumber = tasks.isEmpty() ? 1 : Objects.requireNonNullElse(tasks.get(tasks.size() - 1).dayNumber(), tasks.size()) + 1;
+        }
+        TaskPlan.Task task = new TaskPlan.Task(dayNumber, request.getTitle(),
+                Objects.requireNonNullElse(request.getDescription(), ""),
+                Objects.requireNonNullElse(request.getResources(), ""));
+        tasks.add(task);
+
+        TaskPlan plan = findOrCreatePlan(tasks);
+        return transactionTemplate.execute(status -> {
+            RoadmapRepository.ProgressState locked = roadmapRepository.findProgressStatesForUpdate(List.of(state.getRoadmapId())).get(0);
+            if (!Objects.equals(locked.getTaskPlanId(), state.getTaskPlanId())) {
+                // The tasks changed while the new plan was being built
+                throw new ObjectOptimisticLockingFailureException(Roadmap.class, state.getRoadmapId());
+            }
+            int index = tasks.size() - 1;
+            long version = locked.getVersion() + 1;
+            TaskVersions versions = locked.versions().with(index, version);
+            if (roadmapRepository.updateTaskPlan(state.getRoadmapId(), plan, versions, locked.getVersion()) == 0) {
+                throw new ObjectOptimisticLockingFailureException(Roadmap.class, state.getRoadmapId());
+            }
+            eventPublisher.publishEvent(TaskProgressEvent.tasksChanged(userId, 1, 0));
+            return toResponse(TaskPlan.taskId(state.getRoadmapId(), index), task, false, version);
+        });
+    }
+
+    private RoadmapRepository.ProgressState findOwnedState(Long userId, Long roadmapId) {
+        return roadmapRepository.findProgressStates(List.of(roadmapId)).stream()
+                .filter(state -> state.getUserId().equals(userId))
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Roadmap not found"));
+    }
+
+    // Where each task id points. Current ids encode it; ids of tasks migrated from daily_tasks
+    // rows are looked up. Unknown ids are left out.
+    private Map<Long, TaskRef> resolve(Collection<Long> taskIds) {
+        Map<Long, TaskRef> refs = new HashMap<>();
+        List<Long> legacy = new ArrayList<>();
+        for (Long taskId : taskIds) {
+            if (taskId == null) {
+                continue;
+            }
+            if (TaskPlan.isTaskId(taskId)) {
+                refs.put(taskId, new TaskRef(TaskPlan.roadmapIdOf(taskId), TaskPlan.indexOf(taskId)));
+            } else if (taskId > 0) {
+                legacy.add(taskId);
+            }
+        }
+        if (!legacy.isEmpty()) {
+            for (LegacyTaskId legacyId : legacyTaskIdRepository.findAllById(legacy)) {
+                refs.put(legacyId.getId(), new TaskRef(legacyId.getRoadmapId(), legacyId.getTaskIndex()));
+            }
+        }
+        return refs;
+    }
+
+    // Task index to the id a migrated task had before, so clients keep seeing the same ids
+    private Map<Integer, Long> legacyIdsOf(Long roadmapId) {
+        Map<Integer, Long> ids = new HashMap<>();
+        for (LegacyTaskId legacyId : legacyTaskIdRepository.findByRoadmapId(roadmapId)) {
+            ids.put(legacyId.getTaskIndex(), legacyId.getId());
+        }
+        return ids;
+    }
+
+    private List<TaskPlan.Task> tasksOf(Long planId) {
+        if (planId == null) {
+            return List.of();
+        }
+        synchronized (planCache) {
+            List<TaskPlan.Task> cached = planCache.get(planId);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        TaskPlan plan = taskPlanRepository.findById(planId)
+                .orElseThrow(() -> new RuntimeException("Task plan not found"));
+        try {
+            List<TaskPlan.Task> tasks = List.copyOf(objectMapper.readValue(plan.getTasksJson(), TASK_LIST));
+            cache(planId, tasks);
+            return tasks;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt task plan " + planId, e);
+        }
+    }
+
+    // Tasks without a day number sort first
+    private static int dayNumberOf(TaskPlan.Task task) {
+        return dayNumberOf(task.dayNumber());
+    }
+
+    private static int dayNumberOf(Integer dayNumber) {
+        return dayNumber != null ? dayNumber : 0;
+    }
+
+    private static int compareKeys(int dayNumber, long id, int otherDayNumber, long otherId) {
+        int byDay = Integer.compare(dayNumber, otherDayNumber);
+        return byDay != 0 ? byDay : Long.compare(id, otherId);
+    }
+
+    private void cache(Long planId, List<TaskPlan.Task> tasks) {
+        synchronized (planCache) {
+            planCache.put(planId, tasks);
+            if (planCache.size() > cacheSize) {
+                planCache.remove(planCache.keySet().iterator().next());
+            }
+        }
+    }
+
+    private static DailyTaskResponse toResponse(long id, TaskPlan.Task task, boolean completed, long version) {
+        return new DailyTaskResponse(
+                id,
+                task.dayNumber(),
+                task.title(),
+                task.description(),
+                task.resources(),
+                completed,
+                version);
+    }
+
+    private String toJson(List<TaskPlan.Task> tasks) {
+        try {
+            return objectMapper.writeValueAsString(tasks);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize tasks", e);
+        }
+    }
+
+    private static String sha256(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record TaskRef(long roadmapId, int index) {
+    }
+}
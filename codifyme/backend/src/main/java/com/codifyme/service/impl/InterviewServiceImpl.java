@@ -1,20 +1,25 @@
 package com.codifyme.service.impl;
 
 import com.codifyme.model.Interview;
+import com.codifyme.model.InterviewFeedbackJob;
 import com.codifyme.model.User;
+import com.codifyme.payload.ai.InterviewFeedback;
 import com.codifyme.payload.request.InterviewRequest;
 import com.codifyme.payload.response.InterviewResponse;
+import com.codifyme.repository.InterviewFeedbackJobRepository;
 import com.codifyme.repository.InterviewRepository;
 import com.codifyme.repository.UserRepository;
-import com.codifyme.service.AIService;
 import com.codifyme.service.CrackScoreService;
 import com.codifyme.service.InterviewService;
+import com.codifyme.service.ai.GeminiResponseDecoder;
+import com.codifyme.service.score.InterviewEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import java.util.HashMap;
-import java.util.Map;
+import java.time.LocalDateTime;
 
 @Service
 public class InterviewServiceImpl implements InterviewService {
@@ -23,48 +28,99 @@ public class InterviewServiceImpl implements InterviewService {
     private InterviewRepository interviewRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private InterviewFeedbackJobRepository feedbackJobRepository;
 
     @Autowired
-    private AIService aiService;
+    private UserRepository userRepository;
 
     @Autowired
     private CrackScoreService crackScoreService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Override
-    public InterviewResponse submitInterview(InterviewRequest request, Long userId) {
+    @Transactional
+    public InterviewResponse enqueueInterview(InterviewRequest request, Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        // Get AI feedback
-        String feedbackJson = aiService.generateInterviewFeedback(request.getTranscript(), request.getJobRole());
-
-        // Parse feedback to extract score
-        int score = extractScoreFromFeedback(feedbackJson);
-
-        // Create interview entity
         Interview interview = new Interview();
         interview.setUser(user);
         interview.setType(Interview.InterviewType.valueOf(request.getType()));
         interview.setTranscript(request.getTranscript());
-        interview.setAiFeedbackJson(feedbackJson);
-        interview.setScore(score);
+        interview.setFeedbackStatus(Interview.FeedbackStatus.PENDING);
+        interview = interviewRepository.save(interview);
+        eventPublisher.publishEvent(InterviewEvent.recorded(userId, null));
+
+        // Queued in the same transaction, so a saved interview always has its job
+        InterviewFeedbackJob job = new InterviewFeedbackJob();
+        job.setInterviewId(interview.getId());
+        job.setJobRole(request.getJobRole());
+        job.setNextAttemptAt(LocalDateTime.now());
+        feedbackJobRepository.save(job);
+
+        return toResponse(interview);
+    }
 
-        // Save interview
+    // One transaction for the row, the CrackScore update and its events, so listeners that run
+    // after commit see both or neither
+    @Override
+    @Transactional
+    public InterviewResponse completeFeedback(Long interviewId, String feedbackJson) {
+        Interview interview = getInterviewById(interviewId);
+        Integer previousScore = interview.getScore();
+        interview.setAiFeedbackJson(feedbackJson);
+        interview.setScore(extractScoreFromFeedback(feedbackJson));
+        interview.setFeedbackStatus(Interview.FeedbackStatus.COMPLETED);
         interview = interviewRepository.save(interview);
+        eventPublisher.publishEvent(InterviewEvent.scored(interview.getUser().getId(), previousScore, interview.getScore()));
 
         // Update user's CrackScore
-        crackScoreService.updateCrackScore(userId);
+        crackScoreService.updateCrackScore(interview.getUser().getId());
 
-        // Return response
+        return toResponse(interview);
+    }
+
+    @Override
+    @Transactional
+    public InterviewResponse failFeedback(Long interviewId) {
+        Interview interview = getInterviewById(interviewId);
+        interview.setFeedbackStatus(Interview.FeedbackStatus.FAILED);
+        interview = interviewRepository.save(interview);
+
+        // The interview was counted when it was queued, so the user's CrackScore changes now too
+        crackScoreService.updateCrackScore(interview.getUser().getId());
+
+        return toResponse(interview);
+    }
+
+    @Override
+    public InterviewResponse toResponse(Interview interview) {
         return new InterviewResponse(
                 interview.getId(),
                 interview.getType().name(),
                 interview.getScore(),
-                feedbackJson,
-                interview.getCreatedAt());
+                interview.getAiFeedbackJson(),
+                interview.getCreatedAt(),
+                interview.getFeedbackStatus().name());
+    }
+
+    @Override
+    public InterviewResponse toResponse(InterviewRepository.InterviewSummary summary) {
+        // Same rule as Interview.getFeedbackStatus for rows that predate background feedback
+        Interview.FeedbackStatus status = summary.getFeedbackStatus() != null
+                ? summary.getFeedbackStatus()
+                : Interview.FeedbackStatus.COMPLETED;
+        return new InterviewResponse(
+                summary.getId(),
+                summary.getType().name(),
+                summary.getScore(),
+                null,
+                summary.getCreatedAt(),
+                status.name());
     }
 
     @Override
@@ -75,14 +131,9 @@ public class InterviewServiceImpl implements InterviewService {
 
     private int extractScoreFromFeedback(String feedbackJson) {
         try {
-            Map<String, Object> feedback = objectMapper.readValue(feedbackJson, Map.class);
-            Object scoreObj = feedback.get("score");
-            if (scoreObj instanceof Integer) {
-                return (Integer) scoreObj;
-            } else if (scoreObj instanceof Double) {
-                return ((Double) scoreObj).intValue();
-            }
-            return 50; // Default score
+            InterviewFeedback feedback = objectMapper.readValue(
+                    GeminiResponseDecoder.stripToJsonObject(feedbackJson), InterviewFeedback.class);
+            return feedback.score() != null ? feedback.score() : 50; // Default score
         } catch (Exception e) {
             return 50; // Default score on error
         }
@@ -0,0 +1,436 @@
+package com.codifyme.service.impl;
+
+import com.codifyme.model.ResumeAnalysis;
+import com.codifyme.model.UserProfile;
+import com.codifyme.repository.ResumeAnalysisRepository;
+import com.codifyme.repository.UserProfileRepository;
+import com.codifyme.service.ResumeService;
+import com.codifyme.service.resume.KeywordAutomaton;
+import com.codifyme.service.resume.ResumeDocument;
+import com.codifyme.service.resume.ResumeKeywordDictionary;
+import com.codifyme.service.resume.ResumeScore;
+import com.codifyme.service.resume.ResumeScorer;
+import com.codifyme.service.resume.ResumeSection;
+import com.codifyme.service.resume.ResumeSectionAnalyzer;
+import com.codifyme.service.resume.ResumeStore;
+import com.codifyme.service.resume.ResumeTextExtractor;
+import com.codifyme.service.resume.SectionReport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+@Service
+public class ResumeServiceImpl implements ResumeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumeServiceImpl.class);
+
+    @Value("${resume.max-file-size-bytes:10485760}")
+    private long maxFileSizeBytes;
+
+    // Extractions running at once; with the per-resume text ceiling this bounds total heap use
+    @Value("${resume.extract.threads:4}")
+    private int extractThreads;
+
+    // Uploads waiting for an extraction thread; beyond this new uploads are rejected
+    @Value("${resume.extract.queue-capacity:64}")
+    private int extractQueueCapacity;
+
+    @Value("${resume.analysis.parallelism:4}")
+    private int analysisParallelism;
+
+    // Worker threads shared by all batch uploads
+    @Value("${resume.batch.parallelism:4}")
+    private int batchParallelism;
+
+    // Resumes of one batch unpacked and in progress at once
+    @Value("${resume.batch.in-flight:8}")
+    private int batchInFlight;
+
+    // Batches processed at once; further batch uploads are rejected
+    @Value("${resume.batch.max-concurrent:2}")
+    private int batchMaxConcurrent;
+
+    @Value("${resume.batch.max-files:500}")
+    private int batchMaxFiles;
+
+    @Autowired
+    private ResumeTextExtractor textExtractor;
+
+    @Autowired
+    private ResumeSectionAnalyzer sectionAnalyzer;
+
+    @Autowired
+    private ResumeKeywordDictionary keywordDictionary;
+
+    @Autowired
+    private ResumeScorer resumeScorer;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    @Autowired
+    private ResumeStore resumeStore;
+
+    @Autowired
+    private ResumeAnalysisRepository analysisRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ThreadPoolExecutor extractExecutor;
+    private ForkJoinPool analysisPool;
+    private ThreadPoolExecutor batchCoordinator;
+    private ExecutorService batchExecutor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        extractExecutor = new ThreadPoolExecutor(extractThreads, extractThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(extractQueueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "resume-extract-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        analysisPool = new ForkJoinPool(analysisParallelism);
+
+        AtomicInteger batchThreadCount = new AtomicInteger();
+        batchCoordinator = new ThreadPoolExecutor(batchMaxConcurrent, batchMaxConcurrent, 0L, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "resume-batch-coordinator-" + batchThreadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        batchExecutor = Executors.newFixedThreadPool(batchParallelism, runnable -> {
+            Thread thread = new Thread(runnable, "resume-batch-" + batchThreadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        extractExecutor.shutdownNow();
+        analysisPool.shutdownNow();
+        batchCoordinator.shutdownNow();
+        batchExecutor.shutdownNow();
+    }
+
+    @Override
+    public CompletableFuture<String> analyzeResume(MultipartFile file, Long userId) {
+        if (file.isEmpty()) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Uploaded resume is empty"));
+        }
+        if (file.getSize() > maxFileSizeBytes) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException(
+                    "Resume exceeds the maximum size of " + maxFileSizeBytes / (1024 * 1024) + " MB"));
+        }
+
+        // Shed load before storing, so a rejected upload leaves no unreferenced blob behind
+        if (extractExecutor.getQueue().remainingCapacity() == 0) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Resume extraction queue is full"));
+        }
+
+        // Stored by content hash: the servlet container has already written the part to disk, so
+        // this is a rename, and the bytes stay off the heap while extraction outlives the request
+        ResumeStore.StoredResume stored;
+        try {
+            stored = resumeStore.store(file);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        String jobDescription = userProfileRepository.findByUserId(userId)
+                .map(UserProfile::getJobDescription)
+                .orElse(null);
+        // The scorer and dictionary versions are part of the key, so a scoring change never serves old results
+        String jdHash = ResumeStore.hashText(ResumeScorer.VERSION + ":" + ResumeKeywordDictionary.VERSION + ":"
+                + (jobDescription != null ? jobDescription.strip() : ""));
+
+        // Identical bytes against the same job description: no parsing or scoring needed
+        Optional<String> cached = analysisRepository.findResult(stored.contentHash(), jdHash);
+        if (cached.isPresent()) {
+            resumeStore.attach(userId, stored);
+            return CompletableFuture.completedFuture(cached.get());
+        }
+
+        String filename = file.getOriginalFilename();
+        CompletableFuture<ResumeDocument> extraction;
+        try {
+            extraction = CompletableFuture.supplyAsync(() -> extract(stored.path(), filename), extractExecutor);
+        } catch (RuntimeException e) {
+            // Queue filled up since the check above; the blob is unreferenced and the store sweeps it
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return extraction
+                .thenCompose(document -> analyzeSections(document, keywordDictionary.compile(jobDescription)))
+                .thenApply(result -> {
+                    saveAnalysis(stored.contentHash(), jdHash, result);
+                    resumeStore.attach(userId, stored);
+                    return result;
+                });
+    }
+
+    @Override
+    public String analyzeText(String resumeContent, String jobDescription) {
+        ResumeDocument document = textExtractor.fromText(resumeContent);
+        return analyzeDocument(document, keywordDictionary.compile(jobDescription)).toString();
+    }
+
+    @Override
+    public CompletableFuture<Integer> analyzeBatch(List<MultipartFile> files, String jobDescription,
+            Consumer<String> onResult) {
+        if (files.isEmpty()) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("No resumes uploaded"));
+        }
+
+        // Move every part into a private directory up front (renames only), so processing does
+        // not depend on the container keeping the multipart files around
+        Path batchDir;
+        List<BatchInput> inputs = new ArrayList<>();
+        try {
+            batchDir = Files.createTempDirectory("codifyme-batch-");
+            for (int i = 0; i < files.size(); i++) {
+                MultipartFile file = files.get(i);
+                if (file.isEmpty()) {
+                    continue;
+                }
+                Path path = batchDir.resolve("part-" + i);
+                file.transferTo(path);
+                inputs.add(new BatchInput(file.getOriginalFilename(), path));
+            }
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        try {
+            return CompletableFuture.supplyAsync(
+                    () -> runBatch(inputs, keywordDictionary.compile(jobDescription), onResult), batchCoordinator)
+                    .whenComplete((count, error) -> FileSystemUtils.deleteRecursively(batchDir.toFile()));
+        } catch (RejectedExecutionException e) {
+            FileSystemUtils.deleteRecursively(batchDir.toFile());
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private ResumeDocument extract(Path path, String filename) {
+        try {
+            return textExtractor.extract(path, filename);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read resume: " + e.getMessage(), e);
+        }
+    }
+
+    private CompletableFuture<String> analyzeSections(ResumeDocument document, ResumeKeywordDictionary.Compiled keywords) {
+        // Sections are independent, so each one is analysed on its own worker
+        KeywordAutomaton automaton = keywords.automaton();
+        List<CompletableFuture<SectionReport>> reports = document.sections().stream()
+                .map(section -> CompletableFuture.supplyAsync(() -> sectionAnalyzer.analyze(section, automaton),
+                        analysisPool))
+                .toList();
+
+        return CompletableFuture.allOf(reports.toArray(CompletableFuture[]::new))
+                .thenApply(done -> buildResult(document, resumeScorer.score(
+                        reports.stream().map(CompletableFuture::join).toList(), keywords.targetSkills())).toString());
+    }
+
+    private ObjectNode buildResult(ResumeDocument document, ResumeScore score) {
+        ObjectNode result = objectMapper.createObjectNode();
+        result.put("atsScore", score.atsScore());
+        result.put("status", score.status());
+        ArrayNode feedback = result.putArray("feedback");
+        score.feedback().forEach(feedback::add);
+        result.put("summary", score.summary());
+
+        ArrayNode matched = result.putArray("matchedKeywords");
+        score.matchedKeywords().forEach(matched::add);
+        ArrayNode missing = result.putArray("missingKeywords");
+        score.missingKeywords().forEach(missing::add);
+        ArrayNode sections = result.putArray("sections");
+        document.sections().stream().map(ResumeSection::heading).distinct().forEach(sections::add);
+        result.put("pages", document.pages());
+        result.put("truncated", document.truncated());
+        return result;
+    }
+
+    private ObjectNode analyzeDocument(ResumeDocument document, ResumeKeywordDictionary.Compiled keywords) {
+        List<SectionReport> reports = document.sections().stream()
+                .map(section -> sectionAnalyzer.analyze(section, keywords.automaton()))
+                .toList();
+        return buildResult(document, resumeScorer.score(reports, keywords.targetSkills()));
+    }
+
+    private record BatchInput(String filename, Path path) {
+    }
+
+    // Runs on a coordinator thread. At most batchInFlight resumes of this batch are unpacked
+    // and being scored at any moment, so disk and heap use do not grow with the batch size.
+    private int runBatch(List<BatchInput> inputs, ResumeKeywordDictionary.Compiled keywords,
+            Consumer<String> onResult) {
+        Semaphore inFlight = new Semaphore(batchInFlight);
+        AtomicInteger index = new AtomicInteger();
+        try {
+            for (BatchInput input : inputs) {
+                if (index.get() >= batchMaxFiles) {
+                    break;
+                }
+                if (isZip(input)) {
+                    runZip(input, keywords, onResult, inFlight, index);
+                } else {
+                    inFlight.acquire();
+                    submitBatchItem(index.getAndIncrement(), input.filename(), input.path(), keywords, onResult,
+                            inFlight);
+                }
+            }
+            // Wait for the stragglers before reporting the batch as done
+            inFlight.acquire(batchInFlight);
+            inFlight.release(batchInFlight);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+        return index.get();
+    }
+
+    private void runZip(BatchInput input, ResumeKeywordDictionary.Compiled keywords, Consumer<String> onResult,
+            Semaphore inFlight, AtomicInteger index) throws InterruptedException {
+        try (ZipFile zip = new ZipFile(input.path().toFile())) {
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements() && index.get() < batchMaxFiles) {
+                ZipEntry entry = entries.nextElement();
+                String name = entry.getName();
+                if (entry.isDirectory() || name.startsWith("__MACOSX/") || !isResumeFile(name)) {
+                    continue;
+                }
+
+                inFlight.acquire();
+                int itemIndex = index.getAndIncrement();
+                Path unpacked = input.path().resolveSibling("entry-" + itemIndex);
+                try (InputStream in = zip.getInputStream(entry)) {
+                    copyWithLimit(in, unpacked, maxFileSizeBytes);
+                } catch (IOException e) {
+                    emitBatchError(itemIndex, name, e, onResult);
+                    deleteQuietly(unpacked);
+                    inFlight.release();
+                    continue;
+                }
+                submitBatchItem(itemIndex, name, unpacked, keywords, onResult, inFlight);
+            }
+        } catch (IOException e) {
+            emitBatchError(index.getAndIncrement(), input.filename(), e, onResult);
+        }
+    }
+
+    private void submitBatchItem(int itemIndex, String filename, Path path, ResumeKeywordDictionary.Compiled keywords,
+            Consumer<String> onResult, Semaphore inFlight) {
+        batchExecutor.execute(() -> {
+            try {
+                ObjectNode line = objectMapper.createObjectNode();
+                line.put("index", itemIndex);
+                line.put("file", filename);
+                line.set("result", analyzeDocument(textExtractor.extract(path, filename), keywords));
+                onResult.accept(line.toString());
+            } catch (Exception e) {
+                emitBatchError(itemIndex, filename, e, onResult);
+            } finally {
+                deleteQuietly(path);
+                inFlight.release();
+            }
+        });
+    }
+
+    private void emitBatchError(int itemIndex, String filename, Exception error, Consumer<String> onResult) {
+        ObjectNode line = objectMapper.createObjectNode();
+        line.put("index", itemIndex);
+        line.put("file", filename);
+        line.put("error", error.getMessage());
+        try {
+            onResult.accept(line.toString());
+        } catch (RuntimeException e) {
+            logger.warn("Could not emit batch result for {}: {}", filename, e.getMessage());
+        }
+    }
+
+    // A .zip upload is unpacked; anything else is treated as a single resume
+    private static boolean isZip(BatchInput input) {
+        return input.filename() != null && input.filename().toLowerCase(Locale.ROOT).endsWith(".zip");
+    }
+
+    private static boolean isResumeFile(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        return lower.endsWith(".pdf") || lower.endsWith(".docx") || lower.endsWith(".txt");
+    }
+
+    // Zip entries can lie about their size, so the limit is enforced on the bytes actually read
+    private static void copyWithLimit(InputStream in, Path target, long limit) throws IOException {
+        try (OutputStream out = Files.newOutputStream(target)) {
+            byte[] buffer = new byte[64 * 1024];
+            long total = 0;
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                total += read;
+                if (total > limit) {
+                    throw new IOException("Resume exceeds the maximum size of " + limit / (1024 * 1024) + " MB");
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Could not delete batch file {}: {}", path, e.getMessage());
+        }
+    }
+
+    private void saveAnalysis(String contentHash, String jdHash, String result) {
+        ResumeAnalysis analysis = new ResumeAnalysis();
+        analysis.setContentHash(contentHash);
+        analysis.setJdHash(jdHash);
+        analysis.setResultJson(result);
+        try {
+            analysisRepository.save(analysis);
+        } catch (DataIntegrityViolationException e) {
+            // The same upload was analysed concurrently; both results are identical
+            logger.debug("Resume analysis for {} already cached", contentHash);
+        }
+    }
+}
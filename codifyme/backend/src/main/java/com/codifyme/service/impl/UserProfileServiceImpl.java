@@ -6,7 +6,9 @@ import com.codifyme.payload.request.UserProfileRequest;
 import com.codifyme.payload.response.UserProfileResponse;
 import com.codifyme.repository.UserProfileRepository;
 import com.codifyme.service.UserProfileService;
+import com.codifyme.service.score.CrackScoreChangedEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class UserProfileServiceImpl implements UserProfileService {
 
     private final UserProfileRepository userProfileRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -27,7 +30,9 @@ public class UserProfileServiceImpl implements UserProfileService {
         profile.setJobDescription(request.getJobDescription());
         profile.setExperienceLevel(request.getExperienceLevel());
 
-        return userProfileRepository.save(profile);
+        profile = userProfileRepository.save(profile);
+        eventPublisher.publishEvent(CrackScoreChangedEvent.companyChanged(user.getId(), profile.getTargetCompany()));
+        return profile;
     }
 
     @Override
@@ -42,7 +47,9 @@ public class UserProfileServiceImpl implements UserProfileService {
         profile.setJobDescription(request.getJobDescription());
         profile.setExperienceLevel(request.getExperienceLevel());
 
-        return userProfileRepository.save(profile);
+        profile = userProfileRepository.save(profile);
+        eventPublisher.publishEvent(CrackScoreChangedEvent.companyChanged(userId, profile.getTargetCompany()));
+        return profile;
     }
 
     @Override
@@ -0,0 +1,103 @@
+package com.codifyme.service.job;
+
+import com.codifyme.model.CompressedTextConverter;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// One-time move of large text columns into their gzip BLOB replacements. Schema update adds
+// the new *_gz columns but leaves the old TEXT/JSON ones alone, so rows written before
+// compression are copied over here, in id order and in batches, and the old value is cleared
+// to release its space. Runs before the web server starts, so no request sees a half-migrated
+// row; once the old columns are empty they can be dropped by hand.
+@Component
+@DependsOn("entityManagerFactory")
+public class CompressedColumnMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompressedColumnMigration.class);
+
+    private record ColumnMove(String table, String legacyColumn, String compressedColumn) {
+    }
+
+    private static final List<ColumnMove> MOVES = List.of(
+            new ColumnMove("roadmaps", "ai_generated_plan", "ai_generated_plan_gz"),
+            new ColumnMove("roadmaps", "job_description", "job_description_gz"),
+            new ColumnMove("interviews", "transcript", "transcript_gz"),
+            new ColumnMove("interviews", "ai_feedback_json", "ai_feedback_gz"));
+
+    @Value("${storage.compression.migration-batch-size:200}")
+    private int batchSize;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void migrate() {
+        for (ColumnMove move : MOVES) {
+            if (!columnExists(move.table(), move.legacyColumn())) {
+                continue;
+            }
+            long start = System.currentTimeMillis();
+            long migrated = 0;
+            int moved;
+            do {
+                moved = migrateBatch(move);
+                migrated += moved;
+            } while (moved == batchSize);
+
+            if (migrated > 0) {
+                logger.info("Compressed {} rows of {}.{} into {} in {} ms", migrated, move.table(),
+                        move.legacyColumn(), move.compressedColumn(), System.currentTimeMillis() - start);
+            }
+        }
+    }
+
+    private int migrateBatch(ColumnMove move) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT id, " + move.legacyColumn() + " AS legacy_value FROM " + move.table()
+                        + " WHERE " + move.legacyColumn() + " IS NOT NULL AND " + move.compressedColumn() + " IS NULL"
+                        + " ORDER BY id LIMIT ?", batchSize);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        List<Object[]> updates = rows.stream()
+                .map(row -> new Object[] {
+                        CompressedTextConverter.compress(String.valueOf(row.get("legacy_value"))),
+                        row.get("id") })
+                .toList();
+        jdbcTemplate.batchUpdate("UPDATE " + move.table() + " SET " + move.compressedColumn() + " = ?, "
+                + move.legacyColumn() + " = NULL WHERE id = ?", updates);
+        return rows.size();
+    }
+
+    private boolean columnExists(String table, String column) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((Connection connection) -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            // Identifier case depends on the database, so try both spellings
+            return hasColumn(metaData, connection.getCatalog(), table, column)
+                    || hasColumn(metaData, connection.getCatalog(), table.toUpperCase(Locale.ROOT),
+                            column.toUpperCase(Locale.ROOT));
+        }));
+    }
+
+    private static boolean hasColumn(DatabaseMetaData metaData, String catalog, String table, String column)
+            throws SQLException {
+        try (ResultSet columns = metaData.getColumns(catalog, null, table, column)) {
+            return columns.next();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.codifyme.service.job;
+
+import com.codifyme.service.score.CrackScoreHistory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Nightly downsampling of the CrackScore history; see CrackScoreHistory.rollUp
+@Component
+public class CrackScoreHistoryRollupJob {
+
+    @Autowired
+    private CrackScoreHistory history;
+
+    @Scheduled(cron = "${crackscore.history.rollup-cron:0 15 3 * * *}")
+    public void rollUp() {
+        history.rollUp();
+    }
+}
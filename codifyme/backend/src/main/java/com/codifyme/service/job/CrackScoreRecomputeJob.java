@@ -0,0 +1,382 @@
+package com.codifyme.service.job;
+
+import com.codifyme.model.CrackScoreAggregate;
+import com.codifyme.model.CrackScoreRecomputeRun;
+import com.codifyme.model.CrackScoreRecomputeRun.RunStatus;
+import com.codifyme.repository.CrackScoreRecomputeRunRepository;
+import com.codifyme.service.score.CrackScoreAggregator;
+import com.codifyme.service.score.CrackScoreChangedEvent;
+import com.codifyme.service.score.CrackScoreFormula;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Recomputes users.crack_score for the whole user base, e.g. after a formula change.
+//
+// Users are read in id order, one forward-only page per partition, and each partition is
+// scored on a worker from the source tables with CrackScoreAggregator's range queries. Scores
+// are written back with one batched compare-and-set UPDATE per partition, so a score saved by
+// updateCrackScore while the partition was being computed is left alone. The scan is paced to
+// max-users-per-second. Completed partitions advance a checkpoint in crack_score_recompute_runs
+// (contiguous from the lowest id, since partitions finish out of order); a run interrupted by a
+// crash or error resumes from it on the next start. Each run is leased to one instance at a
+// time (see CrackScoreRecomputeRun), so instances never recompute the same run concurrently.
+@Component
+public class CrackScoreRecomputeJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(CrackScoreRecomputeJob.class);
+
+    private static final List<RunStatus> UNFINISHED = List.of(RunStatus.RUNNING, RunStatus.FAILED);
+
+    @Value("${crackscore.recompute.enabled:true}")
+    private boolean enabled;
+
+    @Value("${crackscore.recompute.partition-size:500}")
+    private int partitionSize;
+
+    @Value("${crackscore.recompute.parallelism:4}")
+    private int parallelism;
+
+    // 0 disables throttling
+    @Value("${crackscore.recompute.max-users-per-second:2000}")
+    private int maxUsersPerSecond;
+
+    @Value("${crackscore.recompute.progress-interval-seconds:30}")
+    private long progressIntervalSeconds;
+
+    // A RUNNING run whose owner has not checkpointed for this long may be taken over
+    @Value("${crackscore.recompute.lease-seconds:600}")
+    private long leaseSeconds;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CrackScoreAggregator aggregator;
+
+    @Autowired
+    private CrackScoreRecomputeRunRepository runRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Identifies this instance as the owner of a run's lease
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong usersProcessed = new AtomicLong();
+    private final AtomicLong usersChanged = new AtomicLong();
+    private volatile Long currentRunId;
+    private volatile long checkpointUserId;
+    private volatile long usersToProcess;
+    private volatile long runStartedAt;
+
+    private record Partition(long sequence, long[] userIds, int[] storedScores) {
+    }
+
+    private record PartitionResult(long sequence, long lastUserId, int users, int changed) {
+    }
+
+    @Scheduled(cron = "${crackscore.recompute.cron:0 30 3 * * *}")
+    public void nightly() {
+        if (enabled) {
+            run();
+        }
+    }
+
+    // A run cut short by a crash is picked up on start, once its lease has lapsed, instead of
+    // waiting for the next night
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        if (enabled && runRepository.findFirstByStatusInOrderByIdDesc(List.of(RunStatus.RUNNING)).isPresent()) {
+            CompletableFuture.runAsync(this::run);
+        }
+    }
+
+    // Returns false if a run is already in progress in this instance, or leased to another one
+    public boolean run() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism);
+        CrackScoreRecomputeRun run = null;
+        try {
+            run = claimRun();
+            if (run == null) {
+                logger.info("CrackScore recompute run is held by another instance");
+                return false;
+            }
+            execute(run, workers);
+            runRepository.finish(run.getId(), owner, RunStatus.COMPLETED, LocalDateTime.now(), null, null, RunStatus.RUNNING);
+            logger.info("CrackScore recompute run {} finished: {} users, {} scores changed, {} ms", run.getId(),
+                    run.getUsersProcessed(), run.getUsersChanged(), System.currentTimeMillis() - runStartedAt);
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            logger.error("CrackScore recompute run {} failed after user {}: {}", run != null ? run.getId() : null,
+                    checkpointUserId, e.getMessage(), e);
+            if (run != null) {
+                // A no-op if the lease was lost; the new owner carries on from its checkpoint
+                runRepository.finish(run.getId(), owner, RunStatus.FAILED, null, true,
+                        truncate(String.valueOf(e.getMessage()), 1000), RunStatus.RUNNING);
+            }
+        } finally {
+            workers.shutdownNow();
+            currentRunId = null;
+            running.set(false);
+        }
+        return true;
+    }
+
+    public Map<String, Object> getStatus() {
+        long processed = usersProcessed.get();
+        long elapsedMillis = System.currentTimeMillis() - runStartedAt;
+
+        Map<String, Object> status = new HashMap<>();
+        status.put("enabled", enabled);
+        status.put("running", running.get());
+        status.put("runId", currentRunId);
+        status.put("checkpointUserId", checkpointUserId);
+        status.put("usersProcessed", processed);
+        status.put("usersToProcess", usersToProcess);
+        status.put("usersChanged", usersChanged.get());
+        status.put("usersPerSecond", !running.get() || elapsedMillis <= 0 ? 0.0 : processed * 1000.0 / elapsedMillis);
+        runRepository.findFirstByStatusInOrderByIdDesc(List.of(RunStatus.COMPLETED, RunStatus.FAILED))
+                .ifPresent(run -> {
+                    status.put("lastRunStatus", run.getStatus());
+                    status.put("lastRunFinishedAt", run.getFinishedAt());
+                    status.put("lastRunError", run.getLastError());
+                });
+        return status;
+    }
+
+    // Leases the unfinished run, or starts a new one if there is none. Null if another instance
+    // holds the unfinished run, or started a new one at the same time.
+    private CrackScoreRecomputeRun claimRun() {
+        LocalDateTime now = LocalDateTime.now();
+        CrackScoreRecomputeRun run = runRepository.findFirstByStatusInOrderByIdDesc(UNFINISHED).orElse(null);
+        if (run != null) {
+            if (runRepository.claim(run.getId(), owner, now, now.minusSeconds(leaseSeconds),
+                    RunStatus.RUNNING, RunStatus.FAILED) == 0) {
+                return null;
+            }
+            run = runRepository.findById(run.getId()).orElseThrow();
+            logger.info("Resuming CrackScore recompute run {} after user {}", run.getId(), run.getCheckpointUserId());
+        } else {
+            run = new CrackScoreRecomputeRun();
+            run.setStartedAt(now);
+            run.setOwner(owner);
+            run.setLockedAt(now);
+            try {
+                run = runRepository.saveAndFlush(run);
+            } catch (DataIntegrityViolationException e) {
+                return null;
+            }
+        }
+
+        currentRunId = run.getId();
+        checkpointUserId = run.getCheckpointUserId();
+        usersProcessed.set(0);
+        usersChanged.set(0);
+        usersToProcess = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE id > ?", Long.class,
+                run.getCheckpointUserId());
+        runStartedAt = System.currentTimeMillis();
+        return run;
+    }
+
+    private void execute(CrackScoreRecomputeRun run, ExecutorService workers) throws Exception {
+        CompletionService<PartitionResult> completion = new ExecutorCompletionService<>(workers);
+        TreeMap<Long, PartitionResult> finished = new TreeMap<>();
+        long[] nextToCheckpoint = { 0 };
+        long afterUserId = run.getCheckpointUserId();
+        long sequence = 0;
+        long submittedUsers = 0;
+        long scanStart = System.nanoTime();
+        long lastProgress = System.currentTimeMillis();
+        int inFlight = 0;
+
+        while (true) {
+            Partition partition = readPartition(sequence++, afterUserId);
+            int size = partition.userIds().length;
+            if (size == 0) {
+                break;
+            }
+            afterUserId = partition.userIds()[size - 1];
+            completion.submit(() -> recompute(partition));
+            inFlight++;
+
+            // Keep at most one partition per worker in flight
+            if (inFlight >= parallelism) {
+                collect(run, completion, finished, nextToCheckpoint);
+                inFlight--;
+            }
+
+            submittedUsers += size;
+            throttle(submittedUsers, scanStart);
+
+            if (System.currentTimeMillis() - lastProgress >= progressIntervalSeconds * 1_000) {
+                lastProgress = System.currentTimeMillis();
+                logProgress(run);
+            }
+            if (size < partitionSize) {
+                break;
+            }
+        }
+        while (inFlight > 0) {
+            collect(run, completion, finished, nextToCheckpoint);
+            inFlight--;
+        }
+    }
+
+    private Partition readPartition(long sequence, long afterUserId) {
+        List<long[]> rows = jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "SELECT id, COALESCE(crack_score, 0) AS crack_score FROM users WHERE id > ? ORDER BY id LIMIT ?",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(partitionSize);
+            statement.setLong(1, afterUserId);
+            statement.setInt(2, partitionSize);
+            return statement;
+        }, (row, rowNum) -> new long[] { row.getLong("id"), row.getInt("crack_score") });
+
+        long[] userIds = new long[rows.size()];
+        int[] storedScores = new int[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            userIds[i] = rows.get(i)[0];
+            storedScores[i] = (int) rows.get(i)[1];
+        }
+        return new Partition(sequence, userIds, storedScores);
+    }
+
+    private PartitionResult recompute(Partition partition) {
+        long[] userIds = partition.userIds();
+        Map<Long, CrackScoreAggregate> aggregates = aggregator.compute(userIds[0], userIds[userIds.length - 1]);
+
+        List<Object[]> updates = new ArrayList<>();
+        List<long[]> candidates = new ArrayList<>();
+        for (int i = 0; i < userIds.length; i++) {
+            CrackScoreAggregate aggregate = aggregates.get(userIds[i]);
+            int score = aggregate == null ? 0 : CrackScoreFormula.score(aggregate);
+            if (score != partition.storedScores()[i]) {
+                updates.add(new Object[] { score, userIds[i], partition.storedScores()[i] });
+                candidates.add(new long[] { userIds[i], score });
+            }
+        }
+
+        int changed = 0;
+        if (!updates.isEmpty()) {
+            int[] counts = jdbcTemplate.batchUpdate(
+                    "UPDATE users SET crack_score = ? WHERE id = ? AND COALESCE(crack_score, 0) = ?", updates);
+            List<Integer> unknown = new ArrayList<>();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    changed++;
+                    eventPublisher.publishEvent(
+                            CrackScoreChangedEvent.scoreChanged(candidates.get(i)[0], (int) candidates.get(i)[1]));
+                } else if (counts[i] == Statement.SUCCESS_NO_INFO) {
+                    unknown.add(i);
+                }
+            }
+            if (!unknown.isEmpty()) {
+                // Rewritten batches do not say which rows matched; a row now holding the new score was written
+                Map<Long, Integer> current = new HashMap<>();
+                jdbcTemplate.query("SELECT id, COALESCE(crack_score, 0) AS crack_score FROM users WHERE id BETWEEN ? AND ?",
+                        row -> {
+                            current.put(row.getLong("id"), row.getInt("crack_score"));
+                        },
+                        candidates.get(unknown.get(0))[0], candidates.get(unknown.get(unknown.size() - 1))[0]);
+                for (int i : unknown) {
+                    long[] candidate = candidates.get(i);
+                    if (current.getOrDefault(candidate[0], -1) == (int) candidate[1]) {
+                        changed++;
+                        eventPublisher.publishEvent(CrackScoreChangedEvent.scoreChanged(candidate[0], (int) candidate[1]));
+                    }
+                }
+            }
+        }
+        return new PartitionResult(partition.sequence(), userIds[userIds.length - 1], userIds.length, changed);
+    }
+
+    private void collect(CrackScoreRecomputeRun run, CompletionService<PartitionResult> completion,
+            TreeMap<Long, PartitionResult> finished, long[] nextToCheckpoint) throws Exception {
+        PartitionResult result;
+        try {
+            result = completion.take().get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+        usersProcessed.addAndGet(result.users());
+        usersChanged.addAndGet(result.changed());
+        finished.put(result.sequence(), result);
+
+        boolean advanced = false;
+        while (finished.containsKey(nextToCheckpoint[0])) {
+            PartitionResult done = finished.remove(nextToCheckpoint[0]++);
+            run.setCheckpointUserId(done.lastUserId());
+            run.setUsersProcessed(run.getUsersProcessed() + done.users());
+            run.setUsersChanged(run.getUsersChanged() + done.changed());
+            advanced = true;
+        }
+        if (advanced) {
+            checkpointUserId = run.getCheckpointUserId();
+            if (runRepository.checkpoint(run.getId(), owner, run.getCheckpointUserId(), run.getUsersProcessed(),
+                    run.getUsersChanged(), LocalDateTime.now(), RunStatus.RUNNING) == 0) {
+                throw new IllegalStateException("Lost the lease on CrackScore recompute run " + run.getId());
+            }
+        }
+    }
+
+    // Sleeps so that users are submitted no faster than max-users-per-second on average
+    private void throttle(long submittedUsers, long scanStart) throws InterruptedException {
+        if (maxUsersPerSecond <= 0) {
+            return;
+        }
+        long dueNanos = submittedUsers * 1_000_000_000L / maxUsersPerSecond;
+        long aheadNanos = dueNanos - (System.nanoTime() - scanStart);
+        if (aheadNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(aheadNanos);
+        }
+    }
+
+    private void logProgress(CrackScoreRecomputeRun run) {
+        long processed = usersProcessed.get();
+        long elapsedMillis = Math.max(1, System.currentTimeMillis() - runStartedAt);
+        logger.info("CrackScore recompute run {}: {}/{} users ({} changed), checkpoint user {}, {} users/s",
+                run.getId(), processed, usersToProcess, usersChanged.get(), checkpointUserId,
+                processed * 1000 / elapsedMillis);
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+}
@@ -0,0 +1,173 @@
+package com.codifyme.service.job;
+
+import com.codifyme.model.TaskPlan;
+import com.codifyme.model.TaskProgress;
+import com.codifyme.model.TaskVersions;
+import com.codifyme.service.DailyTaskService;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// One-time move of per-row daily tasks onto shared task plans. Each roadmap that still has
+// rows in the old daily_tasks table gets the plan holding the same tasks (created on first
+// use) and a progress bitset built from the completed flags, then its rows are deleted. Row
+// ids and versions carry over: legacy_task_ids maps each old id to its task's index and the
+// row versions become the tasks' versions, so clients holding them keep working. A roadmap
+// with more tasks than a plan can hold is left in daily_tasks and reported, never truncated.
+// Runs before the web server starts; once daily_tasks is empty it can be dropped by hand.
+@Component
+@DependsOn("entityManagerFactory")
+public class DailyTaskMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(DailyTaskMigration.class);
+
+    private static final String LEGACY_TABLE = "daily_tasks";
+
+    @Value("${roadmap.task-plans.migration-batch-size:200}")
+    private int batchSize;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DailyTaskService dailyTaskService;
+
+    @PostConstruct
+    public void migrate() {
+        if (!tableExists(LEGACY_TABLE)) {
+            return;
+        }
+        // Tables created before per-row versions have no version column
+        boolean versioned = columnExists(LEGACY_TABLE, "version");
+        long start = System.currentTimeMillis();
+        long migrated = 0;
+        long failed = 0;
+        long afterId = 0;
+        List<Long> roadmapIds;
+        do {
+            // Keyset over roadmap ids, so roadmaps that fail to migrate are not picked up again
+            roadmapIds = jdbcTemplate.queryForList(
+                    "SELECT DISTINCT roadmap_id FROM " + LEGACY_TABLE + " WHERE roadmap_id > ? ORDER BY roadmap_id LIMIT ?",
+                    Long.class, afterId, batchSize);
+            for (Long roadmapId : roadmapIds) {
+                if (migrateRoadmap(roadmapId, versioned)) {
+                    migrated++;
+                } else {
+                    failed++;
+                }
+                afterId = roadmapId;
+            }
+        } while (roadmapIds.size() == batchSize);
+
+        if (migrated > 0 || failed > 0) {
+            logger.info("Moved the daily tasks of {} roadmaps onto task plans in {} ms; {} roadmaps left in {}",
+                    migrated, System.currentTimeMillis() - start, failed, LEGACY_TABLE);
+        }
+    }
+
+    private boolean migrateRoadmap(Long roadmapId, boolean versioned) {
+        List<Long> ids = new ArrayList<>();
+        List<TaskPlan.Task> tasks = new ArrayList<>();
+        List<Boolean> completed = new ArrayList<>();
+        List<Long> versions = new ArrayList<>();
+        jdbcTemplate.query(
+                "SELECT id, day_number, title, description, resources, completed" + (versioned ? ", version" : "")
+                        + " FROM " + LEGACY_TABLE + " WHERE roadmap_id = ? ORDER BY day_number, id",
+                row -> {
+                    ids.add(row.getLong("id"));
+                    tasks.add(new TaskPlan.Task(
+                            row.getObject("day_number", Integer.class),
+                            row.getString("title"),
+                            row.getString("description"),
+                            row.getString("resources")));
+                    completed.add(row.getBoolean("completed"));
+                    versions.add(versioned ? row.getLong("version") : 0L);
+                },
+                roadmapId);
+
+        if (tasks.size() > TaskProgress.MAX_TASKS) {
+            logger.error("Roadmap {} has {} daily tasks but a task plan holds at most {}; leaving its rows in {}",
+                    roadmapId, tasks.size(), TaskProgress.MAX_TASKS, LEGACY_TABLE);
+            return false;
+        }
+        TaskProgress progress = TaskProgress.empty();
+        TaskVersions taskVersions = TaskVersions.empty();
+        long maxVersion = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            progress = progress.withCompleted(i, completed.get(i));
+            if (versions.get(i) != 0) {
+                taskVersions = taskVersions.with(i, versions.get(i));
+                maxVersion = Math.max(maxVersion, versions.get(i));
+            }
+        }
+
+        TaskPlan plan = dailyTaskService.findOrCreatePlan(tasks);
+        byte[] progressBytes = progress.toBytes();
+        byte[] versionBytes = taskVersions.toBytes();
+        long roadmapVersion = maxVersion;
+        transactionTemplate.executeWithoutResult(status -> {
+            // The roadmap version must not fall below a task version, or a later stamp could repeat one
+            int updated = jdbcTemplate.update("UPDATE roadmaps SET task_plan_id = ?, task_progress = ?, task_versions = ?, "
+                            + "version = GREATEST(version, ?) WHERE id = ? AND task_plan_id IS NULL",
+                    plan != null ? plan.getId() : null, progressBytes, versionBytes, roadmapVersion, roadmapId);
+            if (updated == 1) {
+                List<Object[]> aliases = new ArrayList<>();
+                for (int i = 0; i < ids.size(); i++) {
+                    aliases.add(new Object[] { ids.get(i), roadmapId, i });
+                }
+                jdbcTemplate.batchUpdate("INSERT INTO legacy_task_ids (id, roadmap_id, task_index) VALUES (?, ?, ?)", aliases);
+            } else {
+                // The roadmap is gone or already has a plan, so these rows are not reachable anyway
+                logger.warn("Roadmap {} has no place for its {} daily tasks; deleting them", roadmapId, ids.size());
+            }
+            jdbcTemplate.update("DELETE FROM " + LEGACY_TABLE + " WHERE roadmap_id = ?", roadmapId);
+        });
+        return true;
+    }
+
+    private boolean tableExists(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((Connection connection) -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            // Identifier case depends on the database, so try both spellings
+            return hasTable(metaData, connection.getCatalog(), table)
+                    || hasTable(metaData, connection.getCatalog(), table.toUpperCase(Locale.ROOT));
+        }));
+    }
+
+    private boolean columnExists(String table, String column) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((Connection connection) -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            return hasColumn(metaData, connection.getCatalog(), table, column)
+                    || hasColumn(metaData, connection.getCatalog(), table.toUpperCase(Locale.ROOT), column.toUpperCase(Locale.ROOT));
+        }));
+    }
+
+    private static boolean hasColumn(DatabaseMetaData metaData, String catalog, String table, String column) throws SQLException {
+        try (ResultSet columns = metaData.getColumns(catalog, null, table, column)) {
+            return columns.next();
+        }
+    }
+
+    private static boolean hasTable(DatabaseMetaData metaData, String catalog, String table) throws SQLException {
+        try (ResultSet tables = metaData.getTables(catalog, null, table, null)) {
+            return tables.next();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.codifyme.service.job;
+
+import com.codifyme.model.Interview;
+import com.codifyme.payload.response.InterviewResponse;
+import com.codifyme.repository.InterviewRepository;
+import com.codifyme.service.InterviewService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Fans finished interview feedback out to clients waiting on GET /api/interviews/{id}/events.
+// Subscribers live in this instance's memory, and the worker that finishes an interview only
+// publishes to its own instance, so each instance also polls the rows its subscribers wait on
+// and delivers results finished elsewhere.
+@Component
+public class InterviewFeedbackNotifier {
+
+    private static final long EMITTER_TIMEOUT_MS = 180_000L;
+
+    @Autowired
+    private InterviewRepository interviewRepository;
+
+    @Autowired
+    private InterviewService interviewService;
+
+    private final Map<Long, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    public SseEmitter subscribe(Long interviewId) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        subscribers.computeIfAbsent(interviewId, id -> new CopyOnWriteArrayList<>()).add(emitter);
+
+        Runnable remove = () -> subscribers.computeIfPresent(interviewId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${interview.feedback.notifier-poll-interval-ms:2000}")
+    public void deliverFinished() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        for (Long interviewId : interviewRepository.findFinishedIds(List.copyOf(subscribers.keySet()),
+                Interview.FeedbackStatus.PENDING)) {
+            interviewRepository.findById(interviewId)
+                    .ifPresent(interview -> publish(interviewService.toResponse(interview)));
+        }
+    }
+
+    public void publish(InterviewResponse interview) {
+        List<SseEmitter> emitters = subscribers.remove(interview.getId());
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().name("feedback").data(interview));
+                emitter.complete();
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.codifyme.service.job;
+
+import com.codifyme.model.Interview;
+import com.codifyme.model.InterviewFeedbackJob;
+import com.codifyme.model.InterviewFeedbackJob.JobStatus;
+import com.codifyme.payload.response.InterviewResponse;
+import com.codifyme.repository.InterviewFeedbackJobRepository;
+import com.codifyme.service.AIService;
+import com.codifyme.service.InterviewService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Drains the interview_feedback_jobs queue with a bounded pool of workers.
+// Failed attempts are retried with exponential backoff; the last attempt accepts the
+// fallback feedback so an interview never stays pending forever.
+@Component
+public class InterviewFeedbackWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(InterviewFeedbackWorker.class);
+
+    @Value("${interview.feedback.workers:8}")
+    private int workerCount;
+
+    @Value("${interview.feedback.max-attempts:4}")
+    private int maxAttempts;
+
+    @Value("${interview.feedback.backoff-base-seconds:5}")
+    private long backoffBaseSeconds;
+
+    @Value("${interview.feedback.attempt-timeout-seconds:120}")
+    private long attemptTimeoutSeconds;
+
+    // A RUNNING job older than this is assumed to belong to a crashed worker
+    @Value("${interview.feedback.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Autowired
+    private InterviewFeedbackJobRepository jobRepository;
+
+    @Autowired
+    private InterviewService interviewService;
+
+    @Autowired
+    private AIService aiService;
+
+    @Autowired
+    private InterviewFeedbackNotifier notifier;
+
+    private ExecutorService workers;
+    private final AtomicInteger busyWorkers = new AtomicInteger();
+
+    @PostConstruct
+    void init() {
+        workers = Executors.newFixedThreadPool(workerCount);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdown();
+    }
+
+    @Scheduled(fixedDelayString = "${interview.feedback.poll-interval-ms:500}")
+    public void dispatchDueJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        int released = jobRepository.releaseExpiredLeases(now.minusSeconds(leaseSeconds), now,
+                JobStatus.PENDING, JobStatus.RUNNING);
+        if (released > 0) {
+            logger.warn("Requeued {} interview feedback jobs with expired leases", released);
+        }
+
+        int capacity = workerCount - busyWorkers.get();
+        if (capacity <= 0) {
+            return;
+        }
+
+        List<InterviewFeedbackJob> due = jobRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(
+                JobStatus.PENDING, now, PageRequest.of(0, capacity));
+        for (InterviewFeedbackJob job : due) {
+            if (jobRepository.claim(job.getId(), now, JobStatus.PENDING, JobStatus.RUNNING) == 1) {
+                busyWorkers.incrementAndGet();
+                workers.execute(() -> {
+                    try {
+                        process(job.getId());
+                    } finally {
+                        busyWorkers.decrementAndGet();
+                    }
+                });
+            }
+        }
+    }
+
+    private void process(Long jobId) {
+        InterviewFeedbackJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+
+        try {
+            Interview interview = interviewService.getInterviewById(job.getInterviewId());
+            boolean lastAttempt = job.getAttempts() >= maxAttempts;
+
+            String feedbackJson = (lastAttempt
+                    ? aiService.generateInterviewFeedbackAsync(interview.getTranscript(), job.getJobRole())
+                    : aiService.tryGenerateInterviewFeedbackAsync(interview.getTranscript(), job.getJobRole()))
+                    .get(attemptTimeoutSeconds, TimeUnit.SECONDS);
+
+            InterviewResponse response = interviewService.completeFeedback(interview.getId(), feedbackJson);
+            job.setStatus(JobStatus.DONE);
+            job.setLastError(null);
+            jobRepository.save(job);
+            notifier.publish(response);
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            onFailure(job, e);
+        }
+    }
+
+    private void onFailure(InterviewFeedbackJob job, Exception error) {
+        String message = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+        job.setLastError(message.length() > 1000 ? message.substring(0, 1000) : message);
+
+        if (job.getAttempts() >= maxAttempts) {
+            logger.error("Interview feedback job {} failed permanently: {}", job.getId(), message);
+            job.setStatus(JobStatus.FAILED);
+            jobRepository.save(job);
+            notifier.publish(interviewService.failFeedback(job.getInterviewId()));
+            return;
+        }
+
+        // Exponential backoff with jitter: base * 2^(attempt-1), +/- 20%
+        long delayMillis = backoffBaseSeconds * 1000L << (job.getAttempts() - 1);
+        delayMillis += (long) (delayMillis * 0.2 * (2 * ThreadLocalRandom.current().nextDouble() - 1));
+        logger.warn("Interview feedback job {} attempt {} failed, retrying in {} ms: {}",
+                job.getId(), job.getAttempts(), delayMillis, message);
+
+        job.setStatus(JobStatus.PENDING);
+        job.setNextAttemptAt(LocalDateTime.now().plusNanos(delayMillis * 1_000_000));
+        jobRepository.save(job);
+    }
+}
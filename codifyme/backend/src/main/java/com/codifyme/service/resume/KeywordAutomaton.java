@@ -0,0 +1,183 @@
+package com.codifyme.service.resume;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Aho-Corasick automaton compiled into a dense DFA: every state has a transition for every
+// symbol, so scanning is one array lookup per character with no failure-link chasing.
+// Matches only count on word boundaries, so "java" does not fire inside "javascript".
+// Immutable once built and safe to share between threads.
+public final class KeywordAutomaton {
+
+    public enum Kind {
+        SKILL,
+        ACTION_VERB,
+        WEAK_PHRASE
+    }
+
+    public record Keyword(String term, Kind kind) {
+    }
+
+    @FunctionalInterface
+    public interface MatchHandler {
+        // start is the offset of the match in the line after leading bullet characters are skipped
+        void onMatch(Keyword keyword, int start);
+    }
+
+    // 0 is the word separator; letters, digits and the few symbols used in tech names follow
+    private static final int SEPARATOR = 0;
+    private static final String SYMBOLS = "abcdefghijklmnopqrstuvwxyz0123456789+#.-/";
+    private static final int ALPHABET = SYMBOLS.length() + 1;
+    private static final int FIRST_PUNCTUATION = 1 + SYMBOLS.indexOf('+');
+    private static final byte[] CLASS_OF = new byte[128];
+
+    static {
+        for (int i = 0; i < SYMBOLS.length(); i++) {
+            CLASS_OF[SYMBOLS.charAt(i)] = (byte) (i + 1);
+            char upper = Character.toUpperCase(SYMBOLS.charAt(i));
+            if (upper != SYMBOLS.charAt(i)) {
+                CLASS_OF[upper] = (byte) (i + 1);
+            }
+        }
+    }
+
+    private final List<Keyword> keywords;
+    private final int[] patternLength;
+    private final int[][] next;
+    // Keyword ending at this state, or -1
+    private final int[] output;
+    // Nearest state on the failure chain that has an output, or -1
+    private final int[] outputLink;
+
+    public KeywordAutomaton(List<Keyword> keywords) {
+        this.keywords = List.copyOf(keywords);
+        this.patternLength = new int[this.keywords.size()];
+
+        List<int[]> transitions = new ArrayList<>();
+        List<Integer> outputs = new ArrayList<>();
+        transitions.add(newState());
+        outputs.add(-1);
+
+        for (int id = 0; id < this.keywords.size(); id++) {
+            byte[] pattern = normalize(this.keywords.get(id).term());
+            patternLength[id] = pattern.length;
+            if (pattern.length == 0) {
+                continue;
+            }
+            int state = 0;
+            for (byte symbol : pattern) {
+                if (transitions.get(state)[symbol] == 0) {
+                    transitions.get(state)[symbol] = transitions.size();
+                    transitions.add(newState());
+                    outputs.add(-1);
+                }
+                state = transitions.get(state)[symbol];
+            }
+            // First registration of a term wins; later duplicates are ignored
+            if (outputs.get(state) == -1) {
+                outputs.set(state, id);
+            }
+        }
+
+        int states = transitions.size();
+        next = transitions.toArray(new int[0][]);
+        output = new int[states];
+        outputLink = new int[states];
+        for (int s = 0; s < states; s++) {
+            output[s] = outputs.get(s);
+        }
+        Arrays.fill(outputLink, -1);
+
+        // Breadth-first: fill missing transitions from the failure state to turn the trie into a DFA
+        int[] fail = new int[states];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < ALPHABET; symbol++) {
+            int child = next[0][symbol];
+            if (child != 0) {
+                fail[child] = 0;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int failState = fail[state];
+            outputLink[state] = output[failState] >= 0 ? failState : outputLink[failState];
+            for (int symbol = 0; symbol < ALPHABET; symbol++) {
+                int child = next[state][symbol];
+                if (child != 0) {
+                    fail[child] = next[failState][symbol];
+                    queue.add(child);
+                } else {
+                    next[state][symbol] = next[failState][symbol];
+                }
+            }
+        }
+    }
+
+    public List<Keyword> keywords() {
+        return keywords;
+    }
+
+    public int size() {
+        return keywords.size();
+    }
+
+    // Scans one line in a single pass. Runs of separators collapse to one, so "spring  boot"
+    // still matches "spring boot"
+    public void scan(CharSequence line, MatchHandler handler) {
+        byte[] text = normalize(line);
+        int state = 0;
+        for (int i = 0; i < text.length; i++) {
+            state = next[state][text[i]];
+            int match = output[state] >= 0 ? state : outputLink[state];
+            while (match >= 0) {
+                int id = output[match];
+                int start = i - patternLength[id] + 1;
+                if (isBoundary(text, start - 1) && isBoundary(text, i + 1)) {
+                    handler.onMatch(keywords.get(id), start);
+                }
+                match = outputLink[match];
+            }
+        }
+    }
+
+    private static int[] newState() {
+        return new int[ALPHABET];
+    }
+
+    // Lowercases into symbol classes, collapses separator runs and drops leading bullet glyphs
+    private static byte[] normalize(CharSequence text) {
+        byte[] out = new byte[text.length()];
+        int length = 0;
+        boolean started = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            byte symbol = c < 128 ? CLASS_OF[c] : SEPARATOR;
+            if (!started) {
+                if (symbol == SEPARATOR || symbol >= FIRST_PUNCTUATION) {
+                    continue;
+                }
+                started = true;
+            }
+            if (symbol == SEPARATOR && out[length - 1] == SEPARATOR) {
+                continue;
+            }
+            out[length++] = symbol;
+        }
+        while (length > 0 && out[length - 1] == SEPARATOR) {
+            length--;
+        }
+        return Arrays.copyOf(out, length);
+    }
+
+    // Word boundary: outside the text, a separator, or trailing punctuation like "java." or "c++,"
+    private static boolean isBoundary(byte[] text, int index) {
+        if (index < 0 || index >= text.length) {
+            return true;
+        }
+        byte symbol = text[index];
+        return symbol == SEPARATOR || (symbol >= FIRST_PUNCTUATION && symbol != CLASS_OF['+'] && symbol != CLASS_OF['#']);
+    }
+}
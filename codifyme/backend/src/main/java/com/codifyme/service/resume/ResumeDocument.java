@@ -0,0 +1,15 @@
+package com.codifyme.service.resume;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Text extracted from an uploaded resume, already split into sections. truncated is set when
+// the document was larger than the per-request extraction ceiling.
+public record ResumeDocument(List<ResumeSection> sections, int pages, int characters, boolean truncated) {
+
+    public String fullText() {
+        return sections.stream()
+                .map(section -> section.heading() + "\n" + section.text())
+                .collect(Collectors.joining("\n\n"));
+    }
+}
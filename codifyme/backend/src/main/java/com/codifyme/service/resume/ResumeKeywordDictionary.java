@@ -0,0 +1,145 @@
+package com.codifyme.service.resume;
+
+import com.codifyme.service.resume.KeywordAutomaton.Keyword;
+import com.codifyme.service.resume.KeywordAutomaton.Kind;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Keyword dictionary for ATS scoring. The built-in skills, action verbs and weak phrases are
+// compiled once; a job description adds its own technical terms on top, and the compiled
+// automaton for each description is kept in a small LRU so repeat scans skip compilation.
+@Component
+public class ResumeKeywordDictionary {
+
+    // Part of the stored-analysis cache key; bump on any change to the lists or term extraction
+    public static final int VERSION = 1;
+
+    private static final List<String> SKILLS = List.of(
+            // Languages
+            "Java", "Python", "JavaScript", "TypeScript", "C++", "C#", "Golang", "Rust", "Kotlin", "Swift",
+            "Scala", "Ruby", "PHP", "SQL", "Dart", "Bash",
+            // Backend and frameworks
+            "Spring", "Spring Boot", "Hibernate", "Node.js", "Express", "Django", "Flask", "FastAPI", ".NET",
+            "ASP.NET", "Rails", "GraphQL", "REST", "REST APIs", "gRPC", "Microservices", "Kafka", "RabbitMQ",
+            // Frontend and mobile
+            "React", "Angular", "Vue", "Next.js", "Redux", "HTML", "CSS", "Tailwind", "Android", "iOS", "Flutter",
+            "React Native",
+            // Data stores
+            "MySQL", "PostgreSQL", "MongoDB", "Redis", "Cassandra", "DynamoDB", "Elasticsearch", "Oracle",
+            "SQL Server", "Snowflake", "BigQuery",
+            // Cloud and infrastructure
+            "AWS", "Azure", "GCP", "Docker", "Kubernetes", "Terraform", "Ansible", "Jenkins", "CI/CD",
+            "GitHub Actions", "Linux", "Nginx", "Serverless", "Lambda", "EC2", "S3",
+            // Data and ML
+            "Machine Learning", "Deep Learning", "TensorFlow", "PyTorch", "scikit-learn", "Pandas", "NumPy",
+            "Spark", "Hadoop", "Airflow", "ETL", "Tableau", "Power BI", "Excel", "Statistics", "NLP",
+            "Computer Vision", "LLM",
+            // Practices
+            "Data Structures", "Algorithms", "System Design", "Distributed Systems", "Design Patterns", "OOP",
+            "Unit Testing", "JUnit", "Selenium", "Agile", "Scrum", "Git", "Jira", "Security", "OAuth", "JWT",
+            "Performance Tuning", "Caching", "Multithreading", "Concurrency");
+
+    private static final List<String> ACTION_VERBS = List.of(
+            "Architected", "Built", "Designed", "Developed", "Delivered", "Implemented", "Led", "Launched",
+            "Optimized", "Improved", "Reduced", "Increased", "Automated", "Migrated", "Scaled", "Refactored",
+            "Mentored", "Owned", "Created", "Engineered", "Deployed", "Streamlined", "Spearheaded", "Shipped",
+            "Integrated", "Analyzed", "Resolved", "Accelerated", "Established", "Drove");
+
+    private static final List<String> WEAK_PHRASES = List.of(
+            "worked on", "responsible for", "helped with", "assisted in", "involved in", "duties included",
+            "participated in", "tasked with");
+
+    // Words that look technical by shape but carry no signal in a job description
+    private static final Set<String> JD_STOPWORDS = Set.of(
+            "we", "you", "our", "the", "and", "or", "a", "an", "in", "of", "to", "for", "with", "is", "are",
+            "ii", "iii", "us", "eg", "ie", "etc", "llc", "inc", "ltd", "usa", "uk", "eu", "hr", "ok", "faq", "ctc",
+            "lpa", "wfh", "ai", "bs", "ms", "phd", "mba", "sde", "swe", "eod", "pto");
+
+    // Acronyms (AWS, REST) and tokens with tech punctuation or digits (node.js, c++, s3, ec2)
+    private static final Pattern JD_TERM = Pattern.compile(
+            "(?<![A-Za-z0-9])([A-Z][A-Z0-9]{1,6}|[A-Za-z][A-Za-z0-9]*(?:\\.[A-Za-z0-9]+|[+#]+|[0-9][A-Za-z0-9]*))(?![A-Za-z0-9+#])");
+
+    @Value("${resume.keywords.automaton-cache-size:256}")
+    private int cacheSize;
+
+    private final KeywordAutomaton baseAutomaton = new KeywordAutomaton(baseKeywords());
+
+    private final Map<String, Compiled> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Automaton for a scan plus the skills the resume is expected to contain
+    public record Compiled(KeywordAutomaton automaton, List<String> targetSkills) {
+    }
+
+    public Compiled compile(String jobDescription) {
+        if (jobDescription == null || jobDescription.isBlank()) {
+            return new Compiled(baseAutomaton, List.of());
+        }
+
+        String key = jobDescription.strip();
+        synchronized (cache) {
+            Compiled cached = cache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        // Skills the dictionary already knows, found with the base automaton in one pass per line
+        Set<String> targets = new LinkedHashSet<>();
+        Set<String> known = new LinkedHashSet<>();
+        for (Keyword keyword : baseAutomaton.keywords()) {
+            known.add(keyword.term().toLowerCase(Locale.ROOT));
+        }
+        key.lines().forEach(line -> baseAutomaton.scan(line, (keyword, start) -> {
+            if (keyword.kind() == Kind.SKILL) {
+                targets.add(keyword.term());
+            }
+        }));
+
+        // Technical-looking terms the dictionary does not know yet
+        List<Keyword> extra = new ArrayList<>();
+        Matcher matcher = JD_TERM.matcher(key);
+        while (matcher.find()) {
+            String term = matcher.group(1);
+            String lower = term.toLowerCase(Locale.ROOT);
+            if (JD_STOPWORDS.contains(lower) || !known.add(lower)) {
+                continue;
+            }
+            extra.add(new Keyword(term, Kind.SKILL));
+            targets.add(term);
+        }
+
+        KeywordAutomaton automaton = baseAutomaton;
+        if (!extra.isEmpty()) {
+            List<Keyword> keywords = new ArrayList<>(baseAutomaton.keywords());
+            keywords.addAll(extra);
+            automaton = new KeywordAutomaton(keywords);
+        }
+        Compiled compiled = new Compiled(automaton, List.copyOf(targets));
+
+        synchronized (cache) {
+            cache.put(key, compiled);
+            if (cache.size() > cacheSize) {
+                cache.remove(cache.keySet().iterator().next());
+            }
+        }
+        return compiled;
+    }
+
+    private static List<Keyword> baseKeywords() {
+        List<Keyword> keywords = new ArrayList<>();
+        SKILLS.forEach(skill -> keywords.add(new Keyword(skill, Kind.SKILL)));
+        ACTION_VERBS.forEach(verb -> keywords.add(new Keyword(verb, Kind.ACTION_VERB)));
+        WEAK_PHRASES.forEach(phrase -> keywords.add(new Keyword(phrase, Kind.WEAK_PHRASE)));
+        return keywords;
+    }
+}
@@ -0,0 +1,7 @@
+package com.codifyme.service.resume;
+
+import java.util.List;
+
+public record ResumeScore(int atsScore, String status, List<String> matchedKeywords, List<String> missingKeywords,
+        List<String> feedback, String summary) {
+}
@@ -0,0 +1,114 @@
+package com.codifyme.service.resume;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// Deterministic ATS score from the section reports: keyword coverage carries most of the
+// weight, followed by section presence, action-verb usage and quantified impact
+@Component
+public class ResumeScorer {
+
+    // Part of the stored-analysis cache key; bump on any change to weights, targets or feedback
+    public static final int VERSION = 1;
+
+    private static final double KEYWORD_WEIGHT = 0.50;
+    private static final double SECTION_WEIGHT = 0.20;
+    private static final double VERB_WEIGHT = 0.15;
+    private static final double QUANTIFIED_WEIGHT = 0.15;
+
+    // Without a job description, this many distinct skills counts as full coverage
+    private static final int GENERIC_SKILL_TARGET = 12;
+    private static final int MAX_FEEDBACK_ITEMS = 5;
+
+    @Value("${resume.score.shortlist-threshold:75}")
+    private int shortlistThreshold;
+
+    @Autowired
+    private ResumeSectionAnalyzer sectionAnalyzer;
+
+    public ResumeScore score(List<SectionReport> reports, List<String> targetSkills) {
+        Set<String> found = new LinkedHashSet<>();
+        Set<String> sections = new HashSet<>();
+        int impactBullets = 0;
+        int strongVerbBullets = 0;
+        int quantifiedBullets = 0;
+        int weakPhrases = 0;
+        for (SectionReport report : reports) {
+            report.skills().forEach(skill -> found.add(skill.toLowerCase(Locale.ROOT)));
+            sections.add(report.heading());
+            weakPhrases += report.weakPhrases().size();
+            if ("Experience".equals(report.heading()) || "Projects".equals(report.heading())) {
+                impactBullets += report.bullets();
+                strongVerbBullets += report.strongVerbBullets();
+                quantifiedBullets += report.quantifiedBullets();
+            }
+        }
+
+        List<String> matched = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        double keywordCoverage;
+        if (targetSkills.isEmpty()) {
+            keywordCoverage = Math.min(1.0, (double) found.size() / GENERIC_SKILL_TARGET);
+            reports.forEach(report -> report.skills().stream().filter(skill -> !matched.contains(skill))
+                    .forEach(matched::add));
+        } else {
+            for (String skill : targetSkills) {
+                (found.contains(skill.toLowerCase(Locale.ROOT)) ? matched : missing).add(skill);
+            }
+            keywordCoverage = (double) matched.size() / targetSkills.size();
+        }
+
+        double sectionCoverage = ResumeSectionAnalyzer.REQUIRED_SECTIONS.stream().filter(sections::contains).count()
+                / (double) ResumeSectionAnalyzer.REQUIRED_SECTIONS.size();
+        double verbScore = impactBullets == 0 ? 0.0
+                : Math.max(0.0, (double) strongVerbBullets / impactBullets - 0.1 * weakPhrases);
+        // Half of the impact bullets carrying a number is treated as fully quantified
+        double quantifiedScore = impactBullets == 0 ? 0.0
+                : Math.min(1.0, quantifiedBullets / (impactBullets * 0.5));
+
+        double raw = KEYWORD_WEIGHT * keywordCoverage
+                + SECTION_WEIGHT * sectionCoverage
+                + VERB_WEIGHT * Math.min(1.0, verbScore)
+                + QUANTIFIED_WEIGHT * quantifiedScore;
+        int atsScore = (int) Math.round(Math.max(0.0, Math.min(1.0, raw)) * 100);
+        String status = atsScore >= shortlistThreshold ? "SHORTLISTED" : "REJECTED";
+
+        List<String> feedback = new ArrayList<>();
+        if (!missing.isEmpty()) {
+            feedback.add(missingKeywordsFeedback(missing));
+        }
+        feedback.addAll(sectionAnalyzer.feedback(reports));
+        if (feedback.size() > MAX_FEEDBACK_ITEMS) {
+            feedback = new ArrayList<>(feedback.subList(0, MAX_FEEDBACK_ITEMS));
+        }
+
+        return new ResumeScore(atsScore, status, matched, missing, feedback, summary(atsScore, keywordCoverage));
+    }
+
+    private static String missingKeywordsFeedback(List<String> missing) {
+        if (missing.size() == 1) {
+            return "Missing key technical keyword '" + missing.get(0) + "' from the job description";
+        }
+        return "Missing key technical keywords like '" + missing.get(0) + "' and '" + missing.get(1) + "'";
+    }
+
+    private String summary(int atsScore, double keywordCoverage) {
+        if (atsScore >= shortlistThreshold) {
+            return "Your resume is well optimized for ATS scanners. Keep tailoring keywords to each job description.";
+        }
+        if (keywordCoverage < 0.5) {
+            return "Your resume is missing many of the keywords ATS scanners look for. Mirror the job description's "
+                    + "skills and focus on quantifying impact.";
+        }
+        return "Your resume has potential but needs optimization to pass modern ATS scanners. Focus on quantifying "
+                + "impact and using stronger action verbs.";
+    }
+}
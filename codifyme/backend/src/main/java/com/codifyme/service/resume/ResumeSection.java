@@ -0,0 +1,5 @@
+package com.codifyme.service.resume;
+
+// One titled block of a resume, e.g. "Experience" and the text under that heading
+public record ResumeSection(String heading, String text) {
+}
@@ -0,0 +1,101 @@
+package com.codifyme.service.resume;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// Stateless per-section checks; sections are independent, so callers may run them in parallel
+@Component
+public class ResumeSectionAnalyzer {
+
+    static final List<String> REQUIRED_SECTIONS = List.of("Experience", "Education", "Skills", "Projects");
+
+    private static final Pattern NUMBER = Pattern.compile("\\d");
+    private static final Pattern WORD = Pattern.compile("\\S+");
+
+    // One automaton pass per line collects skills, opening action verbs and weak phrases together
+    public SectionReport analyze(ResumeSection section, KeywordAutomaton automaton) {
+        int words = (int) WORD.matcher(section.text()).results().count();
+        int[] bullets = new int[3];
+        Set<String> weakPhrases = new LinkedHashSet<>();
+        Set<String> skills = new LinkedHashSet<>();
+
+        for (String line : section.text().split("\n")) {
+            // Each line is one bullet or entry; PDF and DOCX bullet glyphs are not reliable markers
+            if (line.isBlank()) {
+                continue;
+            }
+            bullets[0]++;
+            if (NUMBER.matcher(line).find()) {
+                bullets[1]++;
+            }
+            boolean[] opensWithVerb = { false };
+            automaton.scan(line, (keyword, start) -> {
+                switch (keyword.kind()) {
+                    case SKILL -> skills.add(keyword.term());
+                    case ACTION_VERB -> opensWithVerb[0] |= start == 0;
+                    case WEAK_PHRASE -> weakPhrases.add(keyword.term());
+                }
+            });
+            if (opensWithVerb[0]) {
+                bullets[2]++;
+            }
+        }
+        return new SectionReport(section.heading(), words, bullets[0], bullets[1], bullets[2],
+                List.copyOf(weakPhrases), skills);
+    }
+
+    // Turns the per-section reports into the resume-level feedback lines, most important first
+    public List<String> feedback(List<SectionReport> reports) {
+        List<String> feedback = new ArrayList<>();
+        Set<String> present = new LinkedHashSet<>();
+        int totalWords = 0;
+        for (SectionReport report : reports) {
+            present.add(report.heading());
+            totalWords += report.words();
+        }
+
+        for (String required : REQUIRED_SECTIONS) {
+            if (!present.contains(required)) {
+                feedback.add("Add a clearly titled '" + required + "' section so ATS parsers can find it.");
+            }
+        }
+
+        int impactBullets = 0;
+        int quantifiedBullets = 0;
+        Set<String> weakPhrases = new LinkedHashSet<>();
+        for (SectionReport report : reports) {
+            if ("Experience".equals(report.heading()) || "Projects".equals(report.heading())) {
+                impactBullets += report.bullets();
+                quantifiedBullets += report.quantifiedBullets();
+            }
+            weakPhrases.addAll(report.weakPhrases());
+        }
+        if (impactBullets > 0 && quantifiedBullets * 3 < impactBullets) {
+            feedback.add("Quantify your achievements. Add numbers to your impact.");
+        }
+        if (!weakPhrases.isEmpty()) {
+            feedback.add("Action verbs are weak. Replace '" + weakPhrases.iterator().next()
+                    + "' with verbs like 'Architected', 'Led' or 'Delivered'.");
+        }
+
+        for (SectionReport report : reports) {
+            if ("Summary".equals(report.heading()) && report.words() > 120) {
+                feedback.add("Summary section is too long. Keep it under 120 words and tailor it to the job role.");
+            }
+        }
+        if (present.contains("References")) {
+            feedback.add("Remove the 'References' section to save space.");
+        }
+        if (totalWords < 200) {
+            feedback.add("Resume content is thin. Expand on your experience and projects.");
+        } else if (totalWords > 1200) {
+            feedback.add("Resume is long. Trim it to the most relevant one or two pages.");
+        }
+        return feedback;
+    }
+}
@@ -0,0 +1,112 @@
+package com.codifyme.service.resume;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Receives extracted lines one at a time and groups them under the section headings it
+// recognises. Stops accepting text once maxChars is reached so a single upload can never hold
+// more than a fixed amount of text in memory.
+class ResumeSectionBuilder {
+
+    static final String HEADER_SECTION = "Header";
+
+    // Heading text (lowercase, letters only) -> canonical section name
+    private static final Map<String, String> HEADINGS = new LinkedHashMap<>();
+
+    static {
+        HEADINGS.put("summary", "Summary");
+        HEADINGS.put("professional summary", "Summary");
+        HEADINGS.put("profile", "Summary");
+        HEADINGS.put("about me", "Summary");
+        HEADINGS.put("objective", "Summary");
+        HEADINGS.put("career objective", "Summary");
+        HEADINGS.put("experience", "Experience");
+        HEADINGS.put("work experience", "Experience");
+        HEADINGS.put("professional experience", "Experience");
+        HEADINGS.put("employment history", "Experience");
+        HEADINGS.put("internships", "Experience");
+        HEADINGS.put("internship", "Experience");
+        HEADINGS.put("education", "Education");
+        HEADINGS.put("academic background", "Education");
+        HEADINGS.put("skills", "Skills");
+        HEADINGS.put("technical skills", "Skills");
+        HEADINGS.put("core competencies", "Skills");
+        HEADINGS.put("technologies", "Skills");
+        HEADINGS.put("projects", "Projects");
+        HEADINGS.put("personal projects", "Projects");
+        HEADINGS.put("academic projects", "Projects");
+        HEADINGS.put("certifications", "Certifications");
+        HEADINGS.put("certificates", "Certifications");
+        HEADINGS.put("achievements", "Achievements");
+        HEADINGS.put("awards", "Achievements");
+        HEADINGS.put("publications", "Publications");
+        HEADINGS.put("interests", "Interests");
+        HEADINGS.put("hobbies", "Interests");
+        HEADINGS.put("references", "References");
+    }
+
+    private static final int MAX_HEADING_LENGTH = 40;
+
+    private final int maxChars;
+    private final List<ResumeSection> sections = new ArrayList<>();
+    private String currentHeading = HEADER_SECTION;
+    private StringBuilder currentText = new StringBuilder();
+    private int characters;
+    private boolean truncated;
+
+    ResumeSectionBuilder(int maxChars) {
+        this.maxChars = maxChars;
+    }
+
+    void appendLine(String line) {
+        if (truncated) {
+            return;
+        }
+        String trimmed = line.strip();
+        if (trimmed.isEmpty()) {
+            return;
+        }
+
+        String heading = headingOf(trimmed);
+        if (heading != null) {
+            flush();
+            currentHeading = heading;
+            return;
+        }
+
+        int remaining = maxChars - characters;
+        if (trimmed.length() > remaining) {
+            trimmed = trimmed.substring(0, Math.max(0, remaining));
+            truncated = true;
+        }
+        currentText.append(trimmed).append('\n');
+        characters += trimmed.length() + 1;
+    }
+
+    boolean isFull() {
+        return truncated;
+    }
+
+    ResumeDocument build(int pages) {
+        flush();
+        return new ResumeDocument(List.copyOf(sections), pages, characters, truncated);
+    }
+
+    private void flush() {
+        if (!currentText.isEmpty()) {
+            sections.add(new ResumeSection(currentHeading, currentText.toString().strip()));
+        }
+        currentText = new StringBuilder();
+    }
+
+    private static String headingOf(String line) {
+        if (line.length() > MAX_HEADING_LENGTH) {
+            return null;
+        }
+        String key = line.toLowerCase(Locale.ROOT).replaceAll("[^a-z ]", "").replaceAll("\\s+", " ").strip();
+        return HEADINGS.get(key);
+    }
+}
@@ -0,0 +1,220 @@
+package com.codifyme.service.resume;
+
+import com.codifyme.model.ResumeBlob;
+import com.codifyme.model.UserProfile;
+import com.codifyme.repository.ResumeBlobRepository;
+import com.codifyme.repository.UserProfileRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Objects;
+
+// Content-addressed resume storage: each distinct file is kept once on local disk at
+// <root>/<first two hex chars>/<sha-256>, and UserProfile.resumePath holds that relative path.
+// Hashing reads the file through a memory mapping and downloads use FileChannel.transferTo,
+// so resume bytes never pass through the Java heap. The directory must be set explicitly and
+// survive restarts, since profiles keep pointing at these files.
+@Component
+public class ResumeStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumeStore.class);
+
+    @Value("${resume.store.dir:}")
+    private String storeDir;
+
+    // Unreferenced blobs younger than this are kept, so an upload can still be attached
+    @Value("${resume.store.orphan-grace-minutes:60}")
+    private long orphanGraceMinutes;
+
+    @Autowired
+    private ResumeBlobRepository blobRepository;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Path root;
+    private Path incoming;
+
+    public record StoredResume(String contentHash, String relativePath, Path path) {
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (storeDir == null || storeDir.isBlank()) {
+            throw new IllegalStateException("resume.store.dir must point at a durable directory for stored resumes");
+        }
+        root = Files.createDirectories(Paths.get(storeDir).toAbsolutePath().normalize());
+        incoming = Files.createDirectories(root.resolve("incoming"));
+    }
+
+    public StoredResume store(MultipartFile file) throws IOException {
+        // The container has already written the part to disk, so transferTo is a rename
+        Path upload = Files.createTempFile(incoming, "upload-", ".tmp");
+        try {
+            file.transferTo(upload);
+            String hash = hashFile(upload);
+            String relativePath = hash.substring(0, 2) + "/" + hash;
+            Path target = root.resolve(relativePath);
+
+            // Register the blob before looking for its file: once the row is fresh the sweep leaves
+            // it alone, and a sweep that removed the old row has already deleted its file
+            ensureBlob(hash, Files.size(upload), file.getContentType(), file.getOriginalFilename());
+            if (Files.exists(target)) {
+                Files.delete(upload);
+            } else {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(upload, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // Same bytes uploaded concurrently; the other copy is identical
+                    Files.deleteIfExists(upload);
+                }
+            }
+            return new StoredResume(hash, relativePath, target);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(upload);
+            throw e;
+        }
+    }
+
+    // Points the user's profile at the blob and moves the reference from the previous one
+    @Transactional
+    public void attach(Long userId, StoredResume resume) {
+        UserProfile profile = userProfileRepository.findByUserId(userId).orElse(null);
+        if (profile == null || Objects.equals(profile.getResumePath(), resume.relativePath())) {
+            return;
+        }
+
+        String previous = profile.getResumePath();
+        blobRepository.adjustRefCount(resume.contentHash(), 1);
+        if (previous != null) {
+            blobRepository.adjustRefCount(hashOf(previous), -1);
+        }
+        profile.setResumePath(resume.relativePath());
+        userProfileRepository.save(profile);
+    }
+
+    public Path resolve(String relativePath) {
+        Path path = root.resolve(relativePath).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Invalid resume path");
+        }
+        return path;
+    }
+
+    // Zero-copy send of a stored resume to the given channel
+    public long transferTo(String relativePath, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(resolve(relativePath), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, target);
+            }
+            return size;
+        }
+    }
+
+    public long size(String relativePath) throws IOException {
+        return Files.size(resolve(relativePath));
+    }
+
+    @Scheduled(fixedDelayString = "${resume.store.sweep-interval-ms:3600000}")
+    public void sweepUnreferenced() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(orphanGraceMinutes);
+        for (ResumeBlob blob : blobRepository.findByRefCountLessThanEqualAndLastUploadedAtBefore(0, cutoff)) {
+            try {
+                // The file goes while the deleted row is still locked, so an upload of the same bytes
+                // waits in ensureBlob until both are gone and then stores the file again
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (blobRepository.deleteIfUnreferenced(blob.getId(), cutoff) > 0) {
+                        String hash = blob.getContentHash();
+                        try {
+                            Files.deleteIfExists(root.resolve(hash.substring(0, 2)).resolve(hash));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                });
+            } catch (RuntimeException e) {
+                logger.warn("Could not sweep resume blob {}: {}", blob.getContentHash(), e.getMessage());
+            }
+        }
+    }
+
+    public static String hashOf(String relativePath) {
+        return relativePath.substring(relativePath.lastIndexOf('/') + 1);
+    }
+
+    public static String hashText(String text) {
+        return HexFormat.of().formatHex(sha256().digest(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private void ensureBlob(String hash, long size, String contentType, String originalFilename) {
+        // A touch that finds no row lost to a concurrent sweep; insert the blob again
+        if (blobRepository.findByContentHash(hash).isPresent() && blobRepository.touch(hash, LocalDateTime.now()) > 0) {
+            return;
+        }
+        ResumeBlob blob = new ResumeBlob();
+        blob.setContentHash(hash);
+        blob.setSizeBytes(size);
+        blob.setContentType(contentType);
+        blob.setOriginalFilename(originalFilename);
+        try {
+            blobRepository.save(blob);
+        } catch (DataIntegrityViolationException e) {
+            // Inserted concurrently by an identical upload
+            blobRepository.touch(hash, LocalDateTime.now());
+        }
+    }
+
+    private static String hashFile(Path file) throws IOException {
+        MessageDigest digest = sha256();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                long chunk = Math.min(size - position, Integer.MAX_VALUE);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, chunk);
+                digest.update(buffer);
+                position += chunk;
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.codifyme.service.resume;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+// Extracts resume text from a file already spooled to disk. Parsing is incremental: PDFs are
+// read page by page with PDFBox buffering to temp files beyond a small heap budget, and DOCX
+// files are read paragraph by paragraph from the zipped XML with StAX, never as a DOM.
+@Component
+public class ResumeTextExtractor {
+
+    private static final byte[] PDF_MAGIC = "%PDF-".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ZIP_MAGIC = { 'P', 'K', 3, 4 };
+
+    private static final String DOCX_BODY = "word/document.xml";
+    private static final String WORD_NS = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+
+    // Ceiling on extracted text per resume; anything after it is ignored
+    @Value("${resume.extract.max-chars:100000}")
+    private int maxChars;
+
+    @Value("${resume.extract.max-pages:20}")
+    private int maxPages;
+
+    // Heap PDFBox may use for its stream cache before spilling to temp files
+    @Value("${resume.extract.pdf-max-memory-bytes:4194304}")
+    private long pdfMaxMemoryBytes;
+
+    private final XMLInputFactory xmlInputFactory;
+
+    public ResumeTextExtractor() {
+        xmlInputFactory = XMLInputFactory.newFactory();
+        // DOCX parts never need a DTD; refusing them rules out entity expansion attacks
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    public ResumeDocument extract(Path file, String originalFilename) throws IOException {
+        byte[] header = readHeader(file);
+        if (startsWith(header, PDF_MAGIC)) {
+            return extractPdf(file);
+        }
+        if (startsWith(header, ZIP_MAGIC)) {
+            return extractDocx(file);
+        }
+        String name = originalFilename != null ? originalFilename.toLowerCase(Locale.ROOT) : "";
+        if (name.endsWith(".txt")) {
+            return extractPlainText(file);
+        }
+        throw new IllegalArgumentException("Unsupported resume format. Upload a PDF or DOCX file.");
+    }
+
+    // For resume text that arrives as a string rather than a file
+    public ResumeDocument fromText(String text) {
+        ResumeSectionBuilder builder = new ResumeSectionBuilder(maxChars);
+        if (text != null) {
+            text.lines().takeWhile(line -> !builder.isFull()).forEach(builder::appendLine);
+        }
+        return builder.build(1);
+    }
+
+    private ResumeDocument extractPdf(Path file) throws IOException {
+        ResumeSectionBuilder builder = new ResumeSectionBuilder(maxChars);
+        try (PDDocument document = Loader.loadPDF(file.toFile(),
+                MemoryUsageSetting.setupMixed(pdfMaxMemoryBytes).streamCache)) {
+            int pages = Math.min(document.getNumberOfPages(), maxPages);
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setSortByPosition(true);
+
+            for (int page = 1; page <= pages && !builder.isFull(); page++) {
+                stripper.setStartPage(page);
+                stripper.setEndPage(page);
+                stripper.getText(document).lines().forEach(builder::appendLine);
+            }
+            return builder.build(pages);
+        }
+    }
+
+    private ResumeDocument extractDocx(Path file) throws IOException {
+        ResumeSectionBuilder builder = new ResumeSectionBuilder(maxChars);
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            ZipEntry body = zip.getEntry(DOCX_BODY);
+            if (body == null) {
+                throw new IllegalArgumentException("Unsupported resume format. Upload a PDF or DOCX file.");
+            }
+            try (InputStream in = zip.getInputStream(body)) {
+                readParagraphs(xmlInputFactory.createXMLStreamReader(in), builder);
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Malformed DOCX document: " + e.getMessage(), e);
+        }
+        return builder.build(1);
+    }
+
+    private void readParagraphs(XMLStreamReader reader, ResumeSectionBuilder builder) throws XMLStreamException {
+        try {
+            StringBuilder paragraph = new StringBuilder();
+            boolean inText = false;
+            while (reader.hasNext() && !builder.isFull()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT -> {
+                        if (WORD_NS.equals(reader.getNamespaceURI())) {
+                            switch (reader.getLocalName()) {
+                                case "t" -> inText = true;
+                                case "tab" -> paragraph.append(' ');
+                                case "br", "cr" -> {
+                                    builder.appendLine(paragraph.toString());
+                                    paragraph.setLength(0);
+                                }
+                                default -> {
+                                }
+                            }
+                        }
+                    }
+                    case XMLStreamConstants.CHARACTERS -> {
+                        // A single paragraph can't exceed the whole-document ceiling either
+                        if (inText && paragraph.length() < maxChars) {
+                            paragraph.append(reader.getText());
+                        }
+                    }
+                    case XMLStreamConstants.END_ELEMENT -> {
+                        if (WORD_NS.equals(reader.getNamespaceURI())) {
+                            if ("t".equals(reader.getLocalName())) {
+                                inText = false;
+                            } else if ("p".equals(reader.getLocalName())) {
+                                builder.appendLine(paragraph.toString());
+                                paragraph.setLength(0);
+                            }
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    private ResumeDocument extractPlainText(Path file) throws IOException {
+        ResumeSectionBuilder builder = new ResumeSectionBuilder(maxChars);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while (!builder.isFull() && (line = reader.readLine()) != null) {
+                builder.appendLine(line);
+            }
+        }
+        return builder.build(1);
+    }
+
+    private static byte[] readHeader(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return in.readNBytes(8);
+        }
+    }
+
+    private static boolean startsWith(byte[] data, byte[] prefix) {
+        return data.length >= prefix.length && Arrays.equals(data, 0, prefix.length, prefix, 0, prefix.length);
+    }
+}
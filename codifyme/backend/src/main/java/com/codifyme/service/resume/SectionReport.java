@@ -0,0 +1,10 @@
+package com.codifyme.service.resume;
+
+import java.util.List;
+import java.util.Set;
+
+// Writing-quality and keyword metrics for a single resume section. skills holds the dictionary
+// terms found in the section; strongVerbBullets counts lines that open with an action verb.
+public record SectionReport(String heading, int words, int bullets, int quantifiedBullets, int strongVerbBullets,
+        List<String> weakPhrases, Set<String> skills) {
+}
@@ -0,0 +1,164 @@
+package com.codifyme.service.score;
+
+import com.codifyme.model.CrackScoreAggregate;
+import com.codifyme.model.TaskProgress;
+import com.codifyme.repository.CrackScoreAggregateRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Keeps CrackScoreAggregate rows current. Task and interview events are applied as a single
+// in-place UPDATE of the user's row; a user without a row yet gets one built from scratch.
+// rebuild and rebuildAll recompute rows from the source tables to reconcile any drift.
+@Component
+public class CrackScoreAggregator {
+
+    private static final Logger logger = LoggerFactory.getLogger(CrackScoreAggregator.class);
+
+    private static final String UPSERT = "INSERT INTO crack_score_aggregates (user_id, roadmap_count, total_tasks, "
+            + "completed_tasks, interview_count, scored_interview_count, interview_score_sum) VALUES (?, ?, ?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE roadmap_count = VALUES(roadmap_count), total_tasks = VALUES(total_tasks), "
+            + "completed_tasks = VALUES(completed_tasks), interview_count = VALUES(interview_count), "
+            + "scored_interview_count = VALUES(scored_interview_count), interview_score_sum = VALUES(interview_score_sum)";
+
+    @Value("${crackscore.rebuild-batch-size:500}")
+    private int batchSize;
+
+    @Autowired
+    private CrackScoreAggregateRepository aggregateRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Runs synchronously on the publisher's thread. Every publisher publishes inside the transaction
+    // that writes the change, so the aggregate commits or rolls back with it.
+    @EventListener
+    public void onTaskProgress(TaskProgressEvent event) {
+        apply(event.userId(), event.roadmapsAdded(), event.totalTasksDelta(), event.completedTasksDelta(), 0, 0, 0);
+    }
+
+    @EventListener
+    public void onInterview(InterviewEvent event) {
+        apply(event.userId(), 0, 0, 0, event.interviewsAdded(), event.scoredAdded(), event.scoreSumDelta());
+    }
+
+    public CrackScoreAggregate get(Long userId) {
+        return aggregateRepository.findById(userId).orElseGet(() -> rebuild(userId));
+    }
+
+    public CrackScoreAggregate rebuild(Long userId) {
+        Map<Long, CrackScoreAggregate> fresh = compute(userId, userId);
+        CrackScoreAggregate aggregate = fresh.getOrDefault(userId, new CrackScoreAggregate(userId, 0, 0, 0, 0, 0, 0));
+        save(List.of(aggregate));
+        return aggregate;
+    }
+
+    // Recomputes every user's row in user id ranges and returns how many had drifted
+    public long rebuildAll() {
+        long start = System.currentTimeMillis();
+        long users = 0;
+        long drifted = 0;
+        long afterId = 0;
+        List<Long> userIds;
+        do {
+            userIds = jdbcTemplate.queryForList("SELECT id FROM users WHERE id > ? ORDER BY id LIMIT ?",
+                    Long.class, afterId, batchSize);
+            if (userIds.isEmpty()) {
+                break;
+            }
+            long firstId = userIds.get(0);
+            afterId = userIds.get(userIds.size() - 1);
+
+            Map<Long, CrackScoreAggregate> fresh = compute(firstId, afterId);
+            Map<Long, CrackScoreAggregate> stored = new LinkedHashMap<>();
+            aggregateRepository.findAllById(userIds).forEach(aggregate -> stored.put(aggregate.getUserId(), aggregate));
+
+            List<CrackScoreAggregate> rows = new ArrayList<>(userIds.size());
+            for (Long userId : userIds) {
+                CrackScoreAggregate aggregate = fresh.getOrDefault(userId, new CrackScoreAggregate(userId, 0, 0, 0, 0, 0, 0));
+                if (stored.containsKey(userId) && !Objects.equals(stored.get(userId), aggregate)) {
+                    drifted++;
+                }
+                rows.add(aggregate);
+            }
+            save(rows);
+            users += userIds.size();
+        } while (userIds.size() == batchSize);
+
+        logger.info("Rebuilt CrackScore aggregates of {} users in {} ms; {} had drifted", users,
+                System.currentTimeMillis() - start, drifted);
+        return drifted;
+    }
+
+    private void apply(Long userId, long roadmaps, long totalTasks, long completedTasks, long interviews,
+            long scoredInterviews, long scoreSum) {
+        if (roadmaps == 0 && totalTasks == 0 && completedTasks == 0 && interviews == 0 && scoredInterviews == 0
+                && scoreSum == 0) {
+            return;
+        }
+        if (aggregateRepository.applyDelta(userId, roadmaps, totalTasks, completedTasks, interviews,
+                scoredInterviews, scoreSum) == 0) {
+            // First event for this user; the source tables already include the change
+            rebuild(userId);
+        }
+    }
+
+    // Aggregates for users with ids in [fromUserId, toUserId], from one range scan per source table.
+    // Users with no roadmaps or interviews have no entry.
+    public Map<Long, CrackScoreAggregate> compute(long fromUserId, long toUserId) {
+        Map<Long, CrackScoreAggregate> aggregates = new LinkedHashMap<>();
+
+        // Completed counts live in the progress bitsets, so roadmaps are summed here rather than in SQL
+        jdbcTemplate.query("SELECT r.user_id, COALESCE(p.task_count, 0) AS task_count, r.task_progress "
+                        + "FROM roadmaps r LEFT JOIN task_plans p ON p.id = r.task_plan_id "
+                        + "WHERE r.user_id BETWEEN ? AND ?",
+                row -> {
+                    CrackScoreAggregate aggregate = aggregateOf(aggregates, row.getLong("user_id"));
+                    aggregate.setRoadmapCount(aggregate.getRoadmapCount() + 1);
+                    aggregate.setTotalTasks(aggregate.getTotalTasks() + row.getLong("task_count"));
+                    aggregate.setCompletedTasks(aggregate.getCompletedTasks()
+                            + TaskProgress.fromBytes(row.getBytes("task_progress")).completedCount());
+                },
+                fromUserId, toUserId);
+
+        jdbcTemplate.query("SELECT user_id, COUNT(*) AS interviews, COUNT(score) AS scored, "
+                        + "COALESCE(SUM(score), 0) AS score_sum FROM interviews "
+                        + "WHERE user_id BETWEEN ? AND ? GROUP BY user_id",
+                row -> {
+                    CrackScoreAggregate aggregate = aggregateOf(aggregates, row.getLong("user_id"));
+                    aggregate.setInterviewCount(row.getLong("interviews"));
+                    aggregate.setScoredInterviewCount(row.getLong("scored"));
+                    aggregate.setInterviewScoreSum(row.getLong("score_sum"));
+                },
+                fromUserId, toUserId);
+
+        return aggregates;
+    }
+
+    private static CrackScoreAggregate aggregateOf(Map<Long, CrackScoreAggregate> aggregates, long userId) {
+        return aggregates.computeIfAbsent(userId, id -> new CrackScoreAggregate(id, 0, 0, 0, 0, 0, 0));
+    }
+
+    public void save(List<CrackScoreAggregate> aggregates) {
+        jdbcTemplate.batchUpdate(UPSERT, aggregates.stream()
+                .map(aggregate -> new Object[] {
+                        aggregate.getUserId(),
+                        aggregate.getRoadmapCount(),
+                        aggregate.getTotalTasks(),
+                        aggregate.getCompletedTasks(),
+                        aggregate.getInterviewCount(),
+                        aggregate.getScoredInterviewCount(),
+                        aggregate.getInterviewScoreSum() })
+                .toList());
+    }
+}
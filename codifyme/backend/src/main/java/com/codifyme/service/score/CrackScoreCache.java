@@ -0,0 +1,132 @@
+package com.codifyme.service.score;
+
+import com.codifyme.payload.response.CrackScoreResponse;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// Per-user CrackScore responses for the dashboard poll, in a bounded LRU map.
+// Entries are dropped once a task or interview change commits; the TTL only covers writes
+// that bypass the events, such as manual SQL.
+@Component
+public class CrackScoreCache {
+
+    @Value("${crackscore.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${crackscore.cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${crackscore.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private Map<Long, CacheEntry> entries;
+
+    // Bumped on every invalidation; a score computed across one is not stored, since it may
+    // have read the aggregates before the change committed
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CacheEntry> eldest) {
+                if (size() > maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public CrackScoreResponse get(Long userId, Function<Long, CrackScoreResponse> loader) {
+        if (!enabled) {
+            return loader.apply(userId);
+        }
+
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            CacheEntry entry = entries.get(userId);
+            if (entry != null) {
+                if (entry.expiresAt > now) {
+                    hits.incrementAndGet();
+                    return entry.value;
+                }
+                entries.remove(userId);
+                expirations.incrementAndGet();
+            }
+        }
+
+        misses.incrementAndGet();
+        long loadedAt = generation.get();
+        CrackScoreResponse value = loader.apply(userId);
+        synchronized (this) {
+            if (generation.get() == loadedAt) {
+                entries.put(userId, new CacheEntry(value, now + ttlSeconds * 1_000));
+            }
+        }
+        return value;
+    }
+
+    // After commit, so a poll racing the change cannot cache the old score again
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskProgress(TaskProgressEvent event) {
+        invalidate(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInterview(InterviewEvent event) {
+        invalidate(event.userId());
+    }
+
+    public synchronized void invalidate(Long userId) {
+        generation.incrementAndGet();
+        if (entries.remove(userId) != null) {
+            invalidations.incrementAndGet();
+        }
+    }
+
+    public synchronized void clear() {
+        generation.incrementAndGet();
+        invalidations.addAndGet(entries.size());
+        entries.clear();
+    }
+
+    public Map<String, Object> getStats() {
+        long lookups = hits.get() + misses.get();
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("size", size());
+        stats.put("maxEntries", maxEntries);
+        stats.put("ttlSeconds", ttlSeconds);
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("hitRatio", lookups == 0 ? 0.0 : (double) hits.get() / lookups);
+        stats.put("evictions", evictions.get());
+        stats.put("expirations", expirations.get());
+        stats.put("invalidations", invalidations.get());
+        return stats;
+    }
+
+    private synchronized int size() {
+        return entries.size();
+    }
+
+    private record CacheEntry(CrackScoreResponse value, long expiresAt) {
+    }
+}
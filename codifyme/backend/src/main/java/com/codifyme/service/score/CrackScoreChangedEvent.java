@@ -0,0 +1,14 @@
+package com.codifyme.service.score;
+
+// A user's stored CrackScore or target company changed. targetCompany is only read when
+// companyChanged is set, so a score update does not need to look up the profile.
+public record CrackScoreChangedEvent(Long userId, Integer score, boolean companyChanged, String targetCompany) {
+
+    public static CrackScoreChangedEvent scoreChanged(Long userId, Integer score) {
+        return new CrackScoreChangedEvent(userId, score, false, null);
+    }
+
+    public static CrackScoreChangedEvent companyChanged(Long userId, String targetCompany) {
+        return new CrackScoreChangedEvent(userId, null, true, targetCompany);
+    }
+}
@@ -0,0 +1,49 @@
+package com.codifyme.service.score;
+
+import com.codifyme.model.CrackScoreAggregate;
+
+// The CrackScore formula over a user's aggregates, shared by the per-request calculation and
+// the batch recompute so both always agree
+public final class CrackScoreFormula {
+
+    private CrackScoreFormula() {
+    }
+
+    public static int roadmapScore(CrackScoreAggregate aggregate) {
+        if (aggregate.getRoadmapCount() == 0)
+            return 0;
+
+        if (aggregate.getTotalTasks() == 0)
+            return 30; // Base score for creating roadmap
+
+        // Completion rate across all roadmaps
+        double completionRate = (double) aggregate.getCompletedTasks() / aggregate.getTotalTasks();
+        return (int) Math.round(30 + (completionRate * 70)); // 30-100 range
+    }
+
+    public static int interviewScore(CrackScoreAggregate aggregate) {
+        // Average of all interview scores; interviews still waiting for feedback don't count
+        if (aggregate.getScoredInterviewCount() == 0)
+            return 0;
+
+        double avgScore = (double) aggregate.getInterviewScoreSum() / aggregate.getScoredInterviewCount();
+        return (int) Math.round(avgScore);
+    }
+
+    public static int consistencyScore(CrackScoreAggregate aggregate) {
+        // Reward consistent activity
+        return Math.min(100, (int) ((aggregate.getInterviewCount() + aggregate.getRoadmapCount()) * 10));
+    }
+
+    // Weighted average: 40% roadmap, 40% interview, 20% consistency
+    public static int totalScore(int roadmapScore, int interviewScore, int consistencyScore) {
+        return (int) Math.round(
+                roadmapScore * 0.4 +
+                        interviewScore * 0.4 +
+                        consistencyScore * 0.2);
+    }
+
+    public static int score(CrackScoreAggregate aggregate) {
+        return totalScore(roadmapScore(aggregate), interviewScore(aggregate), consistencyScore(aggregate));
+    }
+}
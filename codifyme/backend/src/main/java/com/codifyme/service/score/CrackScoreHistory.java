@@ -0,0 +1,203 @@
+package com.codifyme.service.score;
+
+import com.codifyme.model.CrackScoreHistoryPoint.Resolution;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Append-only CrackScore history in crack_score_history. Every committed score change adds a
+// RAW point; rollUp folds raw points older than raw-retention-days into DAILY points and daily
+// points older than daily-retention-days into WEEKLY ones, so each user keeps a bounded number
+// of rows. Reads and writes go through JDBC; points are never loaded as entities.
+@Component
+public class CrackScoreHistory {
+
+    private static final Logger logger = LoggerFactory.getLogger(CrackScoreHistory.class);
+
+    // Merges into an existing point with the same key; the incoming score is the later one
+    private static final String UPSERT = "INSERT INTO crack_score_history (user_id, bucket_start, resolution, score, "
+            + "min_score, max_score, score_sum, samples) VALUES (?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE score = VALUES(score), min_score = LEAST(min_score, VALUES(min_score)), "
+            + "max_score = GREATEST(max_score, VALUES(max_score)), score_sum = score_sum + VALUES(score_sum), "
+            + "samples = samples + VALUES(samples)";
+
+    private static final String POINT_COLUMNS = "user_id, bucket_start, resolution, score, min_score, max_score, score_sum, samples";
+
+    @Value("${crackscore.history.enabled:true}")
+    private boolean enabled;
+
+    @Value("${crackscore.history.raw-retention-days:30}")
+    private int rawRetentionDays;
+
+    @Value("${crackscore.history.daily-retention-days:180}")
+    private int dailyRetentionDays;
+
+    @Value("${crackscore.history.rollup-batch-size:500}")
+    private int batchSize;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    public record Point(long userId, LocalDateTime time, Resolution resolution, int score, int minScore, int maxScore,
+            long scoreSum, int samples) {
+
+        public double averageScore() {
+            return samples == 0 ? score : Math.round(scoreSum * 10.0 / samples) / 10.0;
+        }
+
+        Point merge(Point later, LocalDateTime bucketStart, Resolution bucketResolution) {
+            return new Point(userId, bucketStart, bucketResolution, later.score, Math.min(minScore, later.minScore),
+                    Math.max(maxScore, later.maxScore), scoreSum + later.scoreSum, samples + later.samples);
+        }
+    }
+
+    // Company-only changes carry no score
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScoreChanged(CrackScoreChangedEvent event) {
+        if (enabled && event.score() != null) {
+            record(event.userId(), event.score(), LocalDateTime.now());
+        }
+    }
+
+    public void record(Long userId, int score, LocalDateTime time) {
+        upsert(List.of(new Point(userId, time, Resolution.RAW, score, score, score, score, 1)));
+    }
+
+    // Points with time in [from, to), oldest first, in whatever resolution each period is stored.
+    // A coarser resolution merges finer points into its buckets; null returns them as stored.
+    public List<Point> range(Long userId, LocalDateTime from, LocalDateTime to, Resolution resolution) {
+        List<Point> points = jdbcTemplate.query("SELECT " + POINT_COLUMNS + " FROM crack_score_history "
+                        + "WHERE user_id = ? AND bucket_start >= ? AND bucket_start < ? ORDER BY bucket_start",
+                (row, rowNum) -> new Point(
+                        row.getLong("user_id"),
+                        row.getTimestamp("bucket_start").toLocalDateTime(),
+                        Resolution.valueOf(row.getString("resolution")),
+                        row.getInt("score"),
+                        row.getInt("min_score"),
+                        row.getInt("max_score"),
+                        row.getLong("score_sum"),
+                        row.getInt("samples")),
+                userId, Timestamp.valueOf(from), Timestamp.valueOf(to));
+        if (resolution == null || resolution == Resolution.RAW) {
+            return points;
+        }
+        return new ArrayList<>(fold(points, resolution).values());
+    }
+
+    public void rollUp() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        LocalDate today = LocalDate.now();
+        // Cutoffs sit on bucket boundaries so only complete days and weeks are rolled up
+        long daily = rollUp(Resolution.RAW, Resolution.DAILY, today.minusDays(rawRetentionDays).atStartOfDay());
+        long weekly = rollUp(Resolution.DAILY, Resolution.WEEKLY, bucketStart(
+                today.minusDays(dailyRetentionDays).atStartOfDay(), Resolution.WEEKLY));
+        logger.info("Rolled up {} raw CrackScore points into daily ones and {} daily into weekly ones in {} ms",
+                daily, weekly, System.currentTimeMillis() - start);
+    }
+
+    // Replaces source points before the cutoff with target points, one user id range per transaction
+    private long rollUp(Resolution source, Resolution target, LocalDateTime cutoff) {
+        Timestamp cutoffTime = Timestamp.valueOf(cutoff);
+        long rolledUp = 0;
+        long afterId = 0;
+        List<Long> userIds;
+        do {
+            userIds = jdbcTemplate.queryForList("SELECT id FROM users WHERE id > ? ORDER BY id LIMIT ?",
+                    Long.class, afterId, batchSize);
+            if (userIds.isEmpty()) {
+                break;
+            }
+            long firstId = userIds.get(0);
+            long lastId = userIds.get(userIds.size() - 1);
+            afterId = lastId;
+
+            Integer rows = transactionTemplate.execute(status -> {
+                // Locking the source rows makes a concurrent rollup on another instance wait, then
+                // find them deleted, instead of folding the same points into the target twice
+                List<Point> points = jdbcTemplate.query("SELECT " + POINT_COLUMNS + " FROM crack_score_history "
+                                + "WHERE user_id BETWEEN ? AND ? AND resolution = ? AND bucket_start < ? "
+                                + "ORDER BY user_id, bucket_start FOR UPDATE",
+                        (row, rowNum) -> new Point(
+                                row.getLong("user_id"),
+                                row.getTimestamp("bucket_start").toLocalDateTime(),
+                                source,
+                                row.getInt("score"),
+                                row.getInt("min_score"),
+                                row.getInt("max_score"),
+                                row.getLong("score_sum"),
+                                row.getInt("samples")),
+                        firstId, lastId, source.name(), cutoffTime);
+                if (points.isEmpty()) {
+                    return 0;
+                }
+                upsert(new ArrayList<>(fold(points, target).values()));
+                jdbcTemplate.update("DELETE FROM crack_score_history "
+                                + "WHERE user_id BETWEEN ? AND ? AND resolution = ? AND bucket_start < ?",
+                        firstId, lastId, source.name(), cutoffTime);
+                return points.size();
+            });
+            rolledUp += rows == null ? 0 : rows;
+        } while (userIds.size() == batchSize);
+        return rolledUp;
+    }
+
+    // Merges points, ordered by time within each user, into target buckets; coarser points pass through
+    private static Map<String, Point> fold(List<Point> points, Resolution target) {
+        Map<String, Point> buckets = new LinkedHashMap<>();
+        for (Point point : points) {
+            if (point.resolution().compareTo(target) >= 0) {
+                buckets.put(point.userId() + "|" + point.time() + "|" + point.resolution(), point);
+                continue;
+            }
+            LocalDateTime bucketStart = bucketStart(point.time(), target);
+            Point first = new Point(point.userId(), bucketStart, target, point.score(), point.minScore(),
+                    point.maxScore(), point.scoreSum(), point.samples());
+            buckets.merge(point.userId() + "|" + bucketStart + "|" + target, first,
+                    (earlier, later) -> earlier.merge(later, bucketStart, target));
+        }
+        return buckets;
+    }
+
+    private static LocalDateTime bucketStart(LocalDateTime time, Resolution resolution) {
+        return switch (resolution) {
+            case RAW -> time;
+            case DAILY -> time.toLocalDate().atStartOfDay();
+            case WEEKLY -> time.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+        };
+    }
+
+    private void upsert(List<Point> points) {
+        jdbcTemplate.batchUpdate(UPSERT, points.stream()
+                .map(point -> new Object[] {
+                        point.userId(),
+                        Timestamp.valueOf(point.time()),
+                        point.resolution().name(),
+                        point.score(),
+                        point.minScore(),
+                        point.maxScore(),
+                        point.scoreSum(),
+                        point.samples() })
+                .toList());
+    }
+}
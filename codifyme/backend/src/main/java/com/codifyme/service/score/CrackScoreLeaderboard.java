@@ -0,0 +1,283 @@
+package com.codifyme.service.score;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory CrackScore rankings: one global ScoreBoard plus one per target company, keyed by
+// the lower-cased company name. Loaded from users/user_profiles once the application is ready
+// and kept current from CrackScoreChangedEvents after their transaction commits. Users that
+// registered since the load are added on their first lookup.
+@Component
+public class CrackScoreLeaderboard {
+
+    private static final Logger logger = LoggerFactory.getLogger(CrackScoreLeaderboard.class);
+
+    private static final String MEMBER_QUERY = "SELECT u.id, u.crack_score, p.target_company FROM users u "
+            + "LEFT JOIN user_profiles p ON p.user_id = u.id";
+
+    @Value("${crackscore.leaderboard.enabled:true}")
+    private boolean enabled;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<Long, Member> members = new HashMap<>();
+    private ScoreBoard global = new ScoreBoard();
+    private Map<String, ScoreBoard> companies = new HashMap<>();
+
+    // Changes that arrive while a load is running, replayed onto the loaded boards
+    private List<CrackScoreChangedEvent> pending;
+
+    private final AtomicLong queries = new AtomicLong();
+    private final AtomicLong totalQueryNanos = new AtomicLong();
+    private final AtomicLong updates = new AtomicLong();
+
+    public record Entry(int rank, long userId, int score) {
+    }
+
+    public record Standing(int rank, double percentile, int score, int totalUsers, String company, List<Entry> around) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<Long, Member> loadedMembers = new HashMap<>();
+        ScoreBoard loadedGlobal = new ScoreBoard();
+        Map<String, ScoreBoard> loadedCompanies = new HashMap<>();
+        boolean loaded = false;
+        try {
+            jdbcTemplate.query(MEMBER_QUERY, row -> {
+                long userId = row.getLong("id");
+                Member member = new Member(ScoreBoard.clamp(row.getInt("crack_score")), companyName(row.getString("target_company")));
+                loadedMembers.put(userId, member);
+                loadedGlobal.load(userId, member.score);
+                if (member.company != null) {
+                    loadedCompanies.computeIfAbsent(companyKey(member.company), key -> new ScoreBoard()).load(userId, member.score);
+                }
+            });
+            loadedGlobal.sort();
+            loadedCompanies.values().forEach(ScoreBoard::sort);
+            loaded = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (loaded) {
+                    members = loadedMembers;
+                    global = loadedGlobal;
+                    companies = loadedCompanies;
+                }
+                List<CrackScoreChangedEvent> replay = pending;
+                pending = null;
+                replay.forEach(this::apply);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        logger.info("Loaded CrackScore leaderboard of {} users and {} company boards in {} ms", loadedMembers.size(),
+                loadedCompanies.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScoreChanged(CrackScoreChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                pending.add(event);
+            }
+            apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        updates.incrementAndGet();
+    }
+
+    // Best first; company null or blank means the global board
+    public List<Entry> top(String company, int limit) {
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            ScoreBoard board = boardOf(companyName(company));
+            return board == null ? List.of() : entries(board, 0, limit);
+        } finally {
+            lock.readLock().unlock();
+            recordQuery(start);
+        }
+    }
+
+    // The user's rank and percentile on the global board, or on their target company's board,
+    // with up to window users on either side. Empty for an unknown user, or a company board
+    // requested by a user without a target company.
+    public Optional<Standing> standing(Long userId, boolean companyBoard, int window) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        if (!isMember(userId) && !join(userId)) {
+            return Optional.empty();
+        }
+
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            Member member = members.get(userId);
+            if (member == null || (companyBoard && member.company == null)) {
+                return Optional.empty();
+            }
+            String company = companyBoard ? member.company : null;
+            ScoreBoard board = boardOf(company);
+            int position = board.position(userId, member.score);
+            int total = board.size();
+            // Share of the board scoring the same or lower
+            double percentile = Math.round((total - board.rank(member.score) + 1) * 1000.0 / total) / 10.0;
+            int from = Math.max(0, position - window);
+            List<Entry> around = entries(board, from, position + window + 1 - from);
+            return Optional.of(new Standing(board.rank(member.score), percentile, member.score, total, company, around));
+        } finally {
+            lock.readLock().unlock();
+            recordQuery(start);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        long queryCount = queries.get();
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        lock.readLock().lock();
+        try {
+            stats.put("users", members.size());
+            stats.put("companyBoards", companies.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+        stats.put("queries", queryCount);
+        stats.put("avgQueryMicros", queryCount == 0 ? 0.0 : totalQueryNanos.get() / 1_000.0 / queryCount);
+        stats.put("updates", updates.get());
+        return stats;
+    }
+
+    private boolean isMember(Long userId) {
+        lock.readLock().lock();
+        try {
+            return members.containsKey(userId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Adds a user registered after the load; their score is still the stored one
+    private boolean join(Long userId) {
+        List<Member> found = jdbcTemplate.query(MEMBER_QUERY + " WHERE u.id = ?",
+                (row, rowNum) -> new Member(ScoreBoard.clamp(row.getInt("crack_score")), companyName(row.getString("target_company"))),
+                userId);
+        if (found.isEmpty()) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!members.containsKey(userId)) {
+                place(userId, found.get(0));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return true;
+    }
+
+    // Caller holds the write lock
+    private void apply(CrackScoreChangedEvent event) {
+        Member current = members.get(event.userId());
+        if (current == null) {
+            // Not loaded yet; join reads the committed row on first lookup
+            return;
+        }
+        Member updated = new Member(
+                event.score() != null ? ScoreBoard.clamp(event.score()) : current.score,
+                event.companyChanged() ? companyName(event.targetCompany()) : current.company);
+        unplace(event.userId(), current);
+        place(event.userId(), updated);
+    }
+
+    private void place(long userId, Member member) {
+        members.put(userId, member);
+        global.add(userId, member.score);
+        if (member.company != null) {
+            companies.computeIfAbsent(companyKey(member.company), key -> new ScoreBoard()).add(userId, member.score);
+        }
+    }
+
+    private void unplace(long userId, Member member) {
+        global.remove(userId, member.score);
+        if (member.company != null) {
+            String key = companyKey(member.company);
+            ScoreBoard board = companies.get(key);
+            if (board != null) {
+                board.remove(userId, member.score);
+                if (board.size() == 0) {
+                    companies.remove(key);
+                }
+            }
+        }
+    }
+
+    private ScoreBoard boardOf(String company) {
+        return company == null ? global : companies.get(companyKey(company));
+    }
+
+    private static List<Entry> entries(ScoreBoard board, int from, int count) {
+        List<Entry> entries = new ArrayList<>();
+        for (long[] entry : board.slice(from, count)) {
+            int score = (int) entry[1];
+            entries.add(new Entry(board.rank(score), entry[0], score));
+        }
+        return entries;
+    }
+
+    private void recordQuery(long start) {
+        queries.incrementAndGet();
+        totalQueryNanos.addAndGet(System.nanoTime() - start);
+    }
+
+    private static String companyName(String company) {
+        return company == null || company.isBlank() ? null : company.trim();
+    }
+
+    private static String companyKey(String company) {
+        return company.toLowerCase(Locale.ROOT);
+    }
+
+    private record Member(int score, String company) {
+    }
+}
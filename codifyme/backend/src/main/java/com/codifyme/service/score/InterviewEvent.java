@@ -0,0 +1,15 @@
+package com.codifyme.service.score;
+
+// Published when a user records an interview or an interview's score changes
+public record InterviewEvent(Long userId, int interviewsAdded, int scoredAdded, long scoreSumDelta) {
+
+    public static InterviewEvent recorded(Long userId, Integer score) {
+        return new InterviewEvent(userId, 1, score != null ? 1 : 0, score != null ? score : 0);
+    }
+
+    public static InterviewEvent scored(Long userId, Integer previousScore, Integer score) {
+        int scoredAdded = (score != null ? 1 : 0) - (previousScore != null ? 1 : 0);
+        long scoreSumDelta = (score != null ? score : 0) - (previousScore != null ? previousScore : 0);
+        return new InterviewEvent(userId, 0, scoredAdded, scoreSumDelta);
+    }
+}
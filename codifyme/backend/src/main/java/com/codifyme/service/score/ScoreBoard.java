@@ -0,0 +1,158 @@
+package com.codifyme.service.score;
+
+import java.util.Arrays;
+
+// Order-statistic board over CrackScores 0..MAX_SCORE. A Fenwick tree counts users per score
+// bucket (highest score first), and each bucket keeps its user ids in a sorted long[], so ties
+// are listed by user id. Rank, position and seek by position are O(log buckets + log bucket).
+// Not thread-safe; CrackScoreLeaderboard guards every board with one lock.
+class ScoreBoard {
+
+    static final int MAX_SCORE = 100;
+
+    private static final int BUCKETS = MAX_SCORE + 1;
+
+    // 1-based; tree index i covers score MAX_SCORE - (i - 1)
+    private final int[] tree = new int[BUCKETS + 1];
+    private final long[][] users = new long[BUCKETS][];
+    private final int[] sizes = new int[BUCKETS];
+    private int total;
+
+    static int clamp(int score) {
+        return Math.max(0, Math.min(MAX_SCORE, score));
+    }
+
+    int size() {
+        return total;
+    }
+
+    void add(long userId, int score) {
+        int bucket = bucketOf(score);
+        long[] ids = users[bucket];
+        int size = sizes[bucket];
+        if (ids == null) {
+            ids = users[bucket] = new long[8];
+        }
+        int index = Arrays.binarySearch(ids, 0, size, userId);
+        if (index >= 0) {
+            return;
+        }
+        index = -index - 1;
+        if (size == ids.length) {
+            ids = users[bucket] = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, index, ids, index + 1, size - index);
+        ids[index] = userId;
+        sizes[bucket] = size + 1;
+        adjust(bucket, 1);
+    }
+
+    // Appends to a bucket without the sorted insert; call sort() before any query
+    void load(long userId, int score) {
+        int bucket = bucketOf(score);
+        long[] ids = users[bucket];
+        int size = sizes[bucket];
+        if (ids == null) {
+            ids = users[bucket] = new long[8];
+        } else if (size == ids.length) {
+            ids = users[bucket] = Arrays.copyOf(ids, size * 2);
+        }
+        ids[size] = userId;
+        sizes[bucket] = size + 1;
+        adjust(bucket, 1);
+    }
+
+    void sort() {
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            if (users[bucket] != null) {
+                Arrays.sort(users[bucket], 0, sizes[bucket]);
+            }
+        }
+    }
+
+    void remove(long userId, int score) {
+        int bucket = bucketOf(score);
+        int size = sizes[bucket];
+        int index = users[bucket] == null ? -1 : Arrays.binarySearch(users[bucket], 0, size, userId);
+        if (index < 0) {
+            return;
+        }
+        System.arraycopy(users[bucket], index + 1, users[bucket], index, size - index - 1);
+        sizes[bucket] = size - 1;
+        adjust(bucket, -1);
+    }
+
+    // 1 + number of users with a strictly higher score; tied users share a rank
+    int rank(int score) {
+        return countAtLeast(clamp(score) + 1) + 1;
+    }
+
+    int countAtLeast(int score) {
+        if (score > MAX_SCORE) {
+            return 0;
+        }
+        return prefix(bucketOf(Math.max(0, score)) + 1);
+    }
+
+    // 0-based position in board order (score descending, then user id), or -1 if absent
+    int position(long userId, int score) {
+        int bucket = bucketOf(score);
+        int index = users[bucket] == null ? -1 : Arrays.binarySearch(users[bucket], 0, sizes[bucket], userId);
+        return index < 0 ? -1 : prefix(bucket) + index;
+    }
+
+    // Up to count entries starting at a 0-based position, as (userId, score) pairs
+    long[][] slice(int from, int count) {
+        from = Math.max(0, from);
+        count = Math.max(0, Math.min(count, total - from));
+        long[][] entries = new long[count][];
+        if (count == 0) {
+            return entries;
+        }
+        int bucket = seek(from);
+        int offset = from - prefix(bucket);
+        for (int i = 0; i < count; i++) {
+            while (offset >= sizes[bucket]) {
+                bucket++;
+                offset = 0;
+            }
+            entries[i] = new long[] { users[bucket][offset], MAX_SCORE - bucket };
+            offset++;
+        }
+        return entries;
+    }
+
+    private static int bucketOf(int score) {
+        return MAX_SCORE - clamp(score);
+    }
+
+    private void adjust(int bucket, int delta) {
+        total += delta;
+        for (int i = bucket + 1; i <= BUCKETS; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    // Users in buckets [0, buckets)
+    private int prefix(int buckets) {
+        int sum = 0;
+        for (int i = buckets; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    // Bucket holding the given 0-based position, by binary lifting over the tree
+    private int seek(int position) {
+        int index = 0;
+        int remaining = position;
+        for (int step = Integer.highestOneBit(BUCKETS); step > 0; step >>= 1) {
+            int next = index + step;
+            if (next <= BUCKETS && tree[next] <= remaining) {
+                index = next;
+                remaining -= tree[next];
+            }
+        }
+        return index;
+    }
+}
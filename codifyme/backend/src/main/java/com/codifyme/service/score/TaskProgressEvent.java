@@ -0,0 +1,13 @@
+package com.codifyme.service.score;
+
+// Published when a user's roadmaps, their task counts or task completion change
+public record TaskProgressEvent(Long userId, int roadmapsAdded, long totalTasksDelta, long completedTasksDelta) {
+
+    public static TaskProgressEvent roadmapCreated(Long userId, long taskCount) {
+        return new TaskProgressEvent(userId, 1, taskCount, 0);
+    }
+
+    public static TaskProgressEvent tasksChanged(Long userId, long totalTasksDelta, long completedTasksDelta) {
+        return new TaskProgressEvent(userId, 0, totalTasksDelta, completedTasksDelta);
+    }
+}
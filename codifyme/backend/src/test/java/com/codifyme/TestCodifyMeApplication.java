@@ -0,0 +1,15 @@
+package com.codifyme;
+
+import org.springframework.boot.SpringApplication;
+
+// Runs the backend with the test classpath, so the dev tools under src/test (the fake Gemini
+// server launcher) are picked up by component scanning. For load tests against the fake server:
+//   mvn spring-boot:test-run -Dspring-boot.run.profiles=fake-gemini \
+//       -Dspring-boot.run.arguments=--gemini.api.base-url=http://localhost:8089/v1beta
+public class TestCodifyMeApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.from(CodifyMeApplication::main).run(args);
+	}
+
+}
@@ -0,0 +1,214 @@
+package com.codifyme.devtools;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Load driver for the AI-backed endpoints. Start the backend against the fake Gemini server
+// (see TestCodifyMeApplication), then run:
+//   java -cp <test classpath> com.codifyme.devtools.AILoadTest [baseUrl] [scenario] [concurrency] [requests]
+// where scenario is "roadmap", "interview" or "mixed". Reports throughput and p50/p99/p999 latency.
+// Interview submissions return 202 while feedback is generated in the background, so their
+// latency runs until GET /api/interviews/{id} leaves PENDING.
+public class AILoadTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final String[] VOCABULARY = {
+            "java", "spring", "kotlin", "python", "go", "rust", "typescript", "react", "angular", "node",
+            "kafka", "rabbitmq", "redis", "mysql", "postgres", "mongodb", "cassandra", "elasticsearch",
+            "docker", "kubernetes", "terraform", "aws", "gcp", "azure", "linux", "grpc", "rest", "graphql",
+            "microservices", "distributed", "systems", "caching", "latency", "throughput", "observability",
+            "monitoring", "testing", "ci", "cd", "pipelines", "security", "oauth", "payments", "search",
+            "streaming", "batch", "analytics", "mentoring", "design", "reviews", "scalability", "reliability",
+            "on-call", "incident", "migration", "refactoring", "api", "platform", "mobile", "frontend" };
+
+    private static final String[] SKILLS = {
+            "Java", "Spring Boot", "SQL", "Docker", "Kubernetes", "React", "System Design", "AWS", "Kafka", "Redis" };
+
+    private static final String[] LEVELS = { "Beginner", "Intermediate", "Advanced" };
+
+    // Outside the template durations, so every roadmap request reaches the generator
+    private static final int MIN_TARGET_DAYS = 5;
+    private static final int MAX_TARGET_DAYS = 14;
+
+    private static final long POLL_INTERVAL_MILLIS = 100;
+    private static final long COMPLETION_TIMEOUT_NANOS = Duration.ofMinutes(5).toNanos();
+
+    private final String baseUrl;
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    public AILoadTest(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        String scenario = args.length > 1 ? args[1] : "mixed";
+        int concurrency = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+        int totalRequests = args.length > 3 ? Integer.parseInt(args[3]) : 1000;
+
+        new AILoadTest(baseUrl).run(scenario, concurrency, totalRequests);
+    }
+
+    public void run(String scenario, int concurrency, int totalRequests) throws Exception {
+        String token = authenticate();
+
+        long[] latenciesNanos = new long[totalRequests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(concurrency);
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+
+        long startNanos = System.nanoTime();
+        for (int w = 0; w < concurrency; w++) {
+            workers.execute(() -> {
+                try {
+                    for (int i; (i = next.getAndIncrement()) < totalRequests;) {
+                        long begin = System.nanoTime();
+                        try {
+                            boolean roadmap = scenario.equals("roadmap") || (scenario.equals("mixed") && i % 2 == 0);
+                            HttpResponse<String> response = client.send(buildRequest(roadmap, i, token),
+                                    HttpResponse.BodyHandlers.ofString());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                            } else if (!roadmap && !awaitFeedback(response.body(), token)) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (IOException e) {
+                            errors.incrementAndGet();
+                        }
+                        latenciesNanos[i] = System.nanoTime() - begin;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        long elapsedNanos = System.nanoTime() - startNanos;
+        workers.shutdown();
+
+        Arrays.sort(latenciesNanos);
+        System.out.printf("scenario=%s concurrency=%d requests=%d errors=%d%n",
+                scenario, concurrency, totalRequests, errors.get());
+        System.out.printf("throughput: %.1f req/s%n", totalRequests / (elapsedNanos / 1e9));
+        System.out.printf("latency ms: p50=%.1f p99=%.1f p999=%.1f max=%.1f%n",
+                percentileMs(latenciesNanos, 0.50),
+                percentileMs(latenciesNanos, 0.99),
+                percentileMs(latenciesNanos, 0.999),
+                latenciesNanos[latenciesNanos.length - 1] / 1e6);
+    }
+
+    private HttpRequest buildRequest(boolean roadmap, int i, String token) throws IOException {
+        // Random word sequences share almost no 3-grams, so neither the response cache nor the
+        // similarity index can answer a request from an earlier one
+        Random random = new Random(i);
+        Object body = roadmap
+                ? Map.of("title", "Load test roadmap " + i + " " + words(random, 3),
+                        "jobDescription", "Engineer role: " + words(random, 60),
+                        "currentSkillLevel", LEVELS[random.nextInt(LEVELS.length)],
+                        "targetDays", MIN_TARGET_DAYS + random.nextInt(MAX_TARGET_DAYS - MIN_TARGET_DAYS + 1),
+                        "skills", skills(random))
+                : Map.of("type", "Chat",
+                        "transcript", "Q: Explain " + words(random, 4) + ". A: " + words(random, 60),
+                        "jobRole", "Software Engineer");
+
+        return HttpRequest.newBuilder(URI.create(baseUrl + (roadmap ? "/api/roadmap/generate" : "/api/interviews/submit")))
+                .timeout(Duration.ofSeconds(120))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + token)
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+    }
+
+    // Polls the submitted interview until its feedback is COMPLETED or FAILED; false on failure or timeout
+    private boolean awaitFeedback(String submitted, String token) throws IOException, InterruptedException {
+        long id = objectMapper.readTree(submitted).get("id").asLong();
+        HttpRequest poll = HttpRequest.newBuilder(URI.create(baseUrl + "/api/interviews/" + id))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        long deadline = System.nanoTime() + COMPLETION_TIMEOUT_NANOS;
+        while (System.nanoTime() < deadline) {
+            HttpResponse<String> response = client.send(poll, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 400) {
+                return false;
+            }
+            String status = objectMapper.readTree(response.body()).path("status").asText();
+            if (!status.equals("PENDING")) {
+                return status.equals("COMPLETED");
+            }
+            Thread.sleep(POLL_INTERVAL_MILLIS);
+        }
+        return false;
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int w = 0; w < count; w++) {
+            if (w > 0) {
+                text.append(' ');
+            }
+            text.append(VOCABULARY[random.nextInt(VOCABULARY.length)]);
+        }
+        return text.toString();
+    }
+
+    private static List<String> skills(Random random) {
+        List<String> picked = new ArrayList<>();
+        for (String skill : SKILLS) {
+            if (random.nextBoolean()) {
+                picked.add(skill);
+            }
+        }
+        return picked;
+    }
+
+    private String authenticate() throws IOException, InterruptedException {
+        String email = "loadtest-" + UUID.randomUUID() + "@codifyme.local";
+        String password = "loadtest-password";
+
+        post("/api/auth/signup", Map.of("email", email, "password", password, "fullName", "Load Test"));
+        JsonNode signin = objectMapper.readTree(post("/api/auth/signin", Map.of("email", email, "password", password)));
+        return signin.get("token").asText();
+    }
+
+    private String post(String path, Object body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IOException(path + " failed with " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    private static double percentileMs(long[] sortedNanos, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, Math.min(sortedNanos.length - 1, index))] / 1e6;
+    }
+}
@@ -0,0 +1,202 @@
+package com.codifyme.devtools;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Minimal stand-in for the Gemini REST API so AI paths can be exercised and load-tested
+// without spending quota. Serves generateContent and streamGenerateContent (alt=sse) with
+// canned candidates/content/parts payloads, simulated latency and injected errors.
+//
+// Run standalone with: java -cp <test classpath> com.codifyme.devtools.FakeGeminiServer [port]
+// and point the backend at it with gemini.api.base-url=http://localhost:<port>/v1beta
+public class FakeGeminiServer {
+
+    private static final Logger logger = LoggerFactory.getLogger(FakeGeminiServer.class);
+
+    public enum LatencyDistribution {
+        FIXED, UNIFORM, LOGNORMAL
+    }
+
+    private static final String ROADMAP_TEXT = """
+            {
+              "title": "Generated Learning Roadmap",
+              "days": [
+                {"day": 1, "topic": "Fundamentals", "tasks": ["Review job requirements", "Study core concepts"]},
+                {"day": 2, "topic": "Data Structures", "tasks": ["Arrays and hashing", "Practice 5 problems"]},
+                {"day": 3, "topic": "System Design", "tasks": ["Caching basics", "Design a URL shortener"]},
+                {"day": 4, "topic": "Projects", "tasks": ["Build a REST API", "Write tests"]},
+                {"day": 5, "topic": "Mock Interviews", "tasks": ["Behavioral questions", "Timed coding round"]}
+              ]
+            }
+            """;
+
+    private static final String FEEDBACK_TEXT = """
+            {
+              "score": 78,
+              "strengths": ["Clear communication", "Solid fundamentals"],
+              "weaknesses": ["Edge cases", "Complexity analysis"],
+              "recommendations": ["Practice dry runs", "State complexity upfront"],
+              "overallFeedback": "Good performance with room to improve rigor."
+            }
+            """;
+
+    private final int port;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private volatile LatencyDistribution distribution = LatencyDistribution.LOGNORMAL;
+    private volatile long medianLatencyMs = 200;
+    private volatile double latencySpread = 0.5;
+    private volatile double errorRate = 0.0;
+    private volatile int streamChunks = 8;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public FakeGeminiServer(int port) {
+        this.port = port;
+    }
+
+    // FIXED: always the median. UNIFORM: median +/- spread * median.
+    // LOGNORMAL: median * exp(spread * N(0,1)), giving the long tail real providers show.
+    public FakeGeminiServer latency(LatencyDistribution distribution, long medianLatencyMs, double spread) {
+        this.distribution = distribution;
+        this.medianLatencyMs = medianLatencyMs;
+        this.latencySpread = spread;
+        return this;
+    }
+
+    // Fraction of requests (0..1) answered with 503 instead of a payload
+    public FakeGeminiServer errorRate(double errorRate) {
+        this.errorRate = errorRate;
+        return this;
+    }
+
+    public FakeGeminiServer streamChunks(int streamChunks) {
+        this.streamChunks = Math.max(1, streamChunks);
+        return this;
+    }
+
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(port), 512);
+        // Handlers sleep to simulate latency, so every request needs its own thread
+        executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.createContext("/v1beta/models/", this::handle);
+        server.start();
+        logger.info("Fake Gemini server listening on port {}", getPort());
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    public int getPort() {
+        return server != null ? server.getAddress().getPort() : port;
+    }
+
+    public Map<String, Object> getStats() {
+        return Map.of("requests", requests.get(), "injectedErrors", injectedErrors.get());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            String path = exchange.getRequestURI().getPath();
+            String prompt = readBody(exchange.getRequestBody());
+
+            sleep(sampleLatencyMs());
+
+            if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+                injectedErrors.incrementAndGet();
+                send(exchange, 503, "application/json",
+                        "{\"error\":{\"code\":503,\"message\":\"Injected failure\",\"status\":\"UNAVAILABLE\"}}");
+                return;
+            }
+
+            String text = prompt.contains("roadmap") ? ROADMAP_TEXT : FEEDBACK_TEXT;
+            if (path.endsWith(":streamGenerateContent")) {
+                stream(exchange, text);
+            } else if (path.endsWith(":generateContent")) {
+                send(exchange, 200, "application/json", candidatePayload(text));
+            } else {
+                send(exchange, 404, "application/json", "{\"error\":{\"code\":404}}");
+            }
+        }
+    }
+
+    private void stream(HttpExchange exchange, String text) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream out = exchange.getResponseBody();
+
+        int chunkSize = Math.max(1, (text.length() + streamChunks - 1) / streamChunks);
+        long interChunkDelay = sampleLatencyMs() / streamChunks;
+        for (int start = 0; start < text.length(); start += chunkSize) {
+            String chunk = text.substring(start, Math.min(text.length(), start + chunkSize));
+            out.write(("data: " + candidatePayload(chunk) + "\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            sleep(interChunkDelay);
+        }
+    }
+
+    private String candidatePayload(String text) throws IOException {
+        return objectMapper.writeValueAsString(Map.of("candidates", List.of(Map.of(
+                "content", Map.of("role", "model", "parts", List.of(Map.of("text", text))),
+                "finishReason", "STOP"))));
+    }
+
+    private long sampleLatencyMs() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double sample = switch (distribution) {
+            case FIXED -> medianLatencyMs;
+            case UNIFORM -> medianLatencyMs * (1 + latencySpread * (2 * random.nextDouble() - 1));
+            case LOGNORMAL -> medianLatencyMs * Math.exp(latencySpread * random.nextGaussian());
+        };
+        return Math.max(0, Math.round(sample));
+    }
+
+    private void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private String readBody(InputStream in) throws IOException {
+        return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8089;
+        new FakeGeminiServer(port).start();
+    }
+}
@@ -0,0 +1,51 @@
+package com.codifyme.devtools;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+// Starts the fake Gemini server inside the application when the "fake-gemini" profile is active
+// and the app runs from the test classpath (TestCodifyMeApplication).
+// Pair it with gemini.api.base-url=http://localhost:${fake-gemini.port}/v1beta.
+@Component
+@Profile("fake-gemini")
+public class FakeGeminiServerLauncher {
+
+    @Value("${fake-gemini.port:8089}")
+    private int port;
+
+    @Value("${fake-gemini.latency.distribution:LOGNORMAL}")
+    private FakeGeminiServer.LatencyDistribution distribution;
+
+    @Value("${fake-gemini.latency.median-ms:200}")
+    private long medianLatencyMs;
+
+    @Value("${fake-gemini.latency.spread:0.5}")
+    private double latencySpread;
+
+    @Value("${fake-gemini.error-rate:0.0}")
+    private double errorRate;
+
+    @Value("${fake-gemini.stream-chunks:8}")
+    private int streamChunks;
+
+    private FakeGeminiServer server;
+
+    @PostConstruct
+    void start() throws IOException {
+        server = new FakeGeminiServer(port)
+                .latency(distribution, medianLatencyMs, latencySpread)
+                .errorRate(errorRate)
+                .streamChunks(streamChunks);
+        server.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        server.stop();
+    }
+}
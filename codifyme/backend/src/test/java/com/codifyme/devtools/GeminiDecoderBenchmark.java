@@ -0,0 +1,89 @@
+package com.codifyme.devtools;
+
+import com.codifyme.service.ai.GeminiResponseDecoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+// Compares the previous Map-based Gemini response decoding with GeminiResponseDecoder.
+// Reports time and bytes allocated per decode (via com.sun.management.ThreadMXBean):
+//   java -cp <test classpath> com.codifyme.devtools.GeminiDecoderBenchmark [iterations]
+public class GeminiDecoderBenchmark {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    public static void main(String[] args) throws IOException {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        byte[] body = samplePayload();
+
+        // Warm up both paths so the JIT has compiled them before measuring
+        for (int i = 0; i < iterations; i++) {
+            decodeWithMaps(new ByteArrayInputStream(body));
+            GeminiResponseDecoder.readCandidateText(new ByteArrayInputStream(body));
+        }
+
+        report("map-based", iterations, () -> decodeWithMaps(new ByteArrayInputStream(body)));
+        report("streaming", iterations, () -> GeminiResponseDecoder.readCandidateText(new ByteArrayInputStream(body)));
+    }
+
+    private interface Decode {
+        String run() throws IOException;
+    }
+
+    private static void report(String name, int iterations, Decode decode) throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        long checksum = 0;
+        for (int i = 0; i < iterations; i++) {
+            checksum += decode.run().length();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+
+        System.out.printf("%-10s %8.2f us/op %10d B/op (checksum %d)%n",
+                name, elapsed / 1e3 / iterations, allocated / iterations, checksum);
+    }
+
+    // The decoding AIServiceImpl used before: whole body to String, then nested Maps
+    @SuppressWarnings("unchecked")
+    private static String decodeWithMaps(InputStream in) throws IOException {
+        String responseBody = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        Map<String, Object> response = objectMapper.readValue(responseBody, Map.class);
+        List<Map<String, Object>> candidates = (List<Map<String, Object>>) response.get("candidates");
+        Map<String, Object> content = (Map<String, Object>) candidates.get(0).get("content");
+        List<Map<String, Object>> parts = (List<Map<String, Object>>) content.get("parts");
+        return (String) parts.get(0).get("text");
+    }
+
+    // A realistic response: a 30-day plan plus the safety ratings and usage metadata Gemini adds
+    private static byte[] samplePayload() throws IOException {
+        StringBuilder plan = new StringBuilder("{\"title\":\"Backend roadmap\",\"days\":[");
+        for (int day = 1; day <= 30; day++) {
+            plan.append(day > 1 ? "," : "")
+                    .append("{\"day\":").append(day)
+                    .append(",\"topic\":\"Topic ").append(day)
+                    .append("\",\"tasks\":[\"Read chapter ").append(day)
+                    .append("\",\"Solve five problems\",\"Write notes\"]}");
+        }
+        plan.append("]}");
+
+        Map<String, Object> payload = Map.of(
+                "candidates", List.of(Map.of(
+                        "content", Map.of("role", "model", "parts", List.of(Map.of("text", plan.toString()))),
+                        "finishReason", "STOP",
+                        "safetyRatings", List.of(
+                                Map.of("category", "HARM_CATEGORY_HARASSMENT", "probability", "NEGLIGIBLE"),
+                                Map.of("category", "HARM_CATEGORY_HATE_SPEECH", "probability", "NEGLIGIBLE")))),
+                "usageMetadata", Map.of("promptTokenCount", 412, "candidatesTokenCount", 1380, "totalTokenCount", 1792));
+        return objectMapper.writeValueAsBytes(payload);
+    }
+}
@@ -0,0 +1,101 @@
+package com.codifyme.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskProgressTest {
+
+    @Test
+    void emptyProgressStoresZeroBytes() {
+        assertEquals(0, TaskProgress.empty().toBytes().length);
+        assertSame(TaskProgress.empty(), TaskProgress.fromBytes(new byte[0]));
+        assertSame(TaskProgress.empty(), TaskProgress.fromBytes(null));
+    }
+
+    @Test
+    void bitsRoundTripAcrossWordBoundaries() {
+        int[] completed = { 0, 63, 64, 127, 1000, TaskProgress.MAX_TASKS - 1 };
+        TaskProgress progress = TaskProgress.empty();
+        for (int index : completed) {
+            progress = progress.withCompleted(index, true);
+        }
+
+        TaskProgress restored = TaskProgress.fromBytes(progress.toBytes());
+        assertEquals(progress, restored);
+        assertEquals(completed.length, restored.completedCount());
+        for (int index : completed) {
+            assertTrue(restored.isCompleted(index));
+        }
+        assertFalse(restored.isCompleted(1));
+        assertFalse(restored.isCompleted(TaskProgress.MAX_TASKS));
+    }
+
+    @Test
+    void clearingTheHighestBitDropsTrailingWords() {
+        TaskProgress progress = TaskProgress.empty()
+                .withCompleted(3, true)
+                .withCompleted(200, true)
+                .withCompleted(200, false);
+
+        assertEquals(Long.BYTES, progress.toBytes().length);
+        assertEquals(TaskProgress.empty().withCompleted(3, true), progress);
+        assertTrue(TaskProgress.empty().withCompleted(5, true).withCompleted(5, false).isEmpty());
+    }
+
+    @Test
+    void partialTrailingWordIsRead() {
+        // Bit 8 in a value truncated to two bytes
+        TaskProgress progress = TaskProgress.fromBytes(new byte[] { 0, 1 });
+
+        assertTrue(progress.isCompleted(8));
+        assertEquals(1, progress.completedCount());
+    }
+
+    @Test
+    void unchangedBitReturnsSameInstance() {
+        TaskProgress progress = TaskProgress.empty().withCompleted(7, true);
+
+        assertSame(progress, progress.withCompleted(7, true));
+        assertThrows(IndexOutOfBoundsException.class, () -> progress.withCompleted(TaskProgress.MAX_TASKS, true));
+        assertThrows(IndexOutOfBoundsException.class, () -> progress.withCompleted(-1, true));
+    }
+
+    @Test
+    void completionPercentageUsesThePlanTaskCount() {
+        TaskProgress progress = TaskProgress.empty().withCompleted(0, true).withCompleted(1, true);
+
+        assertEquals(50.0, progress.completionPercentage(4));
+        assertEquals(0.0, progress.completionPercentage(0));
+    }
+
+    @Test
+    void taskVersionsRoundTripAndFallBackToTheBase() {
+        TaskVersions versions = TaskVersions.of(4)
+                .with(TaskProgress.MAX_TASKS - 1, 9)
+                .with(0, 6)
+                .with(70, 5)
+                .with(0, 7);
+
+        TaskVersions restored = TaskVersions.fromBytes(versions.toBytes());
+        assertEquals(versions, restored);
+        assertEquals(7, restored.versionOf(0));
+        assertEquals(5, restored.versionOf(70));
+        assertEquals(9, restored.versionOf(TaskProgress.MAX_TASKS - 1));
+        assertEquals(4, restored.versionOf(1));
+        assertArrayEquals(versions.toBytes(), restored.toBytes());
+    }
+
+    @Test
+    void emptyTaskVersionsReportVersionZero() {
+        assertEquals(TaskVersions.empty(), TaskVersions.fromBytes(TaskVersions.empty().toBytes()));
+        assertEquals(TaskVersions.empty(), TaskVersions.fromBytes(null));
+        assertEquals(0, TaskVersions.empty().versionOf(12));
+        assertSame(TaskVersions.empty(), TaskVersions.of(0));
+    }
+}
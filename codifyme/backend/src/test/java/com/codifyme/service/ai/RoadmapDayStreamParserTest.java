@@ -0,0 +1,70 @@
+package com.codifyme.service.ai;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RoadmapDayStreamParserTest {
+
+    private static final String DAY_1 = "{\"day\": 1, \"title\": \"Arrays {and} [lists]\", \"tasks\": [{\"name\": \"a\"}]}";
+    private static final String DAY_2 = "{\"day\": 2, \"title\": \"Quote \\\" and \\\\\", \"resources\": []}";
+    private static final String DOCUMENT = "```json\n{\"title\": \"Plan\", \"days\": [" + DAY_1 + ", " + DAY_2
+            + "], \"summary\": \"done\"}\n```{\"days\": [{\"day\": 3}]}";
+
+    @Test
+    void wholeDocumentYieldsEachDay() {
+        assertEquals(List.of(DAY_1, DAY_2), parse(List.of(DOCUMENT)));
+    }
+
+    @Test
+    void singleCharacterChunksYieldTheSameDays() {
+        List<String> chunks = new ArrayList<>();
+        for (char c : DOCUMENT.toCharArray()) {
+            chunks.add(String.valueOf(c));
+        }
+
+        assertEquals(List.of(DAY_1, DAY_2), parse(chunks));
+    }
+
+    @Test
+    void randomSplitsYieldTheSameDays() {
+        Random random = new Random(42);
+        for (int run = 0; run < 200; run++) {
+            List<String> chunks = new ArrayList<>();
+            int start = 0;
+            while (start < DOCUMENT.length()) {
+                int end = Math.min(DOCUMENT.length(), start + 1 + random.nextInt(12));
+                chunks.add(DOCUMENT.substring(start, end));
+                start = end;
+            }
+
+            assertEquals(List.of(DAY_1, DAY_2), parse(chunks), "chunks " + chunks);
+        }
+    }
+
+    @Test
+    void splitInsideAnEscapeSequenceKeepsTheStringOpen() {
+        String document = "{\"days\": [{\"title\": \"a\\\"}\"}]}";
+        int escape = document.indexOf('\\');
+
+        List<String> days = parse(List.of(document.substring(0, escape + 1), document.substring(escape + 1)));
+
+        assertEquals(List.of("{\"title\": \"a\\\"}\"}"), days);
+    }
+
+    @Test
+    void unfinishedDayIsNotEmitted() {
+        assertEquals(List.of(), parse(List.of("{\"days\": [{\"day\": 1, \"title\": \"cut")));
+    }
+
+    private static List<String> parse(List<String> chunks) {
+        List<String> days = new ArrayList<>();
+        RoadmapDayStreamParser parser = new RoadmapDayStreamParser(days::add);
+        chunks.forEach(parser::feed);
+        return days;
+    }
+}
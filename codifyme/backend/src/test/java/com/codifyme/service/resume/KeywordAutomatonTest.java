@@ -0,0 +1,74 @@
+package com.codifyme.service.resume;
+
+import com.codifyme.service.resume.KeywordAutomaton.Keyword;
+import com.codifyme.service.resume.KeywordAutomaton.Kind;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class KeywordAutomatonTest {
+
+    private static final KeywordAutomaton AUTOMATON = new KeywordAutomaton(List.of(
+            new Keyword("java", Kind.SKILL),
+            new Keyword("javascript", Kind.SKILL),
+            new Keyword("c", Kind.SKILL),
+            new Keyword("c++", Kind.SKILL),
+            new Keyword("c#", Kind.SKILL),
+            new Keyword("node.js", Kind.SKILL),
+            new Keyword("spring", Kind.SKILL),
+            new Keyword("spring boot", Kind.SKILL),
+            new Keyword("led", Kind.ACTION_VERB),
+            new Keyword("responsible for", Kind.WEAK_PHRASE),
+            new Keyword("Java", Kind.SKILL)));
+
+    @Test
+    void keywordInsideALongerWordDoesNotMatch() {
+        assertEquals(List.of("javascript"), terms("Built tools in JavaScript"));
+        assertEquals(List.of(), terms("Worked on javadoc and ledgers"));
+    }
+
+    @Test
+    void trailingPunctuationIsABoundary() {
+        assertEquals(List.of("java", "spring"), terms("Java, Spring."));
+        assertEquals(List.of("node.js"), terms("APIs in Node.js."));
+    }
+
+    @Test
+    void plusAndHashBelongToTheWord() {
+        assertEquals(List.of("c++"), terms("Wrote C++ services"));
+        assertEquals(List.of("c#"), terms("Ported code to C#;"));
+        assertEquals(List.of("c"), terms("Embedded C and assembly"));
+    }
+
+    @Test
+    void overlappingPhrasesBothMatchAcrossSeparatorRuns() {
+        assertEquals(List.of("spring", "spring boot"), terms("Spring   Boot microservices"));
+        assertEquals(List.of("responsible for"), terms("Responsible\tfor releases"));
+    }
+
+    @Test
+    void leadingBulletsAreSkippedForTheStartOffset() {
+        List<Integer> starts = new ArrayList<>();
+        AUTOMATON.scan("  - Led the Java migration", (keyword, start) -> starts.add(start));
+
+        assertEquals(List.of(0, 8), starts);
+    }
+
+    @Test
+    void duplicateTermKeepsTheFirstRegistration() {
+        List<Keyword> matched = new ArrayList<>();
+        AUTOMATON.scan("java", (keyword, start) -> matched.add(keyword));
+
+        assertEquals(List.of(new Keyword("java", Kind.SKILL)), matched);
+        assertEquals(11, AUTOMATON.size());
+    }
+
+    private static List<String> terms(String line) {
+        List<String> terms = new ArrayList<>();
+        AUTOMATON.scan(line, (keyword, start) -> terms.add(keyword.term()));
+        return terms;
+    }
+}
@@ -0,0 +1,115 @@
+package com.codifyme.service.score;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ScoreBoardTest {
+
+    @Test
+    void emptyBoardRanksEveryoneFirstAndSlicesNothing() {
+        ScoreBoard board = new ScoreBoard();
+
+        assertEquals(0, board.size());
+        assertEquals(1, board.rank(0));
+        assertEquals(1, board.rank(ScoreBoard.MAX_SCORE));
+        assertEquals(-1, board.position(1, 50));
+        assertEquals(0, board.slice(0, 10).length);
+    }
+
+    @Test
+    void tiedUsersShareARankAndAreOrderedById() {
+        ScoreBoard board = new ScoreBoard();
+        board.add(30, 80);
+        board.add(10, 80);
+        board.add(20, 80);
+        board.add(40, 90);
+        board.add(50, 10);
+
+        assertEquals(1, board.rank(90));
+        assertEquals(2, board.rank(80));
+        assertEquals(5, board.rank(10));
+        // A score between occupied buckets ranks after everyone above it
+        assertEquals(5, board.rank(50));
+
+        assertEquals(0, board.position(40, 90));
+        assertEquals(1, board.position(10, 80));
+        assertEquals(2, board.position(20, 80));
+        assertEquals(3, board.position(30, 80));
+        assertEquals(4, board.position(50, 10));
+        assertEquals(-1, board.position(50, 80));
+    }
+
+    @Test
+    void sliceWalksAcrossEmptyBuckets() {
+        ScoreBoard board = new ScoreBoard();
+        board.add(1, 100);
+        board.add(2, 60);
+        board.add(3, 60);
+        board.add(4, 0);
+
+        long[][] all = board.slice(0, 10);
+        assertEquals(4, all.length);
+        assertArrayEquals(new long[] { 1, 100 }, all[0]);
+        assertArrayEquals(new long[] { 2, 60 }, all[1]);
+        assertArrayEquals(new long[] { 3, 60 }, all[2]);
+        assertArrayEquals(new long[] { 4, 0 }, all[3]);
+
+        // Starting inside a tie and running past it into a distant bucket
+        long[][] middle = board.slice(2, 2);
+        assertEquals(2, middle.length);
+        assertArrayEquals(new long[] { 3, 60 }, middle[0]);
+        assertArrayEquals(new long[] { 4, 0 }, middle[1]);
+
+        assertEquals(0, board.slice(4, 10).length);
+        assertEquals(1, board.slice(-5, 1).length);
+    }
+
+    @Test
+    void removeAndReAddMoveAUserBetweenBuckets() {
+        ScoreBoard board = new ScoreBoard();
+        board.add(1, 70);
+        board.add(2, 70);
+        board.add(3, 50);
+
+        board.remove(1, 70);
+        board.add(1, 40);
+        // Removing an absent user changes nothing
+        board.remove(99, 70);
+        board.add(2, 70);
+
+        assertEquals(3, board.size());
+        assertEquals(0, board.position(2, 70));
+        assertEquals(1, board.position(3, 50));
+        assertEquals(2, board.position(1, 40));
+        assertEquals(3, board.rank(40));
+    }
+
+    @Test
+    void loadThenSortMatchesAdd() {
+        ScoreBoard loaded = new ScoreBoard();
+        ScoreBoard added = new ScoreBoard();
+        long[][] users = { { 5, 20 }, { 3, 20 }, { 9, 75 }, { 1, 20 }, { 7, 75 } };
+        for (long[] user : users) {
+            loaded.load(user[0], (int) user[1]);
+            added.add(user[0], (int) user[1]);
+        }
+        loaded.sort();
+
+        assertArrayEquals(added.slice(0, users.length), loaded.slice(0, users.length));
+    }
+
+    @Test
+    void scoresOutsideTheRangeAreClamped() {
+        ScoreBoard board = new ScoreBoard();
+        board.add(1, 150);
+        board.add(2, -5);
+
+        assertEquals(0, board.position(1, ScoreBoard.MAX_SCORE));
+        assertEquals(1, board.position(2, 0));
+        assertEquals(1, board.countAtLeast(ScoreBoard.MAX_SCORE));
+        assertEquals(0, board.countAtLeast(ScoreBoard.MAX_SCORE + 1));
+        assertEquals(2, board.countAtLeast(-1));
+    }
+}
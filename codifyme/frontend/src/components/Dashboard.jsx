@@ -23,12 +23,12 @@ const Dashboard = () => {
             const [profileData, roadmapsData, interviewsData] = await Promise.all([
                 userService.getProfile(),
                 roadmapService.getUserRoadmaps(),
-                interviewService.getInterviewHistory()
+                interviewService.getInterviewHistory({ limit: 3 })
             ]);
 
             setProfile(profileData);
-            setRoadmaps(roadmapsData);
-            setInterviews(interviewsData.slice(0, 3)); // Last 3 interviews
+            setRoadmaps(roadmapsData.roadmaps);
+            setInterviews(interviewsData.interviews); // Last 3 interviews
         } catch (error) {
             console.error('Error fetching dashboard data:', error);
         } finally {
@@ -7,6 +7,7 @@ const InterviewHistory = () => {
     const [interviews, setInterviews] = useState([]);
     const [filteredInterviews, setFilteredInterviews] = useState([]);
     const [loading, setLoading] = useState(true);
+    const [nextCursor, setNextCursor] = useState(null);
     const [filterType, setFilterType] = useState('All');
     const [filterScore, setFilterScore] = useState('All');
     const navigate = useNavigate();
@@ -22,8 +23,9 @@ const InterviewHistory = () => {
     const fetchInterviews = async () => {
         try {
             const data = await interviewService.getInterviewHistory();
-            setInterviews(data);
-            setFilteredInterviews(data);
+            setInterviews(data.interviews);
+            setFilteredInterviews(data.interviews);
+            setNextCursor(data.nextCursor);
         } catch (error) {
             console.error('Error fetching interviews:', error);
         } finally {
@@ -31,6 +33,16 @@ const InterviewHistory = () => {
         }
     };
 
+    const loadMoreInterviews = async () => {
+        try {
+            const data = await interviewService.getInterviewHistory({ cursor: nextCursor });
+            setInterviews([...interviews, ...data.interviews]);
+            setNextCursor(data.nextCursor);
+        } catch (error) {
+            console.error('Error fetching interviews:', error);
+        }
+    };
+
     const applyFilters = () => {
         let filtered = [...interviews];
 
@@ -178,6 +190,17 @@ const InterviewHistory = () => {
                 )}
             </div>
 
+            {nextCursor && (
+                <div className="mt-6 text-center">
+                    <button
+                        onClick={loadMoreInterviews}
+                        className="bg-white border-2 border-black px-6 py-3 font-black shadow-[4px_4px_0px_0px_rgba(0,0,0,1)] hover:shadow-[2px_2px_0px_0px_rgba(0,0,0,1)] hover:translate-x-[2px] hover:translate-y-[2px] transition-all"
+                    >
+                        LOAD MORE
+                    </button>
+                </div>
+            )}
+
             {/* Stats Summary */}
             {filteredInterviews.length > 0 && (
                 <div className="mt-8 grid md:grid-cols-3 gap-6">
@@ -12,6 +12,7 @@ const InterviewSimulator = () => {
     const [allInterviews, setAllInterviews] = useState([]);
     const [filteredInterviews, setFilteredInterviews] = useState([]);
     const [typeFilter, setTypeFilter] = useState('All');
+    const [historyCursor, setHistoryCursor] = useState(null);
     const [selectedInterview, setSelectedInterview] = useState(null);
 
     // Active interview state
@@ -180,8 +181,19 @@ const InterviewSimulator = () => {
     const fetchInterviewHistory = async () => {
         try {
             const data = await interviewService.getInterviewHistory();
-            setAllInterviews(data);
-            setFilteredInterviews(data);
+            setAllInterviews(data.interviews);
+            setFilteredInterviews(data.interviews);
+            setHistoryCursor(data.nextCursor);
+        } catch (error) {
+            console.error('Error fetching interview history:', error);
+        }
+    };
+
+    const loadMoreInterviews = async () => {
+        try {
+            const data = await interviewService.getInterviewHistory({ cursor: historyCursor });
+            setAllInterviews([...allInterviews, ...data.interviews]);
+            setHistoryCursor(data.nextCursor);
         } catch (error) {
             console.error('Error fetching interview history:', error);
         }
@@ -203,9 +215,14 @@ const InterviewSimulator = () => {
         setSelectedInterview(null);
     };
 
-    const handleSelectInterview = (interview) => {
-        setSelectedInterview(interview);
-        setMode('view');
+    const handleSelectInterview = async (interview) => {
+        // History rows carry no feedback, so load the full interview before showing it
+        try {
+            setSelectedInterview(await interviewService.getInterviewDetails(interview.id));
+            setMode('view');
+        } catch (error) {
+            console.error('Error loading interview:', error);
+        }
     };
 
     const startInterview = async () => {
@@ -399,6 +416,14 @@ const InterviewSimulator = () => {
                                 </button>
                             </div>
                         )}
+                        {historyCursor && (
+                            <button
+                                onClick={loadMoreInterviews}
+                                className="w-full border-2 border-black p-2 font-black text-sm bg-white hover:bg-neo-main transition-colors"
+                            >
+                                LOAD MORE
+                            </button>
+                        )}
                     </div>
 
                     {/* Stats */}
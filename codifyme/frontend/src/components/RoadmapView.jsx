@@ -11,6 +11,7 @@ const RoadmapView = () => {
     const [allRoadmaps, setAllRoadmaps] = useState([]);
     const [filteredRoadmaps, setFilteredRoadmaps] = useState([]);
     const [statusFilter, setStatusFilter] = useState('All');
+    const [nextRoadmapPage, setNextRoadmapPage] = useState(null);
 
     // Selected/Create state
     const [selectedRoadmap, setSelectedRoadmap] = useState(null);
@@ -37,7 +38,11 @@ const RoadmapView = () => {
             if (roadmap) {
                 setSelectedRoadmap(roadmap);
                 setMode('view');
+                fetchRoadmapDetail(parseInt(id));
                 fetchRoadmapTasks(parseInt(id));
+            } else {
+                // Linked roadmap is on a page not loaded yet
+                openRoadmapById(parseInt(id));
             }
         }
     }, [id, allRoadmaps]);
@@ -48,9 +53,10 @@ const RoadmapView = () => {
 
     const fetchAllRoadmaps = async () => {
         try {
-            const roadmapsData = await roadmapService.getUserRoadmaps();
-            setAllRoadmaps(roadmapsData);
-            setFilteredRoadmaps(roadmapsData);
+            const data = await roadmapService.getUserRoadmaps();
+            setAllRoadmaps(data.roadmaps);
+            setFilteredRoadmaps(data.roadmaps);
+            setNextRoadmapPage(data.totalPages > 1 ? 1 : null);
         } catch (error) {
             console.error('Error fetching roadmaps:', error);
         } finally {
@@ -58,6 +64,37 @@ const RoadmapView = () => {
         }
     };
 
+    const loadMoreRoadmaps = async () => {
+        try {
+            const data = await roadmapService.getUserRoadmaps({ page: nextRoadmapPage });
+            setAllRoadmaps([...allRoadmaps, ...data.roadmaps]);
+            setNextRoadmapPage(nextRoadmapPage + 1 < data.totalPages ? nextRoadmapPage + 1 : null);
+        } catch (error) {
+            console.error('Error fetching roadmaps:', error);
+        }
+    };
+
+    const openRoadmapById = async (roadmapId) => {
+        try {
+            const roadmap = await roadmapService.getRoadmapById(roadmapId);
+            setSelectedRoadmap(roadmap);
+            setMode('view');
+            fetchRoadmapTasks(roadmapId);
+        } catch (error) {
+            console.error('Error fetching roadmap:', error);
+        }
+    };
+
+    // The list only carries summaries; the AI plan is fetched separately
+    const fetchRoadmapDetail = async (roadmapId) => {
+        try {
+            const aiGeneratedPlan = await roadmapService.getRoadmapPlan(roadmapId);
+            setSelectedRoadmap(current => (current && current.id === roadmapId ? { ...current, aiGeneratedPlan } : current));
+        } catch (error) {
+            console.error('Error fetching roadmap plan:', error);
+        }
+    };
+
     const fetchRoadmapTasks = async (roadmapId) => {
         try {
             const tasksData = await roadmapService.getRoadmapTasks(roadmapId);
@@ -78,6 +115,7 @@ const RoadmapView = () => {
     const handleSelectRoadmap = (roadmap) => {
         setSelectedRoadmap(roadmap);
         setMode('view');
+        fetchRoadmapDetail(roadmap.id);
         fetchRoadmapTasks(roadmap.id);
         navigate(`/roadmap/${roadmap.id}`);
     };
@@ -117,13 +155,27 @@ const RoadmapView = () => {
     };
 
     const handleToggleTask = async (taskId, currentStatus) => {
+        const task = tasks.find(t => t.id === taskId);
         try {
-            await roadmapService.updateTaskCompletion(taskId, !currentStatus);
-            setTasks(tasks.map(task =>
-                task.id === taskId ? { ...task, completed: !currentStatus } : task
+            const result = await roadmapService.updateTasks([
+                { id: taskId, completed: !currentStatus, version: task?.version }
+            ]);
+            // Versions are per task, so only the tasks in the update move to a new version
+            const changed = new Map(result.tasks.map(t => [t.id, t]));
+            setTasks(tasks.map(t => changed.has(t.id)
+                ? { ...t, completed: changed.get(t.id).completed, version: changed.get(t.id).version }
+                : t));
+            // Progress comes back with the update, so the roadmap list needn't be reloaded
+            const progress = new Map(result.roadmaps.map(p => [p.roadmapId, p.completionPercentage]));
+            setAllRoadmaps(allRoadmaps.map(rm =>
+                progress.has(rm.id) ? { ...rm, completionPercentage: progress.get(rm.id) } : rm
             ));
-            await fetchAllRoadmaps(); // Refresh to update progress
         } catch (error) {
+            if (error.response?.status === 409 && selectedRoadmap) {
+                // Changed elsewhere; reload and let the user try again
+                await fetchRoadmapTasks(selectedRoadmap.id);
+                return;
+            }
             console.error('Error updating task:', error);
             alert('Failed to update task');
         }
@@ -225,6 +277,14 @@ const RoadmapView = () => {
                                 </button>
                             </div>
                         )}
+                        {nextRoadmapPage !== null && (
+                            <button
+                                onClick={loadMoreRoadmaps}
+                                className="w-full border-2 border-black p-2 font-black text-sm bg-white hover:bg-neo-main transition-colors"
+                            >
+                                LOAD MORE
+                            </button>
+                        )}
                     </div>
                 </div>
 
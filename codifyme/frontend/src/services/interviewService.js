@@ -1,14 +1,35 @@
 import api from './api';
 
+const FEEDBACK_POLL_INTERVAL_MS = 1500;
+const FEEDBACK_POLL_TIMEOUT_MS = 180000;
+
 const interviewService = {
+    // The backend answers 202 Accepted and generates feedback in the background,
+    // so poll the interview until its feedback is ready.
     async submitInterview(interviewData) {
         const response = await api.post('/interviews/submit', interviewData);
-        return response.data;
+        let interview = response.data;
+
+        const deadline = Date.now() + FEEDBACK_POLL_TIMEOUT_MS;
+        while (interview.status === 'PENDING' && Date.now() < deadline) {
+            await new Promise((resolve) => setTimeout(resolve, FEEDBACK_POLL_INTERVAL_MS));
+            interview = await interviewService.getInterviewDetails(interview.id);
+        }
+
+        if (interview.status !== 'COMPLETED') {
+            throw new Error('Interview feedback is not available yet. Check your interview history later.');
+        }
+        return interview;
     },
 
-    async getInterviewHistory() {
-        const response = await api.get('/interviews/history');
-        return response.data;
+    // One page of history, newest first. Rows carry no feedback; use getInterviewDetails for it.
+    // nextCursor is null on the last page.
+    async getInterviewHistory({ limit, cursor } = {}) {
+        const response = await api.get('/interviews/history', { params: { limit, cursor } });
+        return {
+            interviews: response.data,
+            nextCursor: response.headers['x-next-cursor'] ?? null,
+        };
     },
 
     async getInterviewDetails(interviewId) {
@@ -1,9 +1,14 @@
 import api from './api';
 
 const roadmapService = {
-    async getUserRoadmaps() {
-        const response = await api.get('/roadmap/my-roadmaps');
-        return response.data;
+    // Newest first, one page at a time; the totals travel in the X-Total-* headers
+    async getUserRoadmaps({ page = 0, size } = {}) {
+        const response = await api.get('/roadmap/my-roadmaps', { params: { page, size } });
+        return {
+            roadmaps: response.data,
+            totalCount: Number(response.headers['x-total-count'] ?? response.data.length),
+            totalPages: Number(response.headers['x-total-pages'] ?? 1),
+        };
     },
 
     async createRoadmap(roadmapData) {
@@ -21,11 +26,26 @@ const roadmapService = {
         return response.data;
     },
 
+    // Plan text as stored; served gzip-encoded with an ETag so repeat views revalidate cheaply
+    async getRoadmapPlan(roadmapId) {
+        const response = await api.get(`/roadmap/${roadmapId}/plan`, {
+            responseType: 'text',
+            transformResponse: [(data) => data],
+        });
+        return response.data;
+    },
+
     async getRoadmapTasks(roadmapId) {
         const response = await api.get(`/tasks/roadmap/${roadmapId}`);
         return response.data;
     },
 
+    // changes: [{ id, completed, version }]; returns new task versions and roadmap progress
+    async updateTasks(changes) {
+        const response = await api.patch('/tasks', { tasks: changes });
+        return response.data;
+    },
+
     async updateTaskCompletion(taskId, isCompleted) {
         const response = await api.put(`/tasks/${taskId}/complete`, { isCompleted });
         return response.data;